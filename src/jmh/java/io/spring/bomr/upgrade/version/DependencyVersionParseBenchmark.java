@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade.version;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for {@link DependencyVersion#parse(String)}.
+ *
+ * @author Andy Wilkinson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DependencyVersionParseBenchmark {
+
+	@Param({ "metadata", "synthetic" })
+	public String corpus;
+
+	private List<String> versions;
+
+	@Setup
+	public void setUp() {
+		this.versions = "metadata".equals(this.corpus) ? VersionCorpus.metadata() : VersionCorpus.synthetic(10000);
+	}
+
+	@Benchmark
+	public void parse(Blackhole blackhole) {
+		for (String version : this.versions) {
+			blackhole.consume(DependencyVersion.parse(version));
+		}
+	}
+
+	@Benchmark
+	public void parseUncached(Blackhole blackhole) {
+		for (String version : this.versions) {
+			blackhole.consume(DependencyVersionParser.parseUncached(version));
+		}
+	}
+
+}
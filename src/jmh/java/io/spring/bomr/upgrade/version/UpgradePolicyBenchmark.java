@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade.version;
+
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import io.spring.bomr.upgrade.UpgradePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for filtering candidate versions using an {@link UpgradePolicy}, as is done
+ * when identifying the possible upgrades of a project.
+ *
+ * @author Andy Wilkinson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UpgradePolicyBenchmark {
+
+	@Param({ "ANY", "SAME_MAJOR_VERSION", "SAME_MINOR_VERSION" })
+	public UpgradePolicy policy;
+
+	private List<DependencyVersion> versions;
+
+	private DependencyVersion current;
+
+	@Setup
+	public void setUp() {
+		this.versions = VersionCorpus.parse(VersionCorpus.synthetic(10000));
+		this.current = DependencyVersion.parse("4.3.0.RELEASE");
+	}
+
+	@Benchmark
+	public TreeSet<DependencyVersion> filter() {
+		TreeSet<DependencyVersion> candidates = new TreeSet<>(this.versions);
+		candidates.removeIf((candidate) -> !this.policy.test(candidate, this.current));
+		return candidates;
+	}
+
+}
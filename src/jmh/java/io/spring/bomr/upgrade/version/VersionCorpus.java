@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade.version;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * Corpora of version strings used by the benchmarks.
+ *
+ * @author Andy Wilkinson
+ */
+final class VersionCorpus {
+
+	private static final Pattern VERSION_ELEMENT = Pattern.compile("<version>([^<$]+)</version>");
+
+	private static final Pattern VERSION_PROPERTY = Pattern.compile("<[A-Za-z0-9.\\-]+\\.version>([^<$]+)</");
+
+	private static final String[] RELEASE_TRAINS = { "Hopper", "Ingalls", "Kay", "Lovelace", "Moore", "Neumann" };
+
+	private VersionCorpus() {
+
+	}
+
+	/**
+	 * Returns the versions from the Maven Central metadata and bom snapshots that are
+	 * used by the tests.
+	 * @return the versions
+	 */
+	static List<String> metadata() {
+		Set<String> versions = new LinkedHashSet<>();
+		collect("/spring-core-maven-metadata.xml", VERSION_ELEMENT, versions);
+		collect("/repo1-maven-metadata.xml", VERSION_ELEMENT, versions);
+		collect("/repo2-maven-metadata.xml", VERSION_ELEMENT, versions);
+		collect("/spring-boot.bom", VERSION_PROPERTY, versions);
+		return new ArrayList<>(versions);
+	}
+
+	/**
+	 * Returns a synthetic set of versions in the styles supported by
+	 * {@link DependencyVersion#parse(String)}, shuffled with a fixed seed.
+	 * @param size the number of versions
+	 * @return the versions
+	 */
+	static List<String> synthetic(int size) {
+		List<String> versions = new ArrayList<>(size);
+		Random random = new Random(size);
+		while (versions.size() < size) {
+			int major = random.nextInt(10);
+			int minor = random.nextInt(20);
+			int patch = random.nextInt(30);
+			switch (versions.size() % 8) {
+			case 0:
+				versions.add(major + "." + minor + "." + patch);
+				break;
+			case 1:
+				versions.add(major + "." + minor + "." + patch + ".RELEASE");
+				break;
+			case 2:
+				versions.add(major + "." + minor + "." + patch + "-M" + (1 + random.nextInt(5)));
+				break;
+			case 3:
+				versions.add(major + "." + minor + "." + patch + ".Final");
+				break;
+			case 4:
+				versions.add(major + "." + minor + "." + patch + "." + random.nextInt(100));
+				break;
+			case 5:
+				versions.add(major + "." + minor + ".0" + patch);
+				break;
+			case 6:
+				versions.add(major + "." + minor + "." + patch + "RC" + (1 + random.nextInt(3)));
+				break;
+			default:
+				versions.add(RELEASE_TRAINS[random.nextInt(RELEASE_TRAINS.length)] + "-SR" + random.nextInt(20));
+			}
+		}
+		Collections.shuffle(versions, random);
+		return versions;
+	}
+
+	static List<DependencyVersion> parse(List<String> versions) {
+		List<DependencyVersion> parsed = new ArrayList<>(versions.size());
+		versions.forEach((version) -> parsed.add(DependencyVersion.parse(version)));
+		return parsed;
+	}
+
+	private static void collect(String resource, Pattern pattern, Set<String> versions) {
+		try (InputStream input = VersionCorpus.class.getResourceAsStream(resource)) {
+			Matcher matcher = pattern.matcher(StreamUtils.copyToString(input, StandardCharsets.UTF_8));
+			while (matcher.find()) {
+				versions.add(matcher.group(1).trim());
+			}
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+}
@@ -20,6 +20,7 @@ import java.util.Set;
 
 import io.spring.bomr.Command;
 
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.util.StringUtils;
 
 /**
@@ -30,6 +31,15 @@ import org.springframework.util.StringUtils;
  */
 class ArtifactsCommand implements Command {
 
+	private final ArtifactsProperties properties;
+
+	private final ClientHttpRequestFactory requestFactory;
+
+	ArtifactsCommand(ArtifactsProperties properties, ClientHttpRequestFactory requestFactory) {
+		this.properties = properties;
+		this.requestFactory = requestFactory;
+	}
+
 	@Override
 	public String getName() {
 		return "artifacts";
@@ -43,8 +53,9 @@ class ArtifactsCommand implements Command {
 	@Override
 	public void invoke(String[] args) {
 		ArtifactsCommandArguments arguments = ArtifactsCommandArguments.parse(args);
-		Set<String> artifacts = ArtifactsFinder.forRepository(arguments.getRepository()).find(arguments.getGroup(),
-				arguments.getVersion());
+		ArtifactsFinder artifactsFinder = ArtifactsFinder.forRepository(arguments.getRepository(), this.properties,
+				arguments.isOffline(), this.requestFactory);
+		Set<String> artifacts = artifactsFinder.find(arguments.getGroup(), arguments.getVersion());
 		artifacts.forEach((artifact) -> {
 			System.out.println("<dependency>");
 			System.out.println("\t<groupId>" + arguments.getGroup() + "</groupId>");
@@ -23,6 +23,7 @@ import joptsimple.ArgumentAcceptingOptionSpec;
 import joptsimple.BuiltinHelpFormatter;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
 
 /**
  * Command line arguments for the {@link ArtifactsCommand}.
@@ -39,11 +40,15 @@ final class ArtifactsCommandArguments {
 
 	private final URI repository;
 
-	private ArtifactsCommandArguments(String group, String version, String versionProperty, URI repository) {
+	private final boolean offline;
+
+	private ArtifactsCommandArguments(String group, String version, String versionProperty, URI repository,
+			boolean offline) {
 		this.group = group;
 		this.version = version;
 		this.versionProperty = versionProperty;
 		this.repository = (repository != null) ? repository : ArtifactsFinder.MAVEN_CENTRAL;
+		this.offline = offline;
 	}
 
 	static ArtifactsCommandArguments parse(String[] args) {
@@ -54,6 +59,8 @@ final class ArtifactsCommandArguments {
 				.withRequiredArg().ofType(String.class);
 		ArgumentAcceptingOptionSpec<URI> repositoryPropertySpec = optionParser
 				.accepts("repository", "Repository to query").withRequiredArg().ofType(URI.class);
+		OptionSpec<Void> offlineSpec = optionParser.accepts("offline",
+				"Find artifacts using only the local index, without querying the repository");
 		try {
 			OptionSet parsed = optionParser.parse(args);
 			if (parsed.nonOptionArguments().size() != 2) {
@@ -61,7 +68,7 @@ final class ArtifactsCommandArguments {
 			}
 			return new ArtifactsCommandArguments((String) parsed.nonOptionArguments().get(0),
 					(String) parsed.nonOptionArguments().get(1), parsed.valueOf(versionPropertySpec),
-					parsed.valueOf(repositoryPropertySpec));
+					parsed.valueOf(repositoryPropertySpec), parsed.has(offlineSpec));
 		}
 		catch (Exception ex) {
 			showUsageAndExit(optionParser);
@@ -98,4 +105,8 @@ final class ArtifactsCommandArguments {
 		return this.repository;
 	}
 
+	boolean isOffline() {
+		return this.offline;
+	}
+
 }
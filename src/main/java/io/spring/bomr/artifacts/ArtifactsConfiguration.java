@@ -16,8 +16,10 @@
 
 package io.spring.bomr.artifacts;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 
 /**
  * Configuration for Bomr's artifacts support.
@@ -25,16 +27,18 @@ import org.springframework.context.annotation.Configuration;
  * @author Andy Wilkinson
  */
 @Configuration
+@EnableConfigurationProperties(ArtifactsProperties.class)
 class ArtifactsConfiguration {
 
 	@Bean
-	public ArtifactsCommand artifactsCommand() {
-		return new ArtifactsCommand();
+	public ArtifactsCommand artifactsCommand(ArtifactsProperties properties, ClientHttpRequestFactory requestFactory) {
+		return new ArtifactsCommand(properties, requestFactory);
 	}
 
 	@Bean
-	public ArtifactsDeltaCommand artifactsDeltaCommand() {
-		return new ArtifactsDeltaCommand();
+	public ArtifactsDeltaCommand artifactsDeltaCommand(ArtifactsProperties properties,
+			ClientHttpRequestFactory requestFactory) {
+		return new ArtifactsDeltaCommand(properties, requestFactory);
 	}
 
 }
@@ -16,22 +16,36 @@
 
 package io.spring.bomr.artifacts;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 import io.spring.bomr.Command;
 
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.util.StringUtils;
 
 /**
- * {@link Command} to show the delta in artifacts of a particular group across two
- * different versions.
+ * {@link Command} to show the delta in artifacts of a particular group across two or more
+ * different versions. The artifacts with each of the versions are found in a single pass
+ * over the repository.
  *
  * @author Andy Wilkinson
  */
 public class ArtifactsDeltaCommand implements Command {
 
+	private final ArtifactsProperties properties;
+
+	private final ClientHttpRequestFactory requestFactory;
+
+	ArtifactsDeltaCommand(ArtifactsProperties properties, ClientHttpRequestFactory requestFactory) {
+		this.properties = properties;
+		this.requestFactory = requestFactory;
+	}
+
 	@Override
 	public String getName() {
 		return "artifacts-delta";
@@ -40,15 +54,38 @@ public class ArtifactsDeltaCommand implements Command {
 
 	@Override
 	public String getDescription() {
-		return "Lists the artifacts that have been added and removed from a " + "group across two versions";
+		return "Lists the artifacts that have been added and removed from a " + "group across two or more versions";
 	}
 
 	@Override
 	public void invoke(String[] args) {
 		ArtifactsDeltaCommandArguments arguments = ArtifactsDeltaCommandArguments.parse(args);
-		ArtifactsFinder artifactsFinder = ArtifactsFinder.forRepository(arguments.getRepository());
-		Set<String> oldArtifacts = artifactsFinder.find(arguments.getGroup(), arguments.getOldVersion());
-		Set<String> newArtifacts = artifactsFinder.find(arguments.getGroup(), arguments.getNewVersion());
+		ArtifactsFinder artifactsFinder = ArtifactsFinder.forRepository(arguments.getRepository(), this.properties,
+				arguments.isOffline(), this.requestFactory);
+		List<String> versions = arguments.getVersions();
+		Map<String, Set<String>> artifactVersions = artifactsFinder.find(arguments.getGroup(), versions);
+		for (int i = 1; i < versions.size(); i++) {
+			String oldVersion = versions.get(i - 1);
+			String newVersion = versions.get(i);
+			if (versions.size() > 2) {
+				System.out.println(oldVersion + " -> " + newVersion + ":");
+				System.out.println();
+			}
+			printDelta(arguments, newVersion, artifactsWithVersion(artifactVersions, oldVersion),
+					artifactsWithVersion(artifactVersions, newVersion));
+			if (i < versions.size() - 1) {
+				System.out.println();
+			}
+		}
+	}
+
+	private Set<String> artifactsWithVersion(Map<String, Set<String>> artifactVersions, String version) {
+		return artifactVersions.entrySet().stream().filter((entry) -> entry.getValue().contains(version))
+				.map(Map.Entry::getKey).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private void printDelta(ArtifactsDeltaCommandArguments arguments, String newVersion, Set<String> oldArtifacts,
+			Set<String> newArtifacts) {
 		Set<String> removedArtifacts = difference(oldArtifacts, newArtifacts);
 		System.out.println("Removed:");
 		System.out.println();
@@ -67,7 +104,7 @@ public class ArtifactsDeltaCommand implements Command {
 				System.out.println("<dependency>");
 				System.out.println("\t<groupId>" + arguments.getGroup() + "</groupId>");
 				System.out.println("\t<artifactId>" + artifact + "</artifactId>");
-				System.out.println("\t<version>" + determineVersion(arguments) + "</version>");
+				System.out.println("\t<version>" + determineVersion(arguments, newVersion) + "</version>");
 				System.out.println("</dependency>");
 			});
 		}
@@ -76,11 +113,11 @@ public class ArtifactsDeltaCommand implements Command {
 		}
 	}
 
-	private String determineVersion(ArtifactsDeltaCommandArguments arguments) {
+	private String determineVersion(ArtifactsDeltaCommandArguments arguments, String newVersion) {
 		if (StringUtils.hasText(arguments.getVersionProperty())) {
 			return "${" + arguments.getVersionProperty() + "}";
 		}
-		return arguments.getNewVersion();
+		return newVersion;
 	}
 
 	private SortedSet<String> difference(Set<String> one, Set<String> two) {
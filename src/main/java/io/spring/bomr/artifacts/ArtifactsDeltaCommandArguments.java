@@ -18,11 +18,14 @@ package io.spring.bomr.artifacts;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 
 import joptsimple.ArgumentAcceptingOptionSpec;
 import joptsimple.BuiltinHelpFormatter;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
 
 /**
  * Command line arguments for the {@link ArtifactsCommand}.
@@ -33,21 +36,21 @@ final class ArtifactsDeltaCommandArguments {
 
 	private final String group;
 
-	private final String oldVersion;
-
-	private final String newVersion;
+	private final List<String> versions;
 
 	private final String versionProperty;
 
 	private final URI repository;
 
-	private ArtifactsDeltaCommandArguments(String group, String oldVersion, String newVersion, String versionProperty,
-			URI repository) {
+	private final boolean offline;
+
+	private ArtifactsDeltaCommandArguments(String group, List<String> versions, String versionProperty,
+			URI repository, boolean offline) {
 		this.group = group;
-		this.oldVersion = oldVersion;
-		this.newVersion = newVersion;
+		this.versions = versions;
 		this.versionProperty = versionProperty;
 		this.repository = (repository != null) ? repository : URI.create("https://repo1.maven.org/maven2/");
+		this.offline = offline;
 	}
 
 	static ArtifactsDeltaCommandArguments parse(String[] args) {
@@ -58,14 +61,20 @@ final class ArtifactsDeltaCommandArguments {
 				.withRequiredArg().ofType(String.class);
 		ArgumentAcceptingOptionSpec<URI> repositoryPropertySpec = optionParser
 				.accepts("repository", "Repository to query").withRequiredArg().ofType(URI.class);
+		OptionSpec<Void> offlineSpec = optionParser.accepts("offline",
+				"Find artifacts using only the local index, without querying the repository");
 		try {
 			OptionSet parsed = optionParser.parse(args);
-			if (parsed.nonOptionArguments().size() != 3) {
+			if (parsed.nonOptionArguments().size() < 3) {
 				showUsageAndExit(optionParser);
 			}
-			return new ArtifactsDeltaCommandArguments((String) parsed.nonOptionArguments().get(0),
-					(String) parsed.nonOptionArguments().get(1), (String) parsed.nonOptionArguments().get(2),
-					parsed.valueOf(versionPropertySpec), parsed.valueOf(repositoryPropertySpec));
+			List<String> versions = new ArrayList<>();
+			for (Object version : parsed.nonOptionArguments().subList(1, parsed.nonOptionArguments().size())) {
+				versions.add((String) version);
+			}
+			return new ArtifactsDeltaCommandArguments((String) parsed.nonOptionArguments().get(0), versions,
+					parsed.valueOf(versionPropertySpec), parsed.valueOf(repositoryPropertySpec),
+					parsed.has(offlineSpec));
 		}
 		catch (Exception ex) {
 			showUsageAndExit(optionParser);
@@ -74,7 +83,7 @@ final class ArtifactsDeltaCommandArguments {
 	}
 
 	private static void showUsageAndExit(OptionParser optionParser) {
-		System.err.println("Usage: bomr artifacts-delta <group> <old-version> <new-version> [<options>]");
+		System.err.println("Usage: bomr artifacts-delta <group> <old-version> <new-version>... [<options>]");
 		System.err.println();
 		try {
 			optionParser.printHelpOn(System.err);
@@ -90,12 +99,12 @@ final class ArtifactsDeltaCommandArguments {
 		return this.group;
 	}
 
-	String getOldVersion() {
-		return this.oldVersion;
-	}
-
-	String getNewVersion() {
-		return this.newVersion;
+	/**
+	 * Returns the versions, oldest first, across which the delta should be shown.
+	 * @return the versions
+	 */
+	List<String> getVersions() {
+		return this.versions;
 	}
 
 	String getVersionProperty() {
@@ -106,4 +115,8 @@ final class ArtifactsDeltaCommandArguments {
 		return this.repository;
 	}
 
+	boolean isOffline() {
+		return this.offline;
+	}
+
 }
@@ -17,8 +17,13 @@
 package io.spring.bomr.artifacts;
 
 import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -30,9 +35,27 @@ interface ArtifactsFinder {
 
 	URI MAVEN_CENTRAL = URI.create("https://repo1.maven.org/maven2/");
 
-	static ArtifactsFinder forRepository(URI repository) {
-		return repository.equals(MAVEN_CENTRAL) ? new MavenCentralSearchArtifactsFinder(new RestTemplate())
-				: new MavenRepositoryArtifactsFinder(new RestTemplate(), repository);
+	static ArtifactsFinder forRepository(URI repository, ArtifactsProperties properties, boolean offline,
+			ClientHttpRequestFactory requestFactory) {
+		RestTemplate rest = new RestTemplate(requestFactory);
+		ArtifactsFinder finder = repository.equals(MAVEN_CENTRAL)
+				? new MavenCentralSearchArtifactsFinder(rest, properties.getSearchPageSize(),
+						properties.getMaxRequestsPerHost())
+				: new MavenRepositoryArtifactsFinder(rest, repository, properties.getThreads(),
+						properties.getMaxRequestsPerHost());
+		if (!repository.equals(MAVEN_CENTRAL) && properties.getNexusIndex().isEnabled()) {
+			finder = new NexusIndexArtifactsFinder(rest, repository,
+					properties.getNexusIndex().getDirectory(), finder);
+		}
+		if (!properties.getIndex().isEnabled()) {
+			if (offline) {
+				System.err.println("Fatal: --offline requires bomr.artifacts.index.enabled=true");
+				System.exit(-1);
+			}
+			return finder;
+		}
+		return new IndexedArtifactsFinder(finder, new ArtifactsIndex(properties.getIndex().getDirectory()),
+				repository, offline);
 	}
 
 	/**
@@ -44,4 +67,22 @@ interface ArtifactsFinder {
 	 */
 	Set<String> find(String group, String version);
 
+	/**
+	 * Finds the artifacts with the given {@code group} and any of the given
+	 * {@code versions} in the repository.
+	 * @param group the group
+	 * @param versions the versions
+	 * @return the artifacts in the group, each mapped to those of the given versions that
+	 * it has, sorted by artifact
+	 */
+	default SortedMap<String, Set<String>> find(String group, List<String> versions) {
+		SortedMap<String, Set<String>> artifacts = new TreeMap<>();
+		for (String version : versions) {
+			for (String artifact : find(group, version)) {
+				artifacts.computeIfAbsent(artifact, (key) -> new LinkedHashSet<>()).add(version);
+			}
+		}
+		return artifacts;
+	}
+
 }
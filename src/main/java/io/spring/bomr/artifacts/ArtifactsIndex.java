@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A local, on-disk index of the artifacts in a group and the versions of each artifact
+ * that are available in a repository. An index records the versions that have been
+ * searched for so that it can be used to answer later searches for those versions
+ * without querying the repository.
+ *
+ * @author Andy Wilkinson
+ */
+final class ArtifactsIndex {
+
+	private static final String ARTIFACT_PREFIX = "artifact.";
+
+	private final File directory;
+
+	/**
+	 * Creates a new index that stores its entries beneath the given {@code directory}.
+	 * @param directory the root directory of the index
+	 */
+	ArtifactsIndex(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the entry for the given {@code group} in the given {@code repository}.
+	 * @param repository the repository
+	 * @param group the group
+	 * @return the entry, empty if the group has not been indexed
+	 */
+	Entry get(URI repository, String group) {
+		File entryFile = entryFile(repository, group);
+		if (!entryFile.isFile()) {
+			return new Entry(Collections.emptySet(), Collections.emptySortedMap());
+		}
+		Properties properties = new Properties();
+		try (Reader reader = new FileReader(entryFile)) {
+			properties.load(reader);
+		}
+		catch (IOException ex) {
+			return new Entry(Collections.emptySet(), Collections.emptySortedMap());
+		}
+		SortedMap<String, Set<String>> artifacts = new TreeMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(ARTIFACT_PREFIX)) {
+				artifacts.put(name.substring(ARTIFACT_PREFIX.length()),
+						new LinkedHashSet<>(StringUtils.commaDelimitedListToSet(properties.getProperty(name))));
+			}
+		}
+		return new Entry(StringUtils.commaDelimitedListToSet(properties.getProperty("versions", "")), artifacts);
+	}
+
+	/**
+	 * Stores the given {@code entry} for the given {@code group} in the given
+	 * {@code repository}.
+	 * @param repository the repository
+	 * @param group the group
+	 * @param entry the entry
+	 */
+	void put(URI repository, String group, Entry entry) {
+		Properties properties = new Properties();
+		properties.setProperty("versions", StringUtils.collectionToCommaDelimitedString(entry.versions));
+		entry.artifacts.forEach((artifact, versions) -> properties.setProperty(ARTIFACT_PREFIX + artifact,
+				StringUtils.collectionToCommaDelimitedString(versions)));
+		File entryFile = entryFile(repository, group);
+		try {
+			entryFile.getParentFile().mkdirs();
+			File tempFile = File.createTempFile(group, ".tmp", entryFile.getParentFile());
+			try (Writer writer = new FileWriter(tempFile)) {
+				properties.store(writer, null);
+			}
+			Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			System.err.println("Failed to index artifacts of group " + group + " in repository " + repository + ": "
+					+ ex.getMessage());
+		}
+	}
+
+	private File entryFile(URI repository, String group) {
+		String repositoryName = repository.toString().replaceFirst("^[a-zA-Z]+://", "").replaceAll("/+$", "")
+				.replaceAll("[^A-Za-z0-9.\\-]", "_");
+		return new File(this.directory, repositoryName + "/" + group + ".properties");
+	}
+
+	/**
+	 * An entry in the index.
+	 */
+	static final class Entry {
+
+		private final Set<String> versions;
+
+		private final SortedMap<String, Set<String>> artifacts;
+
+		private Entry(Set<String> versions, SortedMap<String, Set<String>> artifacts) {
+			this.versions = Collections.unmodifiableSet(versions);
+			this.artifacts = Collections.unmodifiableSortedMap(artifacts);
+		}
+
+		/**
+		 * Returns whether the group has been searched for the given {@code version}.
+		 * @param version the version
+		 * @return {@code true} if the version has been indexed, otherwise {@code false}
+		 */
+		boolean isIndexed(String version) {
+			return this.versions.contains(version);
+		}
+
+		/**
+		 * Returns the indexed artifacts that have any of the given {@code versions}, each
+		 * mapped to those of the versions that it has.
+		 * @param versions the versions
+		 * @return the artifacts, sorted by artifact
+		 */
+		SortedMap<String, Set<String>> find(Collection<String> versions) {
+			SortedMap<String, Set<String>> artifacts = new TreeMap<>();
+			for (String version : versions) {
+				this.artifacts.forEach((artifact, artifactVersions) -> {
+					if (artifactVersions.contains(version)) {
+						artifacts.computeIfAbsent(artifact, (key) -> new LinkedHashSet<>()).add(version);
+					}
+				});
+			}
+			return artifacts;
+		}
+
+		/**
+		 * Returns a copy of this entry that also records the given {@code artifacts},
+		 * each mapped to the versions with which it was found. A version is only recorded
+		 * as indexed once an artifact has been found with it as a version that has not
+		 * been published yet may be published later.
+		 * @param artifacts the artifacts that were found
+		 * @return the updated entry
+		 */
+		Entry with(Map<String, Set<String>> artifacts) {
+			Set<String> indexedVersions = new LinkedHashSet<>(this.versions);
+			SortedMap<String, Set<String>> indexedArtifacts = new TreeMap<>();
+			this.artifacts.forEach((artifact, artifactVersions) -> indexedArtifacts.put(artifact,
+					new LinkedHashSet<>(artifactVersions)));
+			artifacts.forEach((artifact, artifactVersions) -> {
+				indexedVersions.addAll(artifactVersions);
+				indexedArtifacts.computeIfAbsent(artifact, (key) -> new LinkedHashSet<>()).addAll(artifactVersions);
+			});
+			return new Entry(indexedVersions, indexedArtifacts);
+		}
+
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.io.File;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for configuring the finding of artifacts.
+ *
+ * @author Andy Wilkinson
+ */
+@ConfigurationProperties(prefix = "bomr.artifacts", ignoreUnknownFields = false)
+class ArtifactsProperties {
+
+	/**
+	 * Number of threads used to crawl a repository.
+	 */
+	private int threads = 8;
+
+	/**
+	 * Maximum number of concurrent requests to any one host.
+	 */
+	private int maxRequestsPerHost = 4;
+
+	/**
+	 * Number of results requested in each page when searching Maven Central.
+	 */
+	private int searchPageSize = 200;
+
+	private final Index index = new Index();
+
+	private final NexusIndex nexusIndex = new NexusIndex();
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public int getMaxRequestsPerHost() {
+		return this.maxRequestsPerHost;
+	}
+
+	public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+		this.maxRequestsPerHost = maxRequestsPerHost;
+	}
+
+	public int getSearchPageSize() {
+		return this.searchPageSize;
+	}
+
+	public void setSearchPageSize(int searchPageSize) {
+		this.searchPageSize = searchPageSize;
+	}
+
+	public Index getIndex() {
+		return this.index;
+	}
+
+	public NexusIndex getNexusIndex() {
+		return this.nexusIndex;
+	}
+
+	/**
+	 * Properties related to the local index of the artifacts in each group.
+	 */
+	public static class Index {
+
+		/**
+		 * Whether the local index of artifacts is enabled.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Directory in which the artifacts of each group are indexed.
+		 */
+		private File directory = new File(System.getProperty("user.home"), ".bomr/cache/artifacts");
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public File getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(File directory) {
+			this.directory = directory;
+		}
+
+	}
+
+	/**
+	 * Properties related to finding artifacts using the Nexus Maven repository index that
+	 * is published by a repository.
+	 */
+	public static class NexusIndex {
+
+		/**
+		 * Whether to find artifacts in repositories other than Maven Central using their
+		 * Nexus Maven repository index rather than by crawling their directory listings.
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * Directory in which the Nexus Maven repository index of each repository is kept.
+		 */
+		private File directory = new File(System.getProperty("user.home"), ".bomr/cache/nexus-index");
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public File getDirectory() {
+			return this.directory;
+		}
+
+		public void setDirectory(File directory) {
+			this.directory = directory;
+		}
+
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * An {@link ArtifactsFinder} that answers searches from an {@link ArtifactsIndex},
+ * delegating to another finder only for versions that have not yet been indexed. The
+ * artifacts found by the delegate are added to the index.
+ *
+ * @author Andy Wilkinson
+ */
+class IndexedArtifactsFinder implements ArtifactsFinder {
+
+	private final ArtifactsFinder delegate;
+
+	private final ArtifactsIndex index;
+
+	private final URI repository;
+
+	private final boolean offline;
+
+	/**
+	 * Creates a new finder.
+	 * @param delegate the finder used to search the repository
+	 * @param index the index
+	 * @param repository the repository that is searched by the delegate
+	 * @param offline whether only the index should be used, without searching the
+	 * repository
+	 */
+	IndexedArtifactsFinder(ArtifactsFinder delegate, ArtifactsIndex index, URI repository, boolean offline) {
+		this.delegate = delegate;
+		this.index = index;
+		this.repository = repository;
+		this.offline = offline;
+	}
+
+	@Override
+	public Set<String> find(String group, String version) {
+		return new TreeSet<>(find(group, Collections.singletonList(version)).keySet());
+	}
+
+	@Override
+	public SortedMap<String, Set<String>> find(String group, List<String> versions) {
+		ArtifactsIndex.Entry entry = this.index.get(this.repository, group);
+		List<String> unindexedVersions = versions.stream().filter((version) -> !entry.isIndexed(version))
+				.collect(Collectors.toList());
+		if (unindexedVersions.isEmpty()) {
+			return entry.find(versions);
+		}
+		if (this.offline) {
+			System.err.println("Fatal: Artifacts of group " + group + " with version(s) " + unindexedVersions
+					+ " have not been indexed. Run again without --offline to index them.");
+			System.exit(-1);
+		}
+		ArtifactsIndex.Entry updated = entry.with(this.delegate.find(group, unindexedVersions));
+		this.index.put(this.repository, group, updated);
+		return updated.find(versions);
+	}
+
+}
@@ -16,48 +16,156 @@
 
 package io.spring.bomr.artifacts;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
-import com.jayway.jsonpath.DocumentContext;
-import com.jayway.jsonpath.JsonPath;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
+import org.springframework.http.HttpMethod;
 import org.springframework.web.client.RestOperations;
 
 /**
  * An {@link ArtifactsFinder} for Maven Central. Finds artifacts by querying Maven Central
- * Search.
+ * Search. Once the first page of results has identified the total number of matching
+ * artifacts, the remaining pages are requested concurrently. Each page is read using a
+ * streaming JSON parser.
  *
  * @author Andy Wilkinson
  */
 class MavenCentralSearchArtifactsFinder implements ArtifactsFinder {
 
-	private static final int PAGE_SIZE = 20;
-
 	private static final String URI_TEMPLATE = "https://search.maven.org/solrsearch/select?q=g:{group}+AND+v:{version}&rows={pageSize}&start={start}";
 
+	private static final JsonFactory jsonFactory = new JsonFactory();
+
 	private final RestOperations rest;
 
-	MavenCentralSearchArtifactsFinder(RestOperations rest) {
+	private final int pageSize;
+
+	private final int concurrentRequests;
+
+	MavenCentralSearchArtifactsFinder(RestOperations rest, int pageSize, int concurrentRequests) {
 		this.rest = rest;
+		this.pageSize = pageSize;
+		this.concurrentRequests = concurrentRequests;
 	}
 
 	@Override
 	public Set<String> find(String group, String version) {
-		List<String> artifacts = new ArrayList<>();
-		int total;
-		int start = 0;
-		do {
-			String result = this.rest.getForObject(URI_TEMPLATE, String.class, group, version, PAGE_SIZE, start);
-			DocumentContext json = JsonPath.parse(result);
-			artifacts.addAll(json.read("$.response.docs.[?('.jar' in @.ec)].a"));
-			total = json.read("$.response.numFound");
-			start += PAGE_SIZE;
-		}
-		while (start < total);
-		return new TreeSet<String>(artifacts);
+		Page first = getPage(group, version, 0);
+		Set<String> artifacts = new TreeSet<>(first.artifacts);
+		if (first.total <= this.pageSize) {
+			return artifacts;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(this.concurrentRequests);
+		try {
+			List<Future<Page>> pages = new ArrayList<>();
+			for (int start = this.pageSize; start < first.total; start += this.pageSize) {
+				int pageStart = start;
+				pages.add(executor.submit(() -> getPage(group, version, pageStart)));
+			}
+			for (Future<Page> page : pages) {
+				artifacts.addAll(page.get().artifacts);
+			}
+			return artifacts;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while searching for artifacts", ex);
+		}
+		catch (ExecutionException ex) {
+			throw new RuntimeException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Page getPage(String group, String version, int start) {
+		return this.rest.execute(URI_TEMPLATE, HttpMethod.GET, null, (response) -> readPage(response.getBody()),
+				group, version, this.pageSize, start);
+	}
+
+	private Page readPage(InputStream body) throws IOException {
+		Page page = new Page();
+		try (JsonParser parser = jsonFactory.createParser(body)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Search response is not a JSON object");
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.getCurrentName();
+				parser.nextToken();
+				if ("response".equals(field)) {
+					readResponse(parser, page);
+				}
+				else {
+					parser.skipChildren();
+				}
+			}
+		}
+		return page;
+	}
+
+	private void readResponse(JsonParser parser, Page page) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("numFound".equals(field)) {
+				page.total = parser.getIntValue();
+			}
+			else if ("docs".equals(field) && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					readDoc(parser, page);
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private void readDoc(JsonParser parser, Page page) throws IOException {
+		String artifact = null;
+		boolean jar = false;
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.getCurrentName();
+			JsonToken value = parser.nextToken();
+			if ("a".equals(field)) {
+				artifact = parser.getText();
+			}
+			else if ("ec".equals(field) && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() != JsonToken.END_ARRAY) {
+					jar = jar || ".jar".equals(parser.getText());
+				}
+			}
+			else {
+				parser.skipChildren();
+			}
+		}
+		if (jar && artifact != null) {
+			page.artifacts.add(artifact);
+		}
+	}
+
+	/**
+	 * A page of search results.
+	 */
+	private static final class Page {
+
+		private final List<String> artifacts = new ArrayList<>();
+
+		private int total;
+
 	}
 
 }
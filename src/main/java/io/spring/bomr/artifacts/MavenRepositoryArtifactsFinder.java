@@ -18,9 +18,22 @@ package io.spring.bomr.artifacts;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,8 +42,10 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestOperations;
 
 /**
- * Finds artifacts in a group with a particular version that are available in a Maven
- * repository.
+ * Finds artifacts in a group with particular versions that are available in a Maven
+ * repository. The directory of each artifact in the group is examined concurrently with
+ * the number of concurrent requests to any one host being limited. When finding multiple
+ * versions, each directory is only listed once.
  *
  * @author Andy Wilkinson
  */
@@ -38,30 +53,100 @@ class MavenRepositoryArtifactsFinder implements ArtifactsFinder {
 
 	private final Pattern linkPattern = Pattern.compile("<a href=\"(.*?/)\".*>.*/</a>");
 
+	private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
 	private final RestOperations rest;
 
 	private final URI repository;
 
+	private final int threads;
+
+	private final int maxRequestsPerHost;
+
 	MavenRepositoryArtifactsFinder(RestOperations rest, URI repository) {
+		this(rest, repository, 1, 1);
+	}
+
+	MavenRepositoryArtifactsFinder(RestOperations rest, URI repository, int threads, int maxRequestsPerHost) {
 		this.rest = rest;
 		this.repository = repository;
+		this.threads = threads;
+		this.maxRequestsPerHost = maxRequestsPerHost;
 	}
 
 	@Override
 	public Set<String> find(String group, String version) {
+		return new TreeSet<>(find(group, Collections.singletonList(version)).keySet());
+	}
+
+	@Override
+	public SortedMap<String, Set<String>> find(String group, List<String> versions) {
 		URI groupUri = this.repository.resolve(group.replace('.', '/') + "/");
-		List<String> artifactLinks = extractLinks(groupUri);
-		Set<String> artifacts = new TreeSet<>();
-		for (String artifactLink : artifactLinks) {
-			List<String> versionLinks = extractLinks(groupUri.resolve(artifactLink));
-			if (versionLinks.contains(version + "/")) {
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			List<String> artifactLinks = extractLinks(groupUri);
+			Map<String, Future<Set<String>>> results = new LinkedHashMap<>();
+			for (String artifactLink : artifactLinks) {
 				String artifact = artifactLink.substring(0, artifactLink.length() - 1);
-				if (jarArtifactExists(group, artifact, version)) {
-					artifacts.add(artifact);
+				results.put(artifact,
+						executor.submit(() -> findVersions(groupUri, artifactLink, group, artifact, versions)));
+			}
+			SortedMap<String, Set<String>> artifacts = new TreeMap<>();
+			for (Map.Entry<String, Future<Set<String>>> result : results.entrySet()) {
+				Set<String> artifactVersions = result.getValue().get();
+				if (!artifactVersions.isEmpty()) {
+					artifacts.put(result.getKey(), artifactVersions);
 				}
 			}
+			return artifacts;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while finding artifacts", ex);
+		}
+		catch (ListingFailedException ex) {
+			return exit(ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof ListingFailedException) {
+				return exit((ListingFailedException) ex.getCause());
+			}
+			throw new RuntimeException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private SortedMap<String, Set<String>> exit(ListingFailedException ex) {
+		System.err.println(ex.getMessage());
+		System.exit(-1);
+		return null;
+	}
+
+	private Set<String> findVersions(URI groupUri, String artifactLink, String group, String artifact,
+			List<String> versions) throws Exception {
+		List<String> versionLinks = withHostLimit(groupUri, () -> extractLinks(groupUri.resolve(artifactLink)));
+		Set<String> artifactVersions = new LinkedHashSet<>();
+		for (String version : versions) {
+			if (versionLinks.contains(version + "/")
+					&& withHostLimit(groupUri, () -> jarArtifactExists(group, artifact, version))) {
+				artifactVersions.add(version);
+			}
+		}
+		return artifactVersions;
+	}
+
+	private <T> T withHostLimit(URI uri, Callable<T> request) throws Exception {
+		Semaphore permits = this.hostPermits.computeIfAbsent(uri.getHost(),
+				(host) -> new Semaphore(this.maxRequestsPerHost));
+		permits.acquire();
+		try {
+			return request.call();
+		}
+		finally {
+			permits.release();
 		}
-		return artifacts;
 	}
 
 	private List<String> extractLinks(URI uri) {
@@ -79,9 +164,7 @@ class MavenRepositoryArtifactsFinder implements ArtifactsFinder {
 			return links;
 		}
 		catch (RestClientException ex) {
-			System.err.println(uri + " " + ex.getMessage());
-			System.exit(-1);
-			return null;
+			throw new ListingFailedException(uri, ex);
 		}
 	}
 
@@ -97,4 +180,17 @@ class MavenRepositoryArtifactsFinder implements ArtifactsFinder {
 		}
 	}
 
+	/**
+	 * Exception thrown when the listing of a directory in the repository cannot be
+	 * retrieved.
+	 */
+	@SuppressWarnings("serial")
+	private static final class ListingFailedException extends RuntimeException {
+
+		private ListingFailedException(URI uri, RestClientException cause) {
+			super(uri + " " + cause.getMessage(), cause);
+		}
+
+	}
+
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestOperations;
+
+/**
+ * An {@link ArtifactsFinder} that finds artifacts using the Nexus Maven repository index
+ * published by a repository in its {@code .index} directory. The index is downloaded once
+ * and then kept up-to-date by applying the incremental chunks that have been published
+ * since it was last updated. Only the artifacts with a jar are kept locally, one
+ * {@code groupId:artifactId:version} per line, and searches are answered by reading them.
+ * When a repository does not publish an index, searches are delegated to another finder.
+ *
+ * @author Andy Wilkinson
+ */
+class NexusIndexArtifactsFinder implements ArtifactsFinder {
+
+	private static final String INDEX_NAME = "nexus-maven-repository-index";
+
+	private static final String TIMESTAMP = "nexus.index.timestamp";
+
+	private static final String CHAIN_ID = "nexus.index.chain-id";
+
+	private static final String LAST_INCREMENTAL = "nexus.index.last-incremental";
+
+	private static final String INCREMENTAL_PREFIX = "nexus.index.incremental-";
+
+	private final RestOperations rest;
+
+	private final URI repository;
+
+	private final File directory;
+
+	private final ArtifactsFinder fallback;
+
+	/**
+	 * Creates a new finder.
+	 * @param rest the operations used to download the index
+	 * @param repository the repository
+	 * @param directory the root directory beneath which the index is kept
+	 * @param fallback the finder to use when the repository does not publish an index
+	 */
+	NexusIndexArtifactsFinder(RestOperations rest, URI repository, File directory, ArtifactsFinder fallback) {
+		this.rest = rest;
+		this.repository = repository;
+		this.directory = new File(directory, repository.toString().replaceFirst("^[a-zA-Z]+://", "")
+				.replaceAll("/+$", "").replaceAll("[^A-Za-z0-9.\\-]", "_"));
+		this.fallback = fallback;
+	}
+
+	@Override
+	public Set<String> find(String group, String version) {
+		return new TreeSet<>(find(group, Collections.singletonList(version)).keySet());
+	}
+
+	@Override
+	public SortedMap<String, Set<String>> find(String group, List<String> versions) {
+		Properties remote = getRemoteProperties();
+		if (remote == null) {
+			return this.fallback.find(group, versions);
+		}
+		try {
+			update(remote);
+			return search(group, versions);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private SortedMap<String, Set<String>> search(String group, List<String> versions) throws IOException {
+		SortedMap<String, Set<String>> artifacts = new TreeMap<>();
+		String prefix = group + ":";
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new FileInputStream(artifactsFile())), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(prefix)) {
+					int separator = line.indexOf(':', prefix.length());
+					String version = line.substring(separator + 1);
+					if (versions.contains(version)) {
+						artifacts.computeIfAbsent(line.substring(prefix.length(), separator),
+								(key) -> new LinkedHashSet<>()).add(version);
+					}
+				}
+			}
+		}
+		return artifacts;
+	}
+
+	private Properties getRemoteProperties() {
+		try {
+			String properties = this.rest.getForObject(indexUri(INDEX_NAME + ".properties"), String.class);
+			Properties remote = new Properties();
+			remote.load(new StringReader(properties));
+			return remote;
+		}
+		catch (HttpClientErrorException.NotFound ex) {
+			return null;
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private void update(Properties remote) throws IOException {
+		Properties local = getLocalProperties();
+		SortedSet<Integer> chunks = getChunksToApply(local, remote);
+		if (chunks == null) {
+			System.out.println("Downloading index of " + this.repository);
+			write(download(INDEX_NAME + ".gz", new TreeSet<>()), remote);
+		}
+		else if (!chunks.isEmpty()) {
+			System.out.println("Applying " + chunks.size() + " incremental update(s) to index of " + this.repository);
+			SortedSet<String> artifacts = read();
+			for (int chunk : chunks) {
+				artifacts = download(INDEX_NAME + "." + chunk + ".gz", artifacts);
+			}
+			write(artifacts, remote);
+		}
+	}
+
+	/**
+	 * Returns the incremental chunks that should be applied to bring the local index up
+	 * to date with the remote index, oldest first, or {@code null} if the local index
+	 * cannot be updated incrementally and the full index should be downloaded.
+	 * @param local the properties of the local index
+	 * @param remote the properties of the remote index
+	 * @return the chunks to apply or {@code null}
+	 */
+	private SortedSet<Integer> getChunksToApply(Properties local, Properties remote) {
+		if (!artifactsFile().isFile()) {
+			return null;
+		}
+		String timestamp = remote.getProperty(TIMESTAMP);
+		if (timestamp != null && timestamp.equals(local.getProperty(TIMESTAMP))) {
+			return Collections.emptySortedSet();
+		}
+		String chainId = remote.getProperty(CHAIN_ID);
+		String lastIncremental = local.getProperty(LAST_INCREMENTAL);
+		if (chainId == null || lastIncremental == null || !chainId.equals(local.getProperty(CHAIN_ID))) {
+			return null;
+		}
+		int last = Integer.parseInt(lastIncremental);
+		SortedSet<Integer> chunks = new TreeSet<>();
+		for (String name : remote.stringPropertyNames()) {
+			if (name.startsWith(INCREMENTAL_PREFIX)) {
+				int chunk = Integer.parseInt(remote.getProperty(name));
+				if (chunk > last) {
+					chunks.add(chunk);
+				}
+			}
+		}
+		if (chunks.isEmpty()) {
+			return (timestamp != null) ? null : chunks;
+		}
+		return (chunks.first() == last + 1) ? chunks : null;
+	}
+
+	private SortedSet<String> download(String name, SortedSet<String> artifacts) {
+		return this.rest.execute(indexUri(name), HttpMethod.GET, null, (response) -> {
+			NexusIndexReader.read(new GZIPInputStream(response.getBody()), (document) -> apply(document, artifacts));
+			return artifacts;
+		});
+	}
+
+	private void apply(Map<String, String> document, Set<String> artifacts) {
+		String deleted = document.get(NexusIndexReader.DELETED);
+		if (deleted != null) {
+			String artifact = toArtifact(deleted);
+			if (artifact != null) {
+				artifacts.remove(artifact);
+			}
+			return;
+		}
+		String uinfo = document.get(NexusIndexReader.UINFO);
+		String info = document.get(NexusIndexReader.INFO);
+		if (uinfo != null && info != null && isJar(info)) {
+			String artifact = toArtifact(uinfo);
+			if (artifact != null) {
+				artifacts.add(artifact);
+			}
+		}
+	}
+
+	private String toArtifact(String uinfo) {
+		String[] components = uinfo.split("\\|");
+		if (components.length < 4 || !"NA".equals(components[3])) {
+			return null;
+		}
+		return components[0] + ":" + components[1] + ":" + components[2];
+	}
+
+	private boolean isJar(String info) {
+		String[] components = info.split("\\|");
+		return "jar".equals((components.length > 6) ? components[6] : components[0]);
+	}
+
+	private SortedSet<String> read() throws IOException {
+		SortedSet<String> artifacts = new TreeSet<>();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new FileInputStream(artifactsFile())), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				artifacts.add(line);
+			}
+		}
+		return artifacts;
+	}
+
+	private void write(SortedSet<String> artifacts, Properties remote) throws IOException {
+		this.directory.mkdirs();
+		File artifactsFile = artifactsFile();
+		File tempArtifactsFile = File.createTempFile("artifacts", ".tmp", this.directory);
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+				new GZIPOutputStream(new FileOutputStream(tempArtifactsFile)), StandardCharsets.UTF_8))) {
+			for (String artifact : artifacts) {
+				writer.write(artifact);
+				writer.write('\n');
+			}
+		}
+		Files.move(tempArtifactsFile.toPath(), artifactsFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		Properties local = new Properties();
+		for (String name : new String[] { TIMESTAMP, CHAIN_ID, LAST_INCREMENTAL }) {
+			if (remote.getProperty(name) != null) {
+				local.setProperty(name, remote.getProperty(name));
+			}
+		}
+		File tempPropertiesFile = File.createTempFile("index", ".tmp", this.directory);
+		try (Writer writer = new FileWriter(tempPropertiesFile)) {
+			local.store(writer, null);
+		}
+		Files.move(tempPropertiesFile.toPath(), propertiesFile().toPath(), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private Properties getLocalProperties() throws IOException {
+		Properties local = new Properties();
+		if (propertiesFile().isFile()) {
+			try (Reader reader = new FileReader(propertiesFile())) {
+				local.load(reader);
+			}
+		}
+		return local;
+	}
+
+	private URI indexUri(String name) {
+		return this.repository.resolve(".index/" + name);
+	}
+
+	private File artifactsFile() {
+		return new File(this.directory, "artifacts.gz");
+	}
+
+	private File propertiesFile() {
+		return new File(this.directory, "index.properties");
+	}
+
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UTFDataFormatException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reads the documents in a Nexus Maven repository index, such as
+ * {@code nexus-maven-repository-index.gz} or one of its incremental chunks, in the
+ * index's transfer format. Only the fields that are of interest are decoded. The values
+ * of all other fields are skipped.
+ *
+ * @author Andy Wilkinson
+ */
+final class NexusIndexReader {
+
+	/**
+	 * Name of the field that identifies an artifact in the form
+	 * {@code groupId|artifactId|version|classifier[|extension]}.
+	 */
+	static final String UINFO = "u";
+
+	/**
+	 * Name of the field that describes an artifact. Its value is made up of the
+	 * artifact's packaging, last modified time, size, whether its sources, javadoc, and
+	 * signature exist, and its extension, each separated by {@code |}.
+	 */
+	static final String INFO = "i";
+
+	/**
+	 * Name of the field that identifies an artifact that has been deleted, in the same
+	 * form as {@link #UINFO}.
+	 */
+	static final String DELETED = "del";
+
+	private static final int SUPPORTED_VERSION = 1;
+
+	private static final Set<String> FIELDS = Collections
+			.unmodifiableSet(new HashSet<>(Arrays.asList(UINFO, INFO, DELETED)));
+
+	private NexusIndexReader() {
+	}
+
+	/**
+	 * Reads the uncompressed index from the given {@code input}, passing the fields of
+	 * interest of each document to the given {@code consumer}.
+	 * @param input the input to read from
+	 * @param consumer the consumer of each document's fields
+	 * @throws IOException if the index cannot be read
+	 */
+	static void read(InputStream input, Consumer<Map<String, String>> consumer) throws IOException {
+		DataInputStream data = new DataInputStream(input);
+		int version = data.readByte();
+		if (version != SUPPORTED_VERSION) {
+			throw new IOException("Unsupported index version " + version);
+		}
+		data.readLong();
+		while (true) {
+			int fieldCount;
+			try {
+				fieldCount = data.readInt();
+			}
+			catch (EOFException ex) {
+				return;
+			}
+			Map<String, String> document = new HashMap<>();
+			for (int i = 0; i < fieldCount; i++) {
+				data.readByte();
+				String name = data.readUTF();
+				int length = data.readInt();
+				if (FIELDS.contains(name)) {
+					byte[] value = new byte[length];
+					data.readFully(value);
+					document.put(name, decode(value));
+				}
+				else if (data.skipBytes(length) != length) {
+					throw new EOFException();
+				}
+			}
+			consumer.accept(document);
+		}
+	}
+
+	private static String decode(byte[] bytes) throws UTFDataFormatException {
+		StringBuilder decoded = new StringBuilder(bytes.length);
+		int i = 0;
+		while (i < bytes.length) {
+			int b = bytes[i] & 0xff;
+			if (b < 0x80) {
+				decoded.append((char) b);
+				i++;
+			}
+			else if ((b & 0xe0) == 0xc0 && i + 1 < bytes.length) {
+				decoded.append((char) (((b & 0x1f) << 6) | (bytes[i + 1] & 0x3f)));
+				i += 2;
+			}
+			else if ((b & 0xf0) == 0xe0 && i + 2 < bytes.length) {
+				decoded.append((char) (((b & 0x0f) << 12) | ((bytes[i + 1] & 0x3f) << 6) | (bytes[i + 2] & 0x3f)));
+				i += 3;
+			}
+			else {
+				throw new UTFDataFormatException("Malformed input around byte " + i);
+			}
+		}
+		return decoded.toString();
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.github;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * A local, on-disk cache of pages of responses from GitHub's API. Each entry records the
+ * {@code ETag} and {@code Link} headers of the response from which it was created so
+ * that it can be revalidated using a conditional request.
+ *
+ * @author Andy Wilkinson
+ */
+final class GitHubCache {
+
+	private final File directory;
+
+	/**
+	 * Creates a new cache that stores its entries beneath the given {@code directory}.
+	 * @param directory the root directory of the cache
+	 */
+	GitHubCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns a cache for the resources of the repository with the given {@code url}.
+	 * @param url the url of the repository
+	 * @return the cache for the repository
+	 */
+	GitHubCache forRepository(String url) {
+		String repository = url.replaceFirst("^[a-zA-Z]+://", "").replaceAll("/+$", "")
+				.replaceAll("[^A-Za-z0-9.\\-]", "_");
+		return new GitHubCache(new File(this.directory, repository));
+	}
+
+	/**
+	 * Returns the cached entry for the given {@code page} of the given {@code resource}.
+	 * @param resource the resource
+	 * @param page the page
+	 * @return the entry or {@code null} if the page has not been cached
+	 */
+	Entry get(String resource, int page) {
+		File entryFile = entryFile(resource, page);
+		if (!entryFile.isFile()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (Reader reader = new FileReader(entryFile)) {
+			properties.load(reader);
+		}
+		catch (IOException ex) {
+			return null;
+		}
+		String etag = properties.getProperty("etag");
+		String body = properties.getProperty("body");
+		return (etag != null && body != null) ? new Entry(body, etag, properties.getProperty("link")) : null;
+	}
+
+	/**
+	 * Stores the given {@code entry} for the given {@code page} of the given
+	 * {@code resource}.
+	 * @param resource the resource
+	 * @param page the page
+	 * @param entry the entry
+	 */
+	void put(String resource, int page, Entry entry) {
+		if (entry.etag == null) {
+			return;
+		}
+		Properties properties = new Properties();
+		properties.setProperty("body", entry.body);
+		properties.setProperty("etag", entry.etag);
+		if (entry.link != null) {
+			properties.setProperty("link", entry.link);
+		}
+		File entryFile = entryFile(resource, page);
+		try {
+			entryFile.getParentFile().mkdirs();
+			File tempFile = File.createTempFile(resource, ".tmp", entryFile.getParentFile());
+			try (Writer writer = new FileWriter(tempFile)) {
+				properties.store(writer, null);
+			}
+			Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			System.err.println("Failed to cache page " + page + " of " + resource + ": " + ex.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the index of the repository's issues with the given {@code labels}.
+	 * @param labels the labels of the indexed issues
+	 * @return the issue index
+	 */
+	IssueIndex getIssueIndex(List<String> labels) {
+		return IssueIndex.load(new File(this.directory, "issues.properties"), labels);
+	}
+
+	private File entryFile(String resource, int page) {
+		return new File(this.directory, resource + "/page-" + page + ".properties");
+	}
+
+	/**
+	 * An entry in the cache.
+	 */
+	static final class Entry {
+
+		private final String body;
+
+		private final String etag;
+
+		private final String link;
+
+		Entry(String body, String etag, String link) {
+			this.body = body;
+			this.etag = etag;
+			this.link = link;
+		}
+
+		String getBody() {
+			return this.body;
+		}
+
+		String getEtag() {
+			return this.etag;
+		}
+
+		String getLink() {
+			return this.link;
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ package io.spring.bomr.github;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 
 /**
  * {@link Configuration} for GitHub-related components.
@@ -30,8 +31,11 @@ import org.springframework.context.annotation.Configuration;
 class GitHubConfiguration {
 
 	@Bean
-	public GitHub gitHub(GitHubProperties gitHubProperties) {
-		return new StandardGitHub(gitHubProperties.getUsername(), gitHubProperties.getPassword());
+	public GitHub gitHub(GitHubProperties gitHubProperties, ClientHttpRequestFactory requestFactory) {
+		return new StandardGitHub(requestFactory, gitHubProperties.getUsername(), gitHubProperties.getPassword(),
+				gitHubProperties.getApiUrl(), gitHubProperties.getIssueBatchSize(),
+				gitHubProperties.getMutationInterval(), gitHubProperties.getCache().isEnabled()
+						? gitHubProperties.getCache().getDirectory() : null);
 	}
 
 }
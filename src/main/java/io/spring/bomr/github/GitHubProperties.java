@@ -16,6 +16,9 @@
 
 package io.spring.bomr.github;
 
+import java.io.File;
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -36,6 +39,23 @@ class GitHubProperties {
 	 */
 	private String password;
 
+	/**
+	 * URL of GitHub's API.
+	 */
+	private String apiUrl = "https://api.github.com";
+
+	/**
+	 * Maximum number of issues opened by a single request to GitHub's GraphQL API.
+	 */
+	private int issueBatchSize = 10;
+
+	/**
+	 * Minimum interval between requests that open issues.
+	 */
+	private Duration mutationInterval = Duration.ofSeconds(1);
+
+	private final Cache cache = new Cache();
+
 	/**
 	 * Returns the username used to authenticate with GitHub.
 	 * @return the username
@@ -68,4 +88,109 @@ class GitHubProperties {
 		this.password = password;
 	}
 
+	/**
+	 * Returns the URL of GitHub's API.
+	 * @return the API URL
+	 */
+	public String getApiUrl() {
+		return this.apiUrl;
+	}
+
+	/**
+	 * Sets the URL of GitHub's API.
+	 * @param apiUrl the API URL
+	 */
+	public void setApiUrl(String apiUrl) {
+		this.apiUrl = apiUrl;
+	}
+
+	/**
+	 * Returns the maximum number of issues opened by a single request.
+	 * @return the issue batch size
+	 */
+	public int getIssueBatchSize() {
+		return this.issueBatchSize;
+	}
+
+	/**
+	 * Sets the maximum number of issues opened by a single request.
+	 * @param issueBatchSize the issue batch size
+	 */
+	public void setIssueBatchSize(int issueBatchSize) {
+		this.issueBatchSize = issueBatchSize;
+	}
+
+	/**
+	 * Returns the minimum interval between requests that open issues.
+	 * @return the mutation interval
+	 */
+	public Duration getMutationInterval() {
+		return this.mutationInterval;
+	}
+
+	/**
+	 * Sets the minimum interval between requests that open issues.
+	 * @param mutationInterval the mutation interval
+	 */
+	public void setMutationInterval(Duration mutationInterval) {
+		this.mutationInterval = mutationInterval;
+	}
+
+	/**
+	 * Returns the properties of the local cache of responses from GitHub's API.
+	 * @return the cache properties
+	 */
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Properties related to the local cache of labels and milestones.
+	 */
+	public static class Cache {
+
+		/**
+		 * Whether the local cache of labels and milestones is enabled.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Directory in which labels and milestones are cached.
+		 */
+		private File directory = new File(System.getProperty("user.home"), ".bomr/cache/github");
+
+		/**
+		 * Returns whether the cache is enabled.
+		 * @return {@code true} if the cache is enabled, otherwise {@code false}
+		 */
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		/**
+		 * Sets whether the cache is enabled.
+		 * @param enabled whether the cache is enabled
+		 */
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		/**
+		 * Returns the directory in which labels and milestones are cached.
+		 * @return the cache directory
+		 */
+		public File getDirectory() {
+			return this.directory;
+		}
+
+		/**
+		 * Sets the directory in which labels and milestones are cached.
+		 * @param directory the cache directory
+		 */
+		public void setDirectory(File directory) {
+			this.directory = directory;
+		}
+
+	}
+
 }
@@ -17,6 +17,8 @@
 package io.spring.bomr.github;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Minimal API for interacting with a GitHub repository.
@@ -35,6 +37,27 @@ public interface GitHubRepository {
 	 */
 	int openIssue(String title, List<String> labels, Milestone milestone);
 
+	/**
+	 * Opens a new issue for each of the given titles. The issues are opened in the
+	 * background, in order, and the returned futures complete as each issue is opened.
+	 * The given {@code labels} will be applied to each issue and each will be assigned to
+	 * the given {@code milestone}. Cancelling a returned future prevents its issue from
+	 * being opened if it has not been opened already.
+	 * @param titles the titles of the issues
+	 * @param labels the labels to apply to the issues
+	 * @param milestone the milestone to assign the issues to
+	 * @return the numbers of the new issues, in the same order as the titles
+	 */
+	List<CompletableFuture<Integer>> openIssues(List<String> titles, List<String> labels, Milestone milestone);
+
+	/**
+	 * Returns the open and closed issues in the repository that have all of the given
+	 * {@code labels}. Pull requests are not included.
+	 * @param labels the labels of the issues
+	 * @return the issue numbers, keyed by title
+	 */
+	Map<String, Integer> getIssues(List<String> labels);
+
 	/**
 	 * Returns the labels in the repository.
 	 * @return the labels
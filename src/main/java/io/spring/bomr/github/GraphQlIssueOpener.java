@@ -0,0 +1,296 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.github;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Opens issues in a GitHub repository using GitHub's GraphQL API. Issues are opened by a
+ * background thread in batches, with each batch being a single mutation that opens
+ * several issues. Requests are paced using the {@code Retry-After} and
+ * {@code X-RateLimit-*} headers of GitHub's responses and a request that is rejected
+ * because a rate limit has been exceeded is retried once the limit has reset. An issue
+ * whose future has been cancelled before its batch is sent is not opened.
+ *
+ * @author Andy Wilkinson
+ */
+final class GraphQlIssueOpener {
+
+	private static final int MAX_ATTEMPTS = 5;
+
+	private static final Duration RATE_LIMITED_RETRY_INTERVAL = Duration.ofMinutes(1);
+
+	private final RestTemplate rest;
+
+	private final URI uri;
+
+	private final String organization;
+
+	private final String name;
+
+	private final int batchSize;
+
+	private final Duration mutationInterval;
+
+	private long nextRequestTime;
+
+	/**
+	 * Creates a new {@code GraphQlIssueOpener}.
+	 * @param rest the rest template used to make requests
+	 * @param uri the URI of the GraphQL API
+	 * @param organization the organization that owns the repository
+	 * @param name the name of the repository
+	 * @param batchSize the maximum number of issues to open in a single request
+	 * @param mutationInterval the minimum interval between requests
+	 */
+	GraphQlIssueOpener(RestTemplate rest, URI uri, String organization, String name, int batchSize,
+			Duration mutationInterval) {
+		this.rest = rest;
+		this.uri = uri;
+		this.organization = organization;
+		this.name = name;
+		this.batchSize = Math.max(1, batchSize);
+		this.mutationInterval = mutationInterval;
+	}
+
+	/**
+	 * Opens a new issue for each of the given titles.
+	 * @param titles the titles of the issues
+	 * @param labels the labels to apply to the issues
+	 * @param milestone the milestone to assign the issues to, or {@code null}
+	 * @return the numbers of the new issues, in the same order as the titles
+	 * @see GitHubRepository#openIssues(List, List, Milestone)
+	 */
+	List<CompletableFuture<Integer>> openIssues(List<String> titles, List<String> labels, Milestone milestone) {
+		List<CompletableFuture<Integer>> issueNumbers = titles.stream().map((title) -> new CompletableFuture<Integer>())
+				.collect(Collectors.toList());
+		if (titles.isEmpty()) {
+			return issueNumbers;
+		}
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		executor.execute(() -> {
+			try {
+				open(titles, labels, milestone, issueNumbers);
+			}
+			catch (RuntimeException ex) {
+				issueNumbers.forEach((issueNumber) -> issueNumber.completeExceptionally(ex));
+			}
+		});
+		executor.shutdown();
+		return issueNumbers;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void open(List<String> titles, List<String> labels, Milestone milestone,
+			List<CompletableFuture<Integer>> issueNumbers) {
+		Map<String, Object> variables = new HashMap<>();
+		variables.put("owner", this.organization);
+		variables.put("name", this.name);
+		for (int i = 0; i < labels.size(); i++) {
+			variables.put("label" + i, labels.get(i));
+		}
+		GraphQlResponse repositoryResponse = execute(createRepositoryQuery(labels.size()), variables);
+		Map<String, Object> repository = (Map<String, Object>) repositoryResponse.data.get("repository");
+		if (repository == null) {
+			throw new IllegalStateException("Failed to find repository " + this.organization + "/" + this.name + ": "
+					+ repositoryResponse.errorMessages(null));
+		}
+		List<String> labelIds = new ArrayList<>();
+		for (int i = 0; i < labels.size(); i++) {
+			Map<String, Object> label = (Map<String, Object>) repository.get("label" + i);
+			if (label == null) {
+				throw new IllegalStateException("Failed to find label '" + labels.get(i) + "'");
+			}
+			labelIds.add((String) label.get("id"));
+		}
+		List<Integer> pending = IntStream.range(0, titles.size()).boxed().collect(Collectors.toList());
+		while (true) {
+			pending.removeIf((index) -> issueNumbers.get(index).isCancelled());
+			if (pending.isEmpty()) {
+				return;
+			}
+			List<Integer> batch = new ArrayList<>(pending.subList(0, Math.min(this.batchSize, pending.size())));
+			pending.removeAll(batch);
+			Map<String, Object> mutationVariables = new HashMap<>();
+			mutationVariables.put("repositoryId", repository.get("id"));
+			mutationVariables.put("labelIds", labelIds);
+			mutationVariables.put("milestoneId", (milestone != null) ? milestone.getNodeId() : null);
+			for (int i = 0; i < batch.size(); i++) {
+				mutationVariables.put("title" + i, titles.get(batch.get(i)));
+			}
+			GraphQlResponse response = execute(createIssuesMutation(batch.size()), mutationVariables);
+			for (int i = 0; i < batch.size(); i++) {
+				Map<String, Object> created = (Map<String, Object>) response.data.get("issue" + i);
+				CompletableFuture<Integer> issueNumber = issueNumbers.get(batch.get(i));
+				if (created != null && created.get("issue") != null) {
+					issueNumber.complete((Integer) ((Map<String, Object>) created.get("issue")).get("number"));
+				}
+				else {
+					issueNumber.completeExceptionally(new IllegalStateException("Failed to open issue '"
+							+ titles.get(batch.get(i)) + "': " + response.errorMessages("issue" + i)));
+				}
+			}
+		}
+	}
+
+	private String createRepositoryQuery(int labelCount) {
+		StringBuilder query = new StringBuilder("query($owner: String!, $name: String!");
+		for (int i = 0; i < labelCount; i++) {
+			query.append(", $label").append(i).append(": String!");
+		}
+		query.append(") { repository(owner: $owner, name: $name) { id");
+		for (int i = 0; i < labelCount; i++) {
+			query.append(" label").append(i).append(": label(name: $label").append(i).append(") { id }");
+		}
+		return query.append(" } }").toString();
+	}
+
+	private String createIssuesMutation(int count) {
+		StringBuilder mutation = new StringBuilder("mutation($repositoryId: ID!, $labelIds: [ID!], $milestoneId: ID");
+		for (int i = 0; i < count; i++) {
+			mutation.append(", $title").append(i).append(": String!");
+		}
+		mutation.append(") {");
+		for (int i = 0; i < count; i++) {
+			mutation.append(" issue").append(i).append(": createIssue(input: { repositoryId: $repositoryId, ")
+					.append("title: $title").append(i)
+					.append(", labelIds: $labelIds, milestoneId: $milestoneId }) { issue { number } }");
+		}
+		return mutation.append(" }").toString();
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private synchronized GraphQlResponse execute(String query, Map<String, Object> variables) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("query", query);
+		body.put("variables", variables);
+		for (int attempt = 1;; attempt++) {
+			awaitNextRequestTime();
+			try {
+				ResponseEntity<Map> response = this.rest.exchange(RequestEntity.post(this.uri).body(body), Map.class);
+				Map<String, Object> responseBody = response.getBody();
+				List<Map<String, Object>> errors = (List<Map<String, Object>>) responseBody.get("errors");
+				if (hasRateLimitedError(errors) && attempt < MAX_ATTEMPTS) {
+					this.nextRequestTime = retryTime(response.getHeaders(), RATE_LIMITED_RETRY_INTERVAL);
+					continue;
+				}
+				this.nextRequestTime = retryTime(response.getHeaders(), this.mutationInterval);
+				GraphQlResponse graphQlResponse = new GraphQlResponse((Map<String, Object>) responseBody.get("data"),
+						errors);
+				if (graphQlResponse.data == null) {
+					throw new IllegalStateException("GraphQL request failed: " + graphQlResponse.errorMessages(null));
+				}
+				return graphQlResponse;
+			}
+			catch (HttpClientErrorException ex) {
+				if (!isRateLimited(ex) || attempt >= MAX_ATTEMPTS) {
+					throw ex;
+				}
+				this.nextRequestTime = retryTime(ex.getResponseHeaders(), RATE_LIMITED_RETRY_INTERVAL);
+			}
+		}
+	}
+
+	private boolean hasRateLimitedError(List<Map<String, Object>> errors) {
+		return errors != null && errors.stream().anyMatch((error) -> "RATE_LIMITED".equals(error.get("type")));
+	}
+
+	private boolean isRateLimited(HttpClientErrorException ex) {
+		HttpHeaders headers = ex.getResponseHeaders();
+		return (ex.getStatusCode() == HttpStatus.FORBIDDEN || ex.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS)
+				&& headers != null && (headers.getFirst("Retry-After") != null
+						|| "0".equals(headers.getFirst("X-RateLimit-Remaining")));
+	}
+
+	private long retryTime(HttpHeaders headers, Duration interval) {
+		long now = System.currentTimeMillis();
+		if (headers != null) {
+			String retryAfter = headers.getFirst("Retry-After");
+			if (retryAfter != null) {
+				return now + Long.parseLong(retryAfter.trim()) * 1000;
+			}
+			String reset = headers.getFirst("X-RateLimit-Reset");
+			if ("0".equals(headers.getFirst("X-RateLimit-Remaining")) && reset != null) {
+				return Math.max(now, Long.parseLong(reset.trim()) * 1000);
+			}
+		}
+		return now + interval.toMillis();
+	}
+
+	private void awaitNextRequestTime() {
+		long delay = this.nextRequestTime - System.currentTimeMillis();
+		if (delay > 0) {
+			try {
+				Thread.sleep(delay);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting to open issues", ex);
+			}
+		}
+	}
+
+	private static final class GraphQlResponse {
+
+		private final Map<String, Object> data;
+
+		private final List<Map<String, Object>> errors;
+
+		private GraphQlResponse(Map<String, Object> data, List<Map<String, Object>> errors) {
+			this.data = data;
+			this.errors = (errors != null) ? errors : Collections.emptyList();
+		}
+
+		/**
+		 * Returns the messages of the errors for the given {@code field} or of all errors
+		 * if {@code field} is {@code null}.
+		 * @param field the field
+		 * @return the error messages
+		 */
+		private String errorMessages(String field) {
+			String messages = this.errors.stream()
+					.filter((error) -> field == null || isForField(error, field))
+					.map((error) -> String.valueOf(error.get("message"))).collect(Collectors.joining(", "));
+			return messages.isEmpty() ? "no errors were reported" : messages;
+		}
+
+		private boolean isForField(Map<String, Object> error, String field) {
+			Object path = error.get("path");
+			return path instanceof List && !((List<?>) path).isEmpty() && field.equals(((List<?>) path).get(0));
+		}
+
+	}
+
+}
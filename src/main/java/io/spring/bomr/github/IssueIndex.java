@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.github;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * A local index of the titles of a repository's issues. The index records the time at
+ * which it was last brought up to date so that it can be refreshed by retrieving only
+ * the issues that have been updated since then. An index that is created without a file
+ * is held in memory and is rebuilt each time it is used.
+ *
+ * @author Andy Wilkinson
+ */
+final class IssueIndex {
+
+	private static final String ISSUE_PREFIX = "issue.";
+
+	private final File file;
+
+	private final String labels;
+
+	private final Map<Integer, String> titles = new TreeMap<>();
+
+	private String since;
+
+	private IssueIndex(File file, List<String> labels) {
+		this.file = file;
+		this.labels = String.join(",", labels);
+	}
+
+	/**
+	 * Creates an in-memory index of the issues with the given {@code labels}.
+	 * @param labels the labels of the indexed issues
+	 */
+	IssueIndex(List<String> labels) {
+		this(null, labels);
+	}
+
+	/**
+	 * Loads the index of the issues with the given {@code labels} from the given
+	 * {@code file}. If the file does not exist or it indexes issues with different
+	 * labels, the returned index is empty.
+	 * @param file the file
+	 * @param labels the labels of the indexed issues
+	 * @return the index
+	 */
+	static IssueIndex load(File file, List<String> labels) {
+		IssueIndex index = new IssueIndex(file, labels);
+		if (!file.isFile()) {
+			return index;
+		}
+		Properties properties = new Properties();
+		try (Reader reader = new FileReader(file)) {
+			properties.load(reader);
+		}
+		catch (IOException ex) {
+			return index;
+		}
+		if (!index.labels.equals(properties.getProperty("labels"))) {
+			return index;
+		}
+		index.since = properties.getProperty("since");
+		for (String name : properties.stringPropertyNames()) {
+			if (name.startsWith(ISSUE_PREFIX)) {
+				index.titles.put(Integer.parseInt(name.substring(ISSUE_PREFIX.length())),
+						properties.getProperty(name));
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the time, as an ISO 8601 timestamp, at which the index was last brought up
+	 * to date.
+	 * @return the time or {@code null} if the index has never been brought up to date
+	 */
+	String getSince() {
+		return this.since;
+	}
+
+	/**
+	 * Updates the index with the given {@code issues}, replacing the titles of any issues
+	 * that are already indexed, and stores it.
+	 * @param issues the titles of the updated issues, keyed by issue number
+	 * @param since the time, as an ISO 8601 timestamp, at which the index is up to date
+	 */
+	void update(Map<Integer, String> issues, String since) {
+		this.titles.putAll(issues);
+		this.since = since;
+		if (this.file != null) {
+			store();
+		}
+	}
+
+	/**
+	 * Returns the numbers of the indexed issues, keyed by title. If more than one issue
+	 * has the same title, the number of the oldest is returned.
+	 * @return the issue numbers
+	 */
+	Map<String, Integer> getIssues() {
+		Map<String, Integer> issues = new LinkedHashMap<>();
+		this.titles.forEach((number, title) -> issues.putIfAbsent(title, number));
+		return Collections.unmodifiableMap(issues);
+	}
+
+	private void store() {
+		Properties properties = new Properties();
+		properties.setProperty("labels", this.labels);
+		properties.setProperty("since", this.since);
+		this.titles.forEach((number, title) -> properties.setProperty(ISSUE_PREFIX + number, title));
+		try {
+			this.file.getParentFile().mkdirs();
+			File tempFile = File.createTempFile("issues", ".tmp", this.file.getParentFile());
+			try (Writer writer = new FileWriter(tempFile)) {
+				properties.store(writer, null);
+			}
+			Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			System.err.println("Failed to store issue index: " + ex.getMessage());
+		}
+	}
+
+}
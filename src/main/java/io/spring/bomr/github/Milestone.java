@@ -27,9 +27,12 @@ public class Milestone {
 
 	private final int number;
 
-	Milestone(String name, int number) {
+	private final String nodeId;
+
+	Milestone(String name, int number, String nodeId) {
 		this.name = name;
 		this.number = number;
+		this.nodeId = nodeId;
 	}
 
 	/**
@@ -48,6 +51,14 @@ public class Milestone {
 		return this.number;
 	}
 
+	/**
+	 * Returns the ID of the milestone's node in GitHub's GraphQL API.
+	 * @return the node ID
+	 */
+	public String getNodeId() {
+		return this.nodeId;
+	}
+
 	@Override
 	public String toString() {
 		return this.name + " (" + this.number + ")";
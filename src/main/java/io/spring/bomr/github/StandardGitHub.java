@@ -16,12 +16,16 @@
 
 package io.spring.bomr.github;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.Base64;
 
 import org.springframework.http.HttpRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.RestTemplate;
@@ -35,18 +39,34 @@ import org.springframework.web.util.UriTemplateHandler;
  */
 final class StandardGitHub implements GitHub {
 
+	private final ClientHttpRequestFactory requestFactory;
+
 	private final String username;
 
 	private final String password;
 
-	StandardGitHub(String username, String password) {
+	private final String apiUrl;
+
+	private final int issueBatchSize;
+
+	private final Duration mutationInterval;
+
+	private final GitHubCache cache;
+
+	StandardGitHub(ClientHttpRequestFactory requestFactory, String username, String password, String apiUrl,
+			int issueBatchSize, Duration mutationInterval, File cacheDirectory) {
+		this.requestFactory = requestFactory;
 		this.username = username;
 		this.password = password;
+		this.apiUrl = apiUrl.replaceAll("/+$", "");
+		this.issueBatchSize = issueBatchSize;
+		this.mutationInterval = mutationInterval;
+		this.cache = (cacheDirectory != null) ? new GitHubCache(cacheDirectory) : null;
 	}
 
 	@Override
 	public GitHubRepository getRepository(String organization, String name) {
-		RestTemplate restTemplate = new RestTemplate();
+		RestTemplate restTemplate = new RestTemplate(this.requestFactory);
 		restTemplate.getInterceptors().add(new ClientHttpRequestInterceptor() {
 
 			@Override
@@ -60,10 +80,13 @@ final class StandardGitHub implements GitHub {
 			}
 
 		});
-		UriTemplateHandler uriTemplateHandler = new DefaultUriBuilderFactory(
-				"https://api.github.com/repos/" + organization + "/" + name + "/");
+		String repositoryUrl = this.apiUrl + "/repos/" + organization + "/" + name + "/";
+		UriTemplateHandler uriTemplateHandler = new DefaultUriBuilderFactory(repositoryUrl);
 		restTemplate.setUriTemplateHandler(uriTemplateHandler);
-		return new StandardGitHubRepository(restTemplate);
+		return new StandardGitHubRepository(restTemplate,
+				new GraphQlIssueOpener(restTemplate, URI.create(this.apiUrl + "/graphql"), organization, name,
+						this.issueBatchSize, this.mutationInterval),
+				(this.cache != null) ? this.cache.forRepository(repositoryUrl) : null);
 	}
 
 }
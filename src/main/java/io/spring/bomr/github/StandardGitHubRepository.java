@@ -16,26 +16,72 @@
 
 package io.spring.bomr.github;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 
 /**
- * Standard implementation of {@link GitHubRepository}.
+ * Standard implementation of {@link GitHubRepository}. Labels and milestones are
+ * retrieved a page at a time. Once the number of pages is known from the {@code Link}
+ * header of the first page, the remaining pages are retrieved concurrently. If a
+ * {@link GitHubCache cache} is configured, cached pages are revalidated using
+ * conditional requests. Issues are looked up using an {@link IssueIndex} that is
+ * refreshed by retrieving only the issues that have been updated since it was last
+ * brought up to date.
  *
  * @author Andy Wilkinson
  */
 final class StandardGitHubRepository implements GitHubRepository {
 
+	private static final int PAGE_SIZE = 100;
+
+	private static final int MAX_CONCURRENT_REQUESTS = 4;
+
+	/**
+	 * Margin by which the time at which an issue index is up to date is moved back to
+	 * allow for differences between the local clock and GitHub's.
+	 */
+	private static final Duration CLOCK_SKEW_MARGIN = Duration.ofMinutes(5);
+
+	private static final Pattern LAST_PAGE_PATTERN = Pattern.compile("<[^>]*[?&]page=(\\d+)[^>]*>;\\s*rel=\"last\"");
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
 	private final RestTemplate rest;
 
-	StandardGitHubRepository(RestTemplate restTemplate) {
+	private final GraphQlIssueOpener issueOpener;
+
+	private final GitHubCache cache;
+
+	StandardGitHubRepository(RestTemplate restTemplate, GraphQlIssueOpener issueOpener, GitHubCache cache) {
 		this.rest = restTemplate;
+		this.issueOpener = issueOpener;
+		this.cache = cache;
 	}
 
 	@Override
@@ -53,22 +99,151 @@ final class StandardGitHubRepository implements GitHubRepository {
 		return (Integer) response.getBody().get("number");
 	}
 
+	@Override
+	public List<CompletableFuture<Integer>> openIssues(List<String> titles, List<String> labels,
+			Milestone milestone) {
+		return this.issueOpener.openIssues(titles, labels, milestone);
+	}
+
+	@Override
+	public Map<String, Integer> getIssues(List<String> labels) {
+		IssueIndex index = (this.cache != null) ? this.cache.getIssueIndex(labels) : new IssueIndex(labels);
+		Map<String, String> parameters = new LinkedHashMap<>();
+		parameters.put("state", "all");
+		parameters.put("sort", "created");
+		parameters.put("direction", "asc");
+		if (!labels.isEmpty()) {
+			parameters.put("labels", String.join(",", labels));
+		}
+		if (index.getSince() != null) {
+			parameters.put("since", index.getSince());
+		}
+		Instant upToDate = Instant.now().minus(CLOCK_SKEW_MARGIN).truncatedTo(ChronoUnit.SECONDS);
+		Map<Integer, String> issues = new HashMap<>();
+		for (Map<String, Object> issue : get("issues", parameters, null)) {
+			if (!issue.containsKey("pull_request")) {
+				issues.put((Integer) issue.get("number"), (String) issue.get("title"));
+			}
+		}
+		index.update(issues, upToDate.toString());
+		return index.getIssues();
+	}
+
 	@Override
 	public List<String> getLabels() {
-		return get("labels?per_page=100", (label) -> (String) label.get("name"));
+		return get("labels", Collections.emptyMap(), this.cache).stream().map((label) -> (String) label.get("name"))
+				.collect(Collectors.toList());
 	}
 
 	@Override
 	public List<Milestone> getMilestones() {
-		return get("milestones?per_page=100",
-				(milestone) -> new Milestone((String) milestone.get("title"), (Integer) milestone.get("number")));
+		return get("milestones", Collections.emptyMap(), this.cache).stream()
+				.map((milestone) -> new Milestone((String) milestone.get("title"), (Integer) milestone.get("number"),
+						(String) milestone.get("node_id")))
+				.collect(Collectors.toList());
+	}
+
+	private List<Map<String, Object>> get(String resource, Map<String, String> parameters, GitHubCache cache) {
+		List<Page> pages = new ArrayList<>();
+		Page first = getPage(resource, parameters, 1, cache);
+		pages.add(first);
+		pages.addAll(getPages(resource, parameters, 2, first.lastPage, cache));
+		Page last = pages.get(pages.size() - 1);
+		while (last.items.size() == PAGE_SIZE) {
+			last = getPage(resource, parameters, pages.size() + 1, cache);
+			pages.add(last);
+		}
+		return pages.stream().flatMap((page) -> page.items.stream()).collect(Collectors.toList());
 	}
 
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private <T> List<T> get(String name, Function<Map<String, Object>, T> mapper) {
-		ResponseEntity<List> response = this.rest.getForEntity(name, List.class);
-		List<Map<String, Object>> body = response.getBody();
-		return body.stream().map(mapper).collect(Collectors.toList());
+	private List<Page> getPages(String resource, Map<String, String> parameters, int first, int last,
+			GitHubCache cache) {
+		if (first > last) {
+			return Collections.emptyList();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(MAX_CONCURRENT_REQUESTS, last - first + 1));
+		try {
+			List<Future<Page>> futures = new ArrayList<>();
+			for (int page = first; page <= last; page++) {
+				int number = page;
+				futures.add(executor.submit(() -> getPage(resource, parameters, number, cache)));
+			}
+			List<Page> pages = new ArrayList<>();
+			for (Future<Page> future : futures) {
+				pages.add(future.get());
+			}
+			return pages;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while retrieving " + resource, ex);
+		}
+		catch (ExecutionException ex) {
+			throw new RuntimeException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Page getPage(String resource, Map<String, String> parameters, int page, GitHubCache cache) {
+		Map<String, Object> variables = new LinkedHashMap<>(parameters);
+		variables.put("per_page", PAGE_SIZE);
+		variables.put("page", page);
+		String uriTemplate = resource + variables.keySet().stream().map((name) -> name + "={" + name + "}")
+				.collect(Collectors.joining("&", "?", ""));
+		GitHubCache.Entry cached = (cache != null) ? cache.get(resource, page) : null;
+		GitHubCache.Entry retrieved = this.rest.execute(uriTemplate, HttpMethod.GET, (request) -> {
+			if (cached != null) {
+				request.getHeaders().setIfNoneMatch(cached.getEtag());
+			}
+		}, (response) -> {
+			if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+				return null;
+			}
+			return new GitHubCache.Entry(StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8),
+					response.getHeaders().getETag(), response.getHeaders().getFirst(HttpHeaders.LINK));
+		}, variables);
+		GitHubCache.Entry entry = (retrieved != null) ? retrieved : cached;
+		if (entry == null) {
+			throw new IllegalStateException("No content was received for page " + page + " of " + resource);
+		}
+		if (retrieved != null && cache != null) {
+			cache.put(resource, page, retrieved);
+		}
+		try {
+			return new Page(this.objectMapper.readValue(entry.getBody(), List.class), lastPage(entry.getLink(), page));
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private int lastPage(String link, int page) {
+		if (link != null) {
+			Matcher matcher = LAST_PAGE_PATTERN.matcher(link);
+			if (matcher.find()) {
+				return Integer.parseInt(matcher.group(1));
+			}
+		}
+		return page;
+	}
+
+	/**
+	 * A page of items.
+	 */
+	private static final class Page {
+
+		private final List<Map<String, Object>> items;
+
+		private final int lastPage;
+
+		private Page(List<Map<String, Object>> items, int lastPage) {
+			this.items = items;
+			this.lastPage = lastPage;
+		}
+
 	}
 
 }
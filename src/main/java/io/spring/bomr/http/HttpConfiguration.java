@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.http;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Configuration for the HTTP client that is shared by Bomr's remote-facing components.
+ * Connections are pooled and kept alive so that a connection to a host, and its TLS
+ * session, is reused across components and requests. Maven Resolver, which is used for
+ * in-process verification, has its own client to which only the timeouts are applied.
+ *
+ * @author Andy Wilkinson
+ */
+@Configuration
+@EnableConfigurationProperties(HttpProperties.class)
+class HttpConfiguration {
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClient(HttpProperties properties) {
+		PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+		connectionManager.setMaxTotal(properties.getMaxConnections());
+		connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerHost());
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+				.setSocketTimeout((int) properties.getReadTimeout().toMillis())
+				.setContentCompressionEnabled(properties.isCompression()).build();
+		return HttpClients.custom().useSystemProperties().setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS).build();
+	}
+
+	@Bean
+	public ClientHttpRequestFactory clientHttpRequestFactory(CloseableHttpClient httpClient) {
+		return new HttpComponentsClientHttpRequestFactory(httpClient);
+	}
+
+}
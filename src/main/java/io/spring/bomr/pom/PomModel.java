@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.pom;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a Maven pom that are of interest to Bomr.
+ *
+ * @author Andy Wilkinson
+ * @see PomReader
+ */
+public final class PomModel {
+
+	private final String groupId;
+
+	private final String artifactId;
+
+	private final String version;
+
+	private final Map<String, String> properties;
+
+	private final List<Dependency> managedDependencies;
+
+	private final List<Plugin> managedPlugins;
+
+	private final List<Repository> repositories;
+
+	PomModel(String groupId, String artifactId, String version, Map<String, String> properties,
+			List<Dependency> managedDependencies, List<Plugin> managedPlugins, List<Repository> repositories) {
+		this.groupId = groupId;
+		this.artifactId = artifactId;
+		this.version = version;
+		this.properties = Collections.unmodifiableMap(properties);
+		this.managedDependencies = Collections.unmodifiableList(managedDependencies);
+		this.managedPlugins = Collections.unmodifiableList(managedPlugins);
+		this.repositories = Collections.unmodifiableList(repositories);
+	}
+
+	/**
+	 * Returns the pom's group ID.
+	 * @return the group ID or {@code null} if it is not declared in the pom
+	 */
+	public String getGroupId() {
+		return this.groupId;
+	}
+
+	/**
+	 * Returns the pom's artifact ID.
+	 * @return the artifact ID
+	 */
+	public String getArtifactId() {
+		return this.artifactId;
+	}
+
+	/**
+	 * Returns the pom's version.
+	 * @return the version or {@code null} if it is not declared in the pom
+	 */
+	public String getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Returns the properties declared in the pom's {@code <properties>} section, in the
+	 * order in which they are declared.
+	 * @return the properties
+	 */
+	public Map<String, String> getProperties() {
+		return this.properties;
+	}
+
+	/**
+	 * Returns the dependencies declared in the pom's {@code <dependencyManagement>}
+	 * section.
+	 * @return the managed dependencies
+	 */
+	public List<Dependency> getManagedDependencies() {
+		return this.managedDependencies;
+	}
+
+	/**
+	 * Returns the plugins declared in the pom's {@code <pluginManagement>} section.
+	 * @return the managed plugins
+	 */
+	public List<Plugin> getManagedPlugins() {
+		return this.managedPlugins;
+	}
+
+	/**
+	 * Returns the repositories declared in the pom's {@code <repositories>} section.
+	 * @return the repositories
+	 */
+	public List<Repository> getRepositories() {
+		return this.repositories;
+	}
+
+	/**
+	 * A dependency declared in a pom.
+	 */
+	public static final class Dependency {
+
+		private final String groupId;
+
+		private final String artifactId;
+
+		private final String version;
+
+		private final String classifier;
+
+		private final String type;
+
+		Dependency(String groupId, String artifactId, String version, String classifier, String type) {
+			this.groupId = groupId;
+			this.artifactId = artifactId;
+			this.version = version;
+			this.classifier = classifier;
+			this.type = type;
+		}
+
+		public String getGroupId() {
+			return this.groupId;
+		}
+
+		public String getArtifactId() {
+			return this.artifactId;
+		}
+
+		/**
+		 * Returns the dependency's version, as declared in the pom.
+		 * @return the version or {@code null}
+		 */
+		public String getVersion() {
+			return this.version;
+		}
+
+		/**
+		 * Returns the dependency's classifier.
+		 * @return the classifier or {@code null}
+		 */
+		public String getClassifier() {
+			return this.classifier;
+		}
+
+		/**
+		 * Returns the dependency's type.
+		 * @return the type or {@code null}
+		 */
+		public String getType() {
+			return this.type;
+		}
+
+	}
+
+	/**
+	 * A plugin declared in a pom.
+	 */
+	public static final class Plugin {
+
+		private final String groupId;
+
+		private final String artifactId;
+
+		private final String version;
+
+		Plugin(String groupId, String artifactId, String version) {
+			this.groupId = groupId;
+			this.artifactId = artifactId;
+			this.version = version;
+		}
+
+		public String getGroupId() {
+			return this.groupId;
+		}
+
+		public String getArtifactId() {
+			return this.artifactId;
+		}
+
+		/**
+		 * Returns the plugin's version, as declared in the pom.
+		 * @return the version or {@code null}
+		 */
+		public String getVersion() {
+			return this.version;
+		}
+
+	}
+
+	/**
+	 * A repository declared in a pom.
+	 */
+	public static final class Repository {
+
+		private final String id;
+
+		private final String url;
+
+		private final boolean snapshotsEnabled;
+
+		Repository(String id, String url, boolean snapshotsEnabled) {
+			this.id = id;
+			this.url = url;
+			this.snapshotsEnabled = snapshotsEnabled;
+		}
+
+		public String getId() {
+			return this.id;
+		}
+
+		public String getUrl() {
+			return this.url;
+		}
+
+		public boolean isSnapshotsEnabled() {
+			return this.snapshotsEnabled;
+		}
+
+	}
+
+}
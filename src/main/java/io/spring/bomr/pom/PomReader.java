@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.pom;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import io.spring.bomr.pom.PomModel.Dependency;
+import io.spring.bomr.pom.PomModel.Plugin;
+import io.spring.bomr.pom.PomModel.Repository;
+
+/**
+ * Reads a {@link PomModel} from a Maven pom. The pom's coordinates, properties, managed
+ * dependencies, managed plugins, and repositories are all extracted in a single streaming
+ * pass without building a document in memory.
+ *
+ * @author Andy Wilkinson
+ */
+public final class PomReader {
+
+	private static final String PROJECT = "project";
+
+	private static final String PROPERTIES = "project/properties";
+
+	private static final String MANAGED_DEPENDENCY = "project/dependencyManagement/dependencies/dependency";
+
+	private static final String MANAGED_PLUGIN = "project/build/pluginManagement/plugins/plugin";
+
+	private static final String REPOSITORY = "project/repositories/repository";
+
+	private static final String REPOSITORY_SNAPSHOTS = "project/repositories/repository/snapshots";
+
+	private static final String DEFAULT_PLUGIN_GROUP_ID = "org.apache.maven.plugins";
+
+	private static final XMLInputFactory inputFactory = createInputFactory();
+
+	private PomReader() {
+
+	}
+
+	/**
+	 * Reads the pom in the given {@code file}.
+	 * @param file the pom file
+	 * @return the model of the pom
+	 */
+	public static PomModel read(File file) {
+		try (InputStream input = new FileInputStream(file)) {
+			return read(inputFactory.createXMLStreamReader(input));
+		}
+		catch (IOException | XMLStreamException ex) {
+			throw new RuntimeException("Failed to read pom '" + file + "'", ex);
+		}
+	}
+
+	/**
+	 * Reads the pom that is provided by the given {@code reader}.
+	 * @param reader the reader of the pom's content
+	 * @return the model of the pom
+	 */
+	public static PomModel read(Reader reader) {
+		try {
+			return read(inputFactory.createXMLStreamReader(reader));
+		}
+		catch (XMLStreamException ex) {
+			throw new RuntimeException("Failed to read pom", ex);
+		}
+	}
+
+	private static PomModel read(XMLStreamReader reader) throws XMLStreamException {
+		try {
+			return new ModelBuilder().build(reader);
+		}
+		finally {
+			reader.close();
+		}
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+	/**
+	 * Builds a {@link PomModel} from the events of an {@link XMLStreamReader}.
+	 */
+	private static final class ModelBuilder {
+
+		private final StringBuilder path = new StringBuilder();
+
+		private final Map<String, String> coordinates = new HashMap<>();
+
+		private final Map<String, String> properties = new LinkedHashMap<>();
+
+		private final Map<String, String> fields = new HashMap<>();
+
+		private final List<Dependency> managedDependencies = new ArrayList<>();
+
+		private final List<Plugin> managedPlugins = new ArrayList<>();
+
+		private final List<Repository> repositories = new ArrayList<>();
+
+		private PomModel build(XMLStreamReader reader) throws XMLStreamException {
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String name = reader.getLocalName();
+					String parent = this.path.toString();
+					if (isText(parent, name)) {
+						String text = reader.getElementText().trim();
+						text(parent, name, text);
+					}
+					else {
+						push(name);
+					}
+				}
+				else if (event == XMLStreamConstants.END_ELEMENT) {
+					end(this.path.toString());
+					pop();
+				}
+			}
+			return new PomModel(this.coordinates.get("groupId"), this.coordinates.get("artifactId"),
+					this.coordinates.get("version"), this.properties, this.managedDependencies, this.managedPlugins,
+					this.repositories);
+		}
+
+		private boolean isText(String parent, String name) {
+			switch (parent) {
+			case PROJECT:
+				return "groupId".equals(name) || "artifactId".equals(name) || "version".equals(name);
+			case PROPERTIES:
+				return true;
+			case MANAGED_DEPENDENCY:
+				return "groupId".equals(name) || "artifactId".equals(name) || "version".equals(name)
+						|| "classifier".equals(name) || "type".equals(name);
+			case MANAGED_PLUGIN:
+				return "groupId".equals(name) || "artifactId".equals(name) || "version".equals(name);
+			case REPOSITORY:
+				return "id".equals(name) || "url".equals(name);
+			case REPOSITORY_SNAPSHOTS:
+				return "enabled".equals(name);
+			default:
+				return false;
+			}
+		}
+
+		private void text(String parent, String name, String text) {
+			if (PROJECT.equals(parent)) {
+				this.coordinates.put(name, text);
+			}
+			else if (PROPERTIES.equals(parent)) {
+				this.properties.put(name, text);
+			}
+			else {
+				this.fields.put(name, text);
+			}
+		}
+
+		private void end(String element) {
+			if (MANAGED_DEPENDENCY.equals(element)) {
+				this.managedDependencies.add(new Dependency(this.fields.get("groupId"), this.fields.get("artifactId"),
+						this.fields.get("version"), this.fields.get("classifier"), this.fields.get("type")));
+				this.fields.clear();
+			}
+			else if (MANAGED_PLUGIN.equals(element)) {
+				this.managedPlugins.add(new Plugin(this.fields.getOrDefault("groupId", DEFAULT_PLUGIN_GROUP_ID),
+						this.fields.get("artifactId"), this.fields.get("version")));
+				this.fields.clear();
+			}
+			else if (REPOSITORY.equals(element)) {
+				this.repositories.add(new Repository(this.fields.get("id"), this.fields.get("url"),
+						Boolean.valueOf(this.fields.get("enabled"))));
+				this.fields.clear();
+			}
+		}
+
+		private void push(String name) {
+			if (this.path.length() > 0) {
+				this.path.append('/');
+			}
+			this.path.append(name);
+		}
+
+		private void pop() {
+			this.path.setLength(Math.max(this.path.lastIndexOf("/"), 0));
+		}
+
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.spring.bomr.upgrade.BomVersions.BomVersion;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * Base class for {@link UpgradeResolver} implementations that resolve the available
+ * versions of every project up front and then select an upgrade for each project from
+ * those that are permitted by an {@link UpgradePolicy} and that are not
+ * {@link ProhibitedVersions prohibited}. When an {@link UpgradeJournal} is used, the
+ * resolved versions and selected upgrades are recorded in it and anything that it already
+ * records is replayed rather than being resolved or selected again.
+ *
+ * @author Andy Wilkinson
+ */
+abstract class AbstractUpgradeResolver implements UpgradeResolver {
+
+	private final VersionResolver versionResolver;
+
+	private final UpgradePolicy upgradePolicy;
+
+	private final Map<String, ProhibitedVersions> prohibitedVersions;
+
+	private final ResolutionStrategy resolutionStrategy;
+
+	private final UpgradeJournal journal;
+
+	protected AbstractUpgradeResolver(VersionResolver versionResolver, UpgradePolicy upgradePolicy,
+			List<ProhibitedVersions> prohibitedVersions, ResolutionStrategy resolutionStrategy,
+			UpgradeJournal journal) {
+		this.versionResolver = versionResolver;
+		this.upgradePolicy = upgradePolicy;
+		this.prohibitedVersions = prohibitedVersions.stream()
+				.collect(Collectors.toMap(ProhibitedVersions::getProject, Function.identity()));
+		this.resolutionStrategy = resolutionStrategy;
+		this.journal = journal;
+	}
+
+	@Override
+	public List<Upgrade> resolveUpgrades(Collection<Project> projects) {
+		List<Project> undecidedProjects = projects.stream()
+				.filter((project) -> this.journal == null || !this.journal.hasSelection(project))
+				.collect(Collectors.toList());
+		if (undecidedProjects.size() < projects.size()) {
+			System.out.println("Replaying the selections for " + (projects.size() - undecidedProjects.size())
+					+ " projects from the upgrade journal");
+		}
+		List<Module> modules = undecidedProjects.stream()
+				.flatMap((project) -> this.resolutionStrategy.modulesToResolve(project).stream())
+				.collect(Collectors.toList());
+		Map<Module, SortedSet<DependencyVersion>> resolvedVersions = resolveVersions(modules);
+		List<Upgrade> upgrades = new ArrayList<>();
+		for (Project project : projects) {
+			Upgrade upgrade = undecidedProjects.contains(project) ? selectUpgrade(project, resolvedVersions)
+					: this.journal.getSelectedUpgrade(project);
+			if (upgrade != null) {
+				upgrades.add(upgrade);
+			}
+		}
+		return upgrades;
+	}
+
+	/**
+	 * Selects the upgrade, if any, to apply to a project from the given candidate
+	 * {@code versions}.
+	 * @param versions the candidate versions
+	 * @return the upgrade or {@code null} if the project should not be upgraded
+	 */
+	protected abstract Upgrade selectUpgrade(ProjectVersions versions);
+
+	protected final VersionResolver getVersionResolver() {
+		return this.versionResolver;
+	}
+
+	private Map<Module, SortedSet<DependencyVersion>> resolveVersions(List<Module> modules) {
+		Map<Module, SortedSet<DependencyVersion>> resolvedVersions = new HashMap<>();
+		if (this.journal != null) {
+			resolvedVersions.putAll(this.journal.getResolvedVersions(modules));
+		}
+		List<Module> unresolvedModules = modules.stream().filter((module) -> !resolvedVersions.containsKey(module))
+				.collect(Collectors.toList());
+		if (!unresolvedModules.isEmpty()) {
+			System.out.print("Resolving versions of " + unresolvedModules.size() + " modules...");
+			Map<Module, SortedSet<DependencyVersion>> versions = this.versionResolver
+					.resolveVersions(unresolvedModules);
+			System.out.println(" Done.");
+			if (this.journal != null) {
+				this.journal.recordResolvedVersions(versions);
+			}
+			resolvedVersions.putAll(versions);
+		}
+		return resolvedVersions;
+	}
+
+	private Upgrade selectUpgrade(Project project, Map<Module, SortedSet<DependencyVersion>> resolvedVersions) {
+		ProjectVersions projectVersions = getProjectVersions(project, resolvedVersions);
+		if (projectVersions.getVersions().isEmpty()) {
+			return null;
+		}
+		Upgrade upgrade = selectUpgrade(projectVersions);
+		if (this.journal != null) {
+			this.journal.recordSelection(project, upgrade);
+		}
+		return upgrade;
+	}
+
+	private ProjectVersions getProjectVersions(Project project,
+			Map<Module, SortedSet<DependencyVersion>> resolvedVersions) {
+		Map<Module, SortedSet<DependencyVersion>> moduleVersions = new LinkedHashMap<>();
+		ProhibitedVersions prohibitedVersions = this.prohibitedVersions.get(project.getName().getRawName());
+		this.resolutionStrategy.modulesToResolve(project).forEach((module) -> moduleVersions.put(module,
+				getLaterVersions(resolvedVersions.get(module), project.getVersion())));
+		List<DependencyVersion> allVersions = moduleVersions.values().stream().flatMap(SortedSet::stream).distinct()
+				.filter((dependencyVersion) -> isPermitted(dependencyVersion, prohibitedVersions))
+				.collect(Collectors.toList());
+		return new ProjectVersions(project, moduleVersions, allVersions);
+	}
+
+	private boolean isPermitted(DependencyVersion dependencyVersion, ProhibitedVersions prohibitedVersions) {
+		if (prohibitedVersions == null) {
+			return true;
+		}
+		for (VersionRange range : prohibitedVersions.getVersions()) {
+			if (range.containsVersion(new DefaultArtifactVersion(dependencyVersion.toString()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private SortedSet<DependencyVersion> getLaterVersions(SortedSet<DependencyVersion> resolvedVersions,
+			BomVersion currentVersion) {
+		SortedSet<DependencyVersion> versions = new TreeSet<>(resolvedVersions);
+		versions.removeIf((candidate) -> !this.upgradePolicy.test(candidate, currentVersion.getVersion()));
+		return versions;
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import io.spring.bomr.upgrade.version.DependencyVersion;
+
+/**
+ * Non-interactive {@link UpgradeResolver} that selects the newest permitted version of
+ * each project that is available for all of the project's modules.
+ *
+ * @author Andy Wilkinson
+ */
+final class BatchUpgradeResolver extends AbstractUpgradeResolver {
+
+	BatchUpgradeResolver(VersionResolver versionResolver, UpgradePolicy upgradePolicy,
+			List<ProhibitedVersions> prohibitedVersions, ResolutionStrategy resolutionStrategy) {
+		super(versionResolver, upgradePolicy, prohibitedVersions, resolutionStrategy, null);
+	}
+
+	@Override
+	protected Upgrade selectUpgrade(ProjectVersions projectVersions) {
+		List<DependencyVersion> candidates = new ArrayList<>(projectVersions.getVersions());
+		candidates.sort(Comparator.reverseOrder());
+		for (DependencyVersion candidate : candidates) {
+			if (isAvailableForAllModules(projectVersions, candidate)) {
+				return new Upgrade(projectVersions.getProject(), candidate);
+			}
+		}
+		return null;
+	}
+
+	private boolean isAvailableForAllModules(ProjectVersions projectVersions, DependencyVersion version) {
+		return projectVersions.getMissingModules(version).isEmpty() && projectVersions.getUnresolvedModules()
+				.stream().allMatch((module) -> getVersionResolver().isAvailable(module, version));
+	}
+
+}
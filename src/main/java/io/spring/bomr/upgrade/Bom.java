@@ -17,26 +17,26 @@
 package io.spring.bomr.upgrade;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.spring.bomr.pom.PomModel;
+import io.spring.bomr.pom.PomModel.Dependency;
+import io.spring.bomr.pom.PomModel.Plugin;
+import io.spring.bomr.pom.PomReader;
 import io.spring.bomr.upgrade.BomVersions.BomVersion;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-
-import org.springframework.util.FileCopyUtils;
 
 /**
  * A Maven bom.
@@ -45,92 +45,166 @@ import org.springframework.util.FileCopyUtils;
  */
 final class Bom {
 
+	private static final Pattern PROPERTIES_PATTERN = Pattern.compile("<properties>(.*?)</properties>",
+			Pattern.DOTALL);
+
+	private static final Pattern PROPERTY_PATTERN = Pattern.compile("<([^\\s/>!?]+)>([^<]*)</\\1>");
+
 	private final File bomFile;
 
 	private final Map<ProjectName, Project> managedProjects;
 
+	private String content;
+
+	private Map<String, PropertyValue> propertyValues;
+
 	Bom(File bomFile) {
 		this.bomFile = bomFile;
-		Document bom = parseBom(bomFile);
-		this.managedProjects = extractManagedProjects(bom, new BomVersions(bom));
+		this.content = read(bomFile);
+		this.propertyValues = locatePropertyValues(this.content);
+		this.managedProjects = extractManagedProjects(PomReader.read(new StringReader(this.content)));
 	}
 
-	private Document parseBom(File bomFile) {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+	private String read(File bomFile) {
 		try {
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			return builder.parse(bomFile);
+			return new String(Files.readAllBytes(bomFile.toPath()), StandardCharsets.UTF_8);
 		}
-		catch (Exception ex) {
+		catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
 	}
 
-	private Map<ProjectName, Project> extractManagedProjects(Document bom, BomVersions versions) {
+	private Map<String, PropertyValue> locatePropertyValues(String content) {
+		Map<String, PropertyValue> propertyValues = new HashMap<>();
+		Matcher properties = PROPERTIES_PATTERN.matcher(content);
+		if (properties.find()) {
+			Matcher property = PROPERTY_PATTERN.matcher(content).region(properties.start(1), properties.end(1));
+			while (property.find()) {
+				propertyValues.put(property.group(1), new PropertyValue(property.start(2), property.end(2)));
+			}
+		}
+		return propertyValues;
+	}
+
+	private Map<ProjectName, Project> extractManagedProjects(PomModel bom) {
 		Map<ProjectName, Project> projects = new LinkedHashMap<>();
-		try {
-			collectProjects("/project/dependencyManagement/dependencies/dependency", projects, bom, versions);
-			collectProjects("/project/build/pluginManagement/plugins/plugin", projects, bom, versions);
+		BomVersions versions = new BomVersions(bom.getProperties());
+		for (Dependency dependency : bom.getManagedDependencies()) {
+			collectProject(bom, dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion(), projects,
+					versions);
 		}
-		catch (Exception ex) {
-			throw new RuntimeException(ex);
+		for (Plugin plugin : bom.getManagedPlugins()) {
+			collectProject(bom, plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion(), projects, versions);
 		}
 		return projects;
 	}
 
-	private void collectProjects(String managedExpression, Map<ProjectName, Project> projects, Document bom,
-			BomVersions versions) throws XPathExpressionException {
-		XPath xpath = XPathFactory.newInstance().newXPath();
-		String projectGroupId = xpath.evaluate("/project/groupId/text()", bom);
-		NodeList managedDependencies = (NodeList) xpath.evaluate(managedExpression, bom, XPathConstants.NODESET);
-		for (int i = 0; i < managedDependencies.getLength(); i++) {
-			Node managedDependency = managedDependencies.item(i);
-			String groupId = xpath.evaluate("groupId/text()", managedDependency);
-			if (!groupId.equals(projectGroupId)) {
-				BomVersion version = versions.resolve(xpath.evaluate("version/text()", managedDependency));
-				if (version != null) {
-					Project project = projects.computeIfAbsent(new ProjectName(version),
-							(projectName) -> new Project(projectName, version));
-					String artifactId = xpath.evaluate("artifactId/text()", managedDependency);
-					project.getModules().add(new Module(groupId, artifactId));
-				}
-			}
+	private void collectProject(PomModel bom, String groupId, String artifactId, String version,
+			Map<ProjectName, Project> projects, BomVersions versions) {
+		if (Objects.equals(groupId, bom.getGroupId()) || version == null) {
+			return;
+		}
+		BomVersion bomVersion = versions.resolve(version);
+		if (bomVersion != null) {
+			Project project = projects.computeIfAbsent(new ProjectName(bomVersion),
+					(projectName) -> new Project(projectName, bomVersion));
+			project.getModules().add(new Module(groupId, artifactId));
 		}
-
 	}
 
 	Map<ProjectName, Project> getManagedProjects() {
 		return Collections.unmodifiableMap(this.managedProjects);
 	}
 
+	File getFile() {
+		return this.bomFile;
+	}
+
+	/**
+	 * Returns the current, possibly upgraded, content of the bom.
+	 * @return the content
+	 */
+	String getContent() {
+		return this.content;
+	}
+
 	void applyUpgrade(Upgrade upgrade) {
-		String versionProperty = upgrade.getProject().getVersion().getProperty();
-		try {
-			String updatedBom = FileCopyUtils.copyToString(new FileReader(this.bomFile)).replaceAll(
-					"<" + versionProperty + ">.*</" + versionProperty + ">",
-					"<" + versionProperty + ">" + upgrade.getVersion() + "</" + versionProperty + ">");
-			FileCopyUtils.copy(updatedBom, new FileWriter(this.bomFile));
+		applyUpgrades(Collections.singletonList(upgrade));
+	}
+
+	/**
+	 * Applies the given {@code upgrades} to the bom in a single pass over its content and
+	 * then writes the bom once.
+	 * @param upgrades the upgrades to apply
+	 */
+	void applyUpgrades(Collection<Upgrade> upgrades) {
+		update(upgrades);
+		write();
+	}
+
+	/**
+	 * Applies the given {@code upgrades} to the in-memory content of the bom in a single
+	 * pass without writing the bom.
+	 * @param upgrades the upgrades to apply
+	 * @see #write()
+	 */
+	void update(Collection<Upgrade> upgrades) {
+		Map<PropertyValue, Upgrade> upgradesByPosition = new TreeMap<>();
+		for (Upgrade upgrade : upgrades) {
+			String versionProperty = upgrade.getProject().getVersion().getProperty();
+			PropertyValue propertyValue = this.propertyValues.get(versionProperty);
+			if (propertyValue == null) {
+				throw new IllegalStateException("Version property '" + versionProperty + "' not found in bom");
+			}
+			upgradesByPosition.put(propertyValue, upgrade);
 		}
-		catch (IOException ex) {
-			throw new RuntimeException(ex);
+		StringBuilder updated = new StringBuilder(this.content.length());
+		int position = 0;
+		for (Map.Entry<PropertyValue, Upgrade> entry : upgradesByPosition.entrySet()) {
+			updated.append(this.content, position, entry.getKey().start).append(entry.getValue().getVersion());
+			position = entry.getKey().end;
 		}
+		updated.append(this.content, position, this.content.length());
+		this.content = updated.toString();
+		this.propertyValues = locatePropertyValues(this.content);
 	}
 
-	void commit(String message) {
+	/**
+	 * Writes the current content of the bom to its file. The content is written to a
+	 * temporary file that is then atomically moved into place.
+	 */
+	void write() {
+		File tempFile = new File(this.bomFile.getAbsoluteFile().getParentFile(), "." + this.bomFile.getName() + ".tmp");
 		try {
-			if (new ProcessBuilder().command("git", "add", this.bomFile.getAbsolutePath()).start().waitFor() != 0) {
-				throw new IllegalStateException("git add failed");
-			}
-			if (new ProcessBuilder().command("git", "commit", "-m", message).start().waitFor() != 0) {
-				throw new IllegalStateException("git commit failed");
-			}
-		}
-		catch (InterruptedException ex) {
-			Thread.currentThread().interrupt();
+			Files.write(tempFile.toPath(), this.content.getBytes(StandardCharsets.UTF_8));
+			Files.move(tempFile.toPath(), this.bomFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
 		}
 		catch (IOException ex) {
+			tempFile.delete();
 			throw new RuntimeException(ex);
 		}
 	}
 
+	/**
+	 * The location of a property's value in the content of the bom.
+	 */
+	private static final class PropertyValue implements Comparable<PropertyValue> {
+
+		private final int start;
+
+		private final int end;
+
+		private PropertyValue(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int compareTo(PropertyValue other) {
+			return Integer.compare(this.start, other.start);
+		}
+
+	}
+
 }
@@ -18,15 +18,27 @@ package io.spring.bomr.upgrade;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 import io.spring.bomr.github.GitHub;
 import io.spring.bomr.github.GitHubRepository;
 import io.spring.bomr.github.Milestone;
 
 /**
- * Handles the process of upgrading the versions of the dependencies managed by a bom.
+ * Handles the process of upgrading the versions of the dependencies managed by a bom. The
+ * issues for the upgrades are opened in the background while the bom is updated and each
+ * upgrade is committed once its issue has been opened. If an upgrade cannot be applied,
+ * the opening of the remaining upgrades' issues is cancelled. An upgrade that already has
+ * an issue, for example because an earlier run was interrupted, reuses that issue rather
+ * than opening a duplicate. The progress of an upgrade is recorded in an
+ * {@link UpgradeJournal} so that an interrupted upgrade can be resumed.
  *
  * @author Andy Wilkinson
  */
@@ -34,21 +46,18 @@ final class BomUpgrader {
 
 	private final GitHub gitHub;
 
-	private final VersionResolver versionResolver;
+	private final UpgradeResolver upgradeResolver;
 
-	private final UpgradePolicy upgradePolicy;
+	private final Committer committer;
 
-	private final List<ProhibitedVersions> prohibitedVersions;
-
-	BomUpgrader(GitHub gitHub, VersionResolver versionResolver, UpgradePolicy upgradePolicy,
-			List<ProhibitedVersions> prohibitedVersions) {
+	BomUpgrader(GitHub gitHub, UpgradeResolver upgradeResolver, Committer committer) {
 		this.gitHub = gitHub;
-		this.versionResolver = versionResolver;
-		this.upgradePolicy = upgradePolicy;
-		this.prohibitedVersions = prohibitedVersions;
+		this.upgradeResolver = upgradeResolver;
+		this.committer = committer;
 	}
 
-	void upgrade(File bomFile, String organization, String repositoryName, List<String> labels, String milestoneName) {
+	void upgrade(File bomFile, String organization, String repositoryName, List<String> labels, String milestoneName,
+			UpgradeJournal journal) {
 		GitHubRepository repository = this.gitHub.getRepository(organization, repositoryName);
 		List<String> availableLabels = repository.getLabels();
 		if (!availableLabels.containsAll(labels)) {
@@ -59,9 +68,43 @@ final class BomUpgrader {
 		}
 		Milestone milestone = determineMilestone(repository, milestoneName);
 		Bom bom = new Bom(bomFile);
-		List<Upgrade> upgrades = new InteractiveUpgradeResolver(this.versionResolver, this.upgradePolicy,
-				this.prohibitedVersions).resolveUpgrades(bom.getManagedProjects().values());
-		upgrades.forEach((upgrade) -> applyUpgrade(upgrade, bom, repository, labels, milestone));
+		List<Upgrade> upgrades = this.upgradeResolver.resolveUpgrades(bom.getManagedProjects().values());
+		List<String> descriptions = upgrades.stream().map(this::describe).collect(Collectors.toList());
+		List<CompletableFuture<Integer>> issueNumbers = openIssues(repository, upgrades, labels, milestone, journal);
+		int applied = 0;
+		try (Committer.Session session = this.committer.begin(bom)) {
+			for (; applied < upgrades.size(); applied++) {
+				int issueNumber;
+				try {
+					issueNumber = issueNumbers.get(applied).join();
+				}
+				catch (CompletionException ex) {
+					System.err.println("Failed to open issue '" + descriptions.get(applied) + "': "
+							+ ex.getCause().getMessage());
+					System.err.println("Applied " + applied + " of " + upgrades.size() + " upgrades");
+					System.err.println("Run 'bomr upgrade --resume' to apply the remaining upgrades");
+					break;
+				}
+				journal.recordIssue(upgrades.get(applied), issueNumber);
+				bom.update(Collections.singletonList(upgrades.get(applied)));
+				session.commit(descriptions.get(applied) + "\n\nCloses gh-" + issueNumber);
+			}
+		}
+		finally {
+			issueNumbers.subList(applied, issueNumbers.size()).forEach((issueNumber) -> issueNumber.cancel(false));
+		}
+		if (applied == upgrades.size()) {
+			journal.complete();
+		}
+	}
+
+	void plan(File bomFile, File planFile) {
+		Bom bom = new Bom(bomFile);
+		List<Upgrade> upgrades = this.upgradeResolver.resolveUpgrades(bom.getManagedProjects().values());
+		UpgradePlan.of(upgrades).write(planFile);
+		upgrades.forEach((upgrade) -> System.out.println(upgrade.getProject().getName() + " "
+				+ upgrade.getProject().getVersion().getVersion() + " -> " + upgrade.getVersion()));
+		System.out.println("Wrote plan of " + upgrades.size() + " upgrades to " + planFile.getPath());
 	}
 
 	private Milestone determineMilestone(GitHubRepository repository, String milestoneName) {
@@ -78,12 +121,37 @@ final class BomUpgrader {
 		return matchingMilestone.get();
 	}
 
-	private void applyUpgrade(Upgrade upgrade, Bom bom, GitHubRepository repository, List<String> labels,
-			Milestone milestone) {
-		String description = "Upgrade to " + upgrade.getProject().getName() + " " + upgrade.getVersion();
-		int issueNumber = repository.openIssue(description, labels, milestone);
-		bom.applyUpgrade(upgrade);
-		bom.commit(description + "\n\nCloses gh-" + issueNumber);
+	private List<CompletableFuture<Integer>> openIssues(GitHubRepository repository, List<Upgrade> upgrades,
+			List<String> labels, Milestone milestone, UpgradeJournal journal) {
+		List<Upgrade> upgradesWithoutIssues = upgrades.stream().filter((upgrade) -> journal.getIssue(upgrade) == null)
+				.collect(Collectors.toList());
+		Map<String, Integer> existingIssues = upgradesWithoutIssues.isEmpty() ? Collections.emptyMap()
+				: repository.getIssues(labels);
+		List<Upgrade> newUpgrades = upgradesWithoutIssues.stream()
+				.filter((upgrade) -> !existingIssues.containsKey(describe(upgrade))).collect(Collectors.toList());
+		Iterator<CompletableFuture<Integer>> newIssueNumbers = repository
+				.openIssues(newUpgrades.stream().map(this::describe).collect(Collectors.toList()), labels, milestone)
+				.iterator();
+		List<CompletableFuture<Integer>> issueNumbers = new ArrayList<>();
+		for (Upgrade upgrade : upgrades) {
+			Integer journaledIssue = journal.getIssue(upgrade);
+			Integer existingIssue = existingIssues.get(describe(upgrade));
+			if (journaledIssue != null) {
+				issueNumbers.add(CompletableFuture.completedFuture(journaledIssue));
+			}
+			else if (existingIssue != null) {
+				System.out.println("Using existing issue gh-" + existingIssue + " for '" + describe(upgrade) + "'");
+				issueNumbers.add(CompletableFuture.completedFuture(existingIssue));
+			}
+			else {
+				issueNumbers.add(newIssueNumbers.next());
+			}
+		}
+		return issueNumbers;
+	}
+
+	private String describe(Upgrade upgrade) {
+		return "Upgrade to " + upgrade.getProject().getName() + " " + upgrade.getVersion();
 	}
 
 }
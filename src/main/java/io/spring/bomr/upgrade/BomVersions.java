@@ -16,16 +16,9 @@
 
 package io.spring.bomr.upgrade;
 
-import java.util.HashMap;
 import java.util.Map;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
-
 import io.spring.bomr.upgrade.version.DependencyVersion;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * The versions declared in the <code>&lt;properties&gt;</code> section of a bom.
@@ -34,20 +27,10 @@ import org.w3c.dom.NodeList;
  */
 final class BomVersions {
 
-	private Map<String, String> versions = new HashMap<>();
+	private final Map<String, String> versions;
 
-	BomVersions(Document bom) {
-		try {
-			NodeList propertyNodes = (NodeList) XPathFactory.newInstance().newXPath().evaluate("/project/properties/*",
-					bom, XPathConstants.NODESET);
-			for (int i = 0; i < propertyNodes.getLength(); i++) {
-				Node propertyNode = propertyNodes.item(i);
-				this.versions.put(propertyNode.getNodeName(), propertyNode.getTextContent());
-			}
-		}
-		catch (Exception ex) {
-			throw new RuntimeException(ex);
-		}
+	BomVersions(Map<String, String> properties) {
+		this.versions = properties;
 	}
 
 	BomVersion resolve(String requested) {
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.Closeable;
+
+/**
+ * Commits the changes that are made to a {@link Bom} when it is upgraded.
+ *
+ * @author Andy Wilkinson
+ */
+interface Committer {
+
+	/**
+	 * Begins a session in which one or more changes to the given {@code bom} can be
+	 * committed.
+	 * @param bom the bom
+	 * @return the session
+	 */
+	Session begin(Bom bom);
+
+	/**
+	 * A session in which a chain of changes to a bom is committed. Closing the session
+	 * ensures that all of the commits are visible in the repository and that the bom on
+	 * disk reflects the last commit.
+	 */
+	interface Session extends Closeable {
+
+		/**
+		 * Commits the current content of the bom.
+		 * @param message the commit message
+		 */
+		void commit(String message);
+
+		@Override
+		void close();
+
+	}
+
+}
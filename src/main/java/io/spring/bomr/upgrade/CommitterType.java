@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.function.Supplier;
+
+/**
+ * The types of {@link Committer} that can be used to commit upgrades.
+ *
+ * @author Andy Wilkinson
+ */
+public enum CommitterType {
+
+	/**
+	 * Upgrades are committed by running the {@code git} command. Any hooks that are
+	 * configured in the repository are run.
+	 */
+	GIT(ProcessCommitter::new),
+
+	/**
+	 * Upgrades are committed in-process by writing directly to the repository's object
+	 * database. The repository's ref is updated once all upgrades have been committed.
+	 * Hooks are not run.
+	 */
+	JGIT(JGitCommitter::new);
+
+	private final Supplier<Committer> factory;
+
+	CommitterType(Supplier<Committer> factory) {
+		this.factory = factory;
+	}
+
+	Committer createCommitter() {
+		return this.factory.get();
+	}
+
+}
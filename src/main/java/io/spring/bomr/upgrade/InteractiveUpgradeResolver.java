@@ -16,67 +16,40 @@
 
 package io.spring.bomr.upgrade;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.SortedSet;
 import java.util.function.BiConsumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import io.spring.bomr.upgrade.BomVersions.BomVersion;
 import io.spring.bomr.upgrade.version.DependencyVersion;
-import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
-import org.apache.maven.artifact.versioning.VersionRange;
 
 import org.springframework.util.StringUtils;
 
 /**
  * Interactive {@link UpgradeResolver} that uses command line input to choose the upgrades
- * to apply.
+ * to apply. The available versions are resolved according to a
+ * {@link ResolutionStrategy}. Modules whose versions were not resolved are checked once a
+ * version has been selected.
  *
  * @author Andy Wilkinson
  */
-final class InteractiveUpgradeResolver implements UpgradeResolver {
-
-	private final VersionResolver versionResolver;
-
-	private final UpgradePolicy upgradePolicy;
-
-	private final Map<String, ProhibitedVersions> prohibitedVersions;
+final class InteractiveUpgradeResolver extends AbstractUpgradeResolver {
 
 	InteractiveUpgradeResolver(VersionResolver versionResolver, UpgradePolicy upgradePolicy,
-			List<ProhibitedVersions> prohibitedVersions) {
-		this.versionResolver = versionResolver;
-		this.upgradePolicy = upgradePolicy;
-		this.prohibitedVersions = prohibitedVersions.stream()
-				.collect(Collectors.toMap(ProhibitedVersions::getProject, Function.identity()));
+			List<ProhibitedVersions> prohibitedVersions, ResolutionStrategy resolutionStrategy,
+			UpgradeJournal journal) {
+		super(versionResolver, upgradePolicy, prohibitedVersions, resolutionStrategy, journal);
 	}
 
 	@Override
-	public List<Upgrade> resolveUpgrades(Collection<Project> projects) {
-		return projects.stream().map(this::resolveUpgrade).filter((upgrade) -> upgrade != null)
-				.collect(Collectors.toList());
-	}
-
-	private Upgrade resolveUpgrade(Project project) {
-		Map<String, SortedSet<DependencyVersion>> moduleVersions = new LinkedHashMap<>();
-		ProhibitedVersions prohibitedVersions = this.prohibitedVersions.get(project.getName().getRawName());
-		project.getModules().forEach((module) -> moduleVersions.put(module.getArtifactId(),
-				getLaterVersionsForModule(module, project.getVersion())));
-		List<DependencyVersion> allVersions = moduleVersions.values().stream().flatMap(SortedSet::stream).distinct()
-				.filter((dependencyVersion) -> isPermitted(dependencyVersion, prohibitedVersions))
-				.collect(Collectors.toList());
-		if (allVersions.isEmpty()) {
-			return null;
-		}
+	protected Upgrade selectUpgrade(ProjectVersions projectVersions) {
+		Project project = projectVersions.getProject();
+		List<DependencyVersion> allVersions = projectVersions.getVersions();
 		System.out.println();
 		System.out.println(project.getName() + " " + project.getVersion().getVersion());
 		System.out.println();
 		forEachWithIndex(allVersions, (index, version) -> {
-			List<String> missingModules = getMissingModules(moduleVersions, version);
+			List<String> missingModules = artifactIds(projectVersions.getMissingModules(version));
 			System.out.print("    " + (index + 1) + ". " + version);
 			if (!missingModules.isEmpty()) {
 				System.out.print(" (Some modules are missing: "
@@ -85,41 +58,31 @@ final class InteractiveUpgradeResolver implements UpgradeResolver {
 			System.out.println();
 		});
 		System.out.println();
-		String read = System.console().readLine("Please select a version: ");
-		if (!StringUtils.hasText(read)) {
-			return null;
+		while (true) {
+			String read = System.console().readLine("Please select a version: ");
+			if (!StringUtils.hasText(read)) {
+				return null;
+			}
+			DependencyVersion selected = allVersions.get(Integer.parseInt(read) - 1);
+			if (confirmUnresolvedModules(projectVersions.getUnresolvedModules(), selected)) {
+				return new Upgrade(project, selected);
+			}
 		}
-		int selection = Integer.parseInt(read);
-		return new Upgrade(project, allVersions.get(selection - 1));
 	}
 
-	private boolean isPermitted(DependencyVersion dependencyVersion, ProhibitedVersions prohibitedVersions) {
-		if (prohibitedVersions == null) {
+	private boolean confirmUnresolvedModules(List<Module> unresolvedModules, DependencyVersion version) {
+		List<String> missingModules = artifactIds(unresolvedModules.stream()
+				.filter((module) -> !getVersionResolver().isAvailable(module, version)).collect(Collectors.toList()));
+		if (missingModules.isEmpty()) {
 			return true;
 		}
-		for (VersionRange range : prohibitedVersions.getVersions()) {
-			if (range.containsVersion(new DefaultArtifactVersion(dependencyVersion.toString()))) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private List<String> getMissingModules(Map<String, SortedSet<DependencyVersion>> moduleVersions,
-			DependencyVersion version) {
-		List<String> missingModules = new ArrayList<>();
-		moduleVersions.forEach((name, versions) -> {
-			if (!versions.contains(version)) {
-				missingModules.add(name);
-			}
-		});
-		return missingModules;
+		String read = System.console().readLine("Some modules are missing from " + version + ": "
+				+ StringUtils.collectionToDelimitedString(missingModules, ", ") + ". Upgrade anyway? [y/N] ");
+		return "y".equalsIgnoreCase(StringUtils.trimWhitespace(read));
 	}
 
-	private SortedSet<DependencyVersion> getLaterVersionsForModule(Module module, BomVersion currentVersion) {
-		SortedSet<DependencyVersion> versions = this.versionResolver.resolveVersions(module);
-		versions.removeIf((candidate) -> !this.upgradePolicy.test(candidate, currentVersion.getVersion()));
-		return versions;
+	private List<String> artifactIds(List<Module> modules) {
+		return modules.stream().map(Module::getArtifactId).collect(Collectors.toList());
 	}
 
 	private <T> void forEachWithIndex(Collection<T> collection, BiConsumer<Integer, T> consumer) {
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEditor;
+import org.eclipse.jgit.dircache.DirCacheEditor.PathEdit;
+import org.eclipse.jgit.dircache.DirCacheEntry;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.RefUpdate.Result;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+
+/**
+ * A {@link Committer} that uses JGit to commit changes in-process. Each commit's blob,
+ * tree, and commit objects are written directly to the repository's object database. The
+ * tree of {@code HEAD} is read once when the session begins and each commit then edits
+ * only the bom's entry. The bom on disk, the index, and, lastly, the current branch are
+ * updated once when the session is closed.
+ *
+ * @author Andy Wilkinson
+ */
+final class JGitCommitter implements Committer {
+
+	@Override
+	public Session begin(Bom bom) {
+		try {
+			return new JGitSession(bom);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static final class JGitSession implements Session {
+
+		private final Bom bom;
+
+		private final Repository repository;
+
+		private final String path;
+
+		private final ObjectInserter inserter;
+
+		private final ObjectId head;
+
+		private final DirCache tree;
+
+		private ObjectId tip;
+
+		private ObjectId blob;
+
+		private JGitSession(Bom bom) throws IOException {
+			this.bom = bom;
+			File bomFile = bom.getFile().getCanonicalFile();
+			this.repository = new FileRepositoryBuilder().readEnvironment().findGitDir(bomFile).setMustExist(true)
+					.build();
+			this.path = this.repository.getWorkTree().getCanonicalFile().toPath().relativize(bomFile.toPath())
+					.toString().replace(File.separatorChar, '/');
+			this.inserter = this.repository.newObjectInserter();
+			this.head = this.repository.resolve(Constants.HEAD);
+			if (this.head == null) {
+				throw new IllegalStateException("Repository '" + this.repository.getDirectory() + "' has no commits");
+			}
+			this.tip = this.head;
+			this.tree = DirCache.newInCore();
+			DirCacheBuilder builder = this.tree.builder();
+			try (RevWalk walk = new RevWalk(this.repository); ObjectReader reader = this.repository.newObjectReader()) {
+				builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, walk.parseCommit(this.head).getTree());
+			}
+			builder.finish();
+		}
+
+		@Override
+		public void commit(String message) {
+			try {
+				this.blob = this.inserter.insert(Constants.OBJ_BLOB,
+						this.bom.getContent().getBytes(StandardCharsets.UTF_8));
+				DirCacheEditor editor = this.tree.editor();
+				editor.add(new BlobEdit(this.path, this.blob, 0, Instant.EPOCH));
+				editor.finish();
+				CommitBuilder commit = new CommitBuilder();
+				PersonIdent ident = new PersonIdent(this.repository);
+				commit.setAuthor(ident);
+				commit.setCommitter(ident);
+				commit.setTreeId(this.tree.writeTree(this.inserter));
+				commit.setParentId(this.tip);
+				commit.setMessage(message);
+				this.tip = this.inserter.insert(commit);
+				this.inserter.flush();
+			}
+			catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		@Override
+		public void close() {
+			try {
+				if (!this.tip.equals(this.head)) {
+					this.bom.write();
+					updateIndex();
+					updateHead();
+				}
+			}
+			catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+			finally {
+				this.inserter.close();
+				this.repository.close();
+			}
+		}
+
+		private void updateHead() throws IOException {
+			RefUpdate update = this.repository.updateRef(Constants.HEAD);
+			update.setNewObjectId(this.tip);
+			update.setExpectedOldObjectId(this.head);
+			update.setRefLogMessage("commit: upgrade dependencies", false);
+			Result result = update.update();
+			if (result != Result.FAST_FORWARD && result != Result.NEW) {
+				throw new IllegalStateException("Failed to update HEAD to " + this.tip.name() + ": " + result);
+			}
+		}
+
+		private void updateIndex() throws IOException {
+			File bomFile = this.bom.getFile();
+			DirCache index = this.repository.lockDirCache();
+			try {
+				DirCacheEditor editor = index.editor();
+				editor.add(new BlobEdit(this.path, this.blob, bomFile.length(),
+						Files.getLastModifiedTime(bomFile.toPath()).toInstant()));
+				editor.commit();
+			}
+			finally {
+				index.unlock();
+			}
+		}
+
+	}
+
+	private static final class BlobEdit extends PathEdit {
+
+		private final ObjectId blob;
+
+		private final long length;
+
+		private final Instant lastModified;
+
+		private BlobEdit(String path, ObjectId blob, long length, Instant lastModified) {
+			super(path);
+			this.blob = blob;
+			this.length = length;
+			this.lastModified = lastModified;
+		}
+
+		@Override
+		public void apply(DirCacheEntry entry) {
+			if (entry.getRawMode() == 0) {
+				entry.setFileMode(FileMode.REGULAR_FILE);
+			}
+			entry.setObjectId(this.blob);
+			entry.setLength(this.length);
+			entry.setLastModified(this.lastModified);
+		}
+
+	}
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A local, on-disk cache of the versions listed in the {@code maven-metadata.xml} of a
+ * {@link Module} in a repository. Each entry records the {@code ETag} and
+ * {@code Last-Modified} headers of the response from which it was created so that it can
+ * be revalidated using a conditional request.
+ *
+ * @author Andy Wilkinson
+ */
+final class MavenMetadataCache {
+
+	private final File directory;
+
+	private final Duration timeToLive;
+
+	private final boolean offline;
+
+	/**
+	 * Creates a new cache that stores its entries beneath the given {@code directory}.
+	 * @param directory the root directory of the cache
+	 * @param timeToLive the time for which an entry is used without being revalidated
+	 * @param offline whether entries should always be used, irrespective of their age
+	 */
+	MavenMetadataCache(File directory, Duration timeToLive, boolean offline) {
+		this.directory = directory;
+		this.timeToLive = timeToLive;
+		this.offline = offline;
+	}
+
+	boolean isOffline() {
+		return this.offline;
+	}
+
+	/**
+	 * Returns whether the given {@code entry} can be used without being revalidated.
+	 * @param entry the entry
+	 * @return {@code true} if the entry can be used as-is, otherwise {@code false}
+	 */
+	boolean isFresh(Entry entry) {
+		return this.offline || System.currentTimeMillis() - entry.retrieved < this.timeToLive.toMillis();
+	}
+
+	/**
+	 * Returns the cached entry for the given {@code module} in the repository with the
+	 * given {@code repositoryUrl}.
+	 * @param repositoryUrl the url of the repository
+	 * @param module the module
+	 * @return the entry or {@code null} if the module has not been cached
+	 */
+	Entry get(String repositoryUrl, Module module) {
+		File entryFile = entryFile(repositoryUrl, module);
+		if (!entryFile.isFile()) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (Reader reader = new FileReader(entryFile)) {
+			properties.load(reader);
+			return new Entry(
+					new LinkedHashSet<>(
+							StringUtils.commaDelimitedListToSet(properties.getProperty("versions", ""))),
+					properties.getProperty("etag"), properties.getProperty("last-modified"),
+					Long.parseLong(properties.getProperty("retrieved", "0")));
+		}
+		catch (IOException | NumberFormatException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the given {@code entry} for the given {@code module} in the repository with
+	 * the given {@code repositoryUrl}.
+	 * @param repositoryUrl the url of the repository
+	 * @param module the module
+	 * @param entry the entry
+	 */
+	void put(String repositoryUrl, Module module, Entry entry) {
+		Properties properties = new Properties();
+		properties.setProperty("versions", StringUtils.collectionToCommaDelimitedString(entry.versions));
+		if (entry.etag != null) {
+			properties.setProperty("etag", entry.etag);
+		}
+		if (entry.lastModified != null) {
+			properties.setProperty("last-modified", entry.lastModified);
+		}
+		properties.setProperty("retrieved", Long.toString(entry.retrieved));
+		File entryFile = entryFile(repositoryUrl, module);
+		try {
+			entryFile.getParentFile().mkdirs();
+			File tempFile = File.createTempFile(module.getArtifactId(), ".tmp", entryFile.getParentFile());
+			try (Writer writer = new FileWriter(tempFile)) {
+				properties.store(writer, null);
+			}
+			Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			System.err.println("Failed to cache metadata for module " + module + " in repository " + repositoryUrl
+					+ ": " + ex.getMessage());
+		}
+	}
+
+	private File entryFile(String repositoryUrl, Module module) {
+		String repository = repositoryUrl.replaceFirst("^[a-zA-Z]+://", "").replaceAll("/+$", "")
+				.replaceAll("[^A-Za-z0-9.\\-]", "_");
+		return new File(this.directory,
+				repository + "/" + module.getGroupId() + "/" + module.getArtifactId() + ".properties");
+	}
+
+	/**
+	 * An entry in the cache.
+	 */
+	static final class Entry {
+
+		private final Set<String> versions;
+
+		private final String etag;
+
+		private final String lastModified;
+
+		private final long retrieved;
+
+		Entry(Set<String> versions, String etag, String lastModified) {
+			this(versions, etag, lastModified, System.currentTimeMillis());
+		}
+
+		private Entry(Set<String> versions, String etag, String lastModified, long retrieved) {
+			this.versions = Collections.unmodifiableSet(versions);
+			this.etag = etag;
+			this.lastModified = lastModified;
+			this.retrieved = retrieved;
+		}
+
+		Set<String> getVersions() {
+			return this.versions;
+		}
+
+		String getEtag() {
+			return this.etag;
+		}
+
+		String getLastModified() {
+			return this.lastModified;
+		}
+
+		/**
+		 * Returns a copy of this entry that records that it has just been revalidated.
+		 * @return the revalidated entry
+		 */
+		Entry revalidated() {
+			return new Entry(this.versions, this.etag, this.lastModified);
+		}
+
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the versions listed in a {@code maven-metadata.xml} file. The metadata is read
+ * in a single streaming pass without building a document in memory.
+ *
+ * @author Andy Wilkinson
+ */
+final class MavenMetadataReader {
+
+	private static final XMLInputFactory inputFactory = createInputFactory();
+
+	private MavenMetadataReader() {
+
+	}
+
+	/**
+	 * Reads the versions from the {@code <metadata><versioning><versions>} element of the
+	 * given {@code metadata}.
+	 * @param metadata the metadata to read
+	 * @return the versions, in the order in which they are listed
+	 * @throws XMLStreamException if the metadata cannot be read
+	 */
+	static Set<String> readVersions(InputStream metadata) throws XMLStreamException {
+		Set<String> versions = new LinkedHashSet<>();
+		XMLStreamReader reader = inputFactory.createXMLStreamReader(metadata);
+		try {
+			int depth = 0;
+			boolean inVersions = false;
+			while (reader.hasNext()) {
+				int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					depth++;
+					String name = reader.getLocalName();
+					if (inVersions && depth == 4 && "version".equals(name)) {
+						versions.add(reader.getElementText());
+						depth--;
+					}
+					else if (depth == 3 && "versions".equals(name)) {
+						inVersions = true;
+					}
+				}
+				else if (event == XMLStreamConstants.END_ELEMENT) {
+					if (depth == 3) {
+						inVersions = false;
+					}
+					depth--;
+				}
+			}
+		}
+		finally {
+			reader.close();
+		}
+		return versions;
+	}
+
+	private static XMLInputFactory createInputFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		return factory;
+	}
+
+}
@@ -16,46 +16,74 @@
 
 package io.spring.bomr.upgrade;
 
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLStreamException;
 
 import io.spring.bomr.upgrade.version.DependencyVersion;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 /**
  * A {@link VersionResolver} that examines {@code maven-metadata.xml} to determine the
- * available versions.
+ * available versions. Metadata is read using a {@link MavenMetadataReader streaming
+ * reader} directly from the response. When resolving the versions of multiple modules,
+ * the metadata of each module in each repository is retrieved concurrently with the
+ * number of concurrent requests to any one host being limited. If a
+ * {@link MavenMetadataCache cache} is configured, cached metadata is revalidated using
+ * conditional requests and, when fresh, is used without making any requests at all.
  *
  * @author Andy Wilkinson
  */
 final class MavenMetadataVersionResolver implements VersionResolver {
 
+	private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
 	private final RestTemplate rest;
 
 	private final List<String> repositoryUrls;
 
-	MavenMetadataVersionResolver(List<String> repositoryUrls) {
-		this(new RestTemplate(), repositoryUrls);
-	}
+	private final int threads;
+
+	private final int maxRequestsPerHost;
+
+	private final MavenMetadataCache cache;
 
 	MavenMetadataVersionResolver(RestTemplate restTemplate, List<String> repositoryUrls) {
+		this(restTemplate, repositoryUrls, 1, 1, null);
+	}
+
+	MavenMetadataVersionResolver(RestTemplate restTemplate, List<String> repositoryUrls, int threads,
+			int maxRequestsPerHost, MavenMetadataCache cache) {
 		this.rest = restTemplate;
 		this.repositoryUrls = repositoryUrls;
+		this.threads = threads;
+		this.maxRequestsPerHost = maxRequestsPerHost;
+		this.cache = cache;
 	}
 
 	@Override
@@ -64,25 +92,145 @@ final class MavenMetadataVersionResolver implements VersionResolver {
 		for (String repositoryUrl : this.repositoryUrls) {
 			versions.addAll(resolveVersions(module, repositoryUrl));
 		}
+		return toDependencyVersions(versions);
+	}
+
+	@Override
+	public Map<Module, SortedSet<DependencyVersion>> resolveVersions(Collection<Module> modules) {
+		if (this.threads < 2) {
+			return VersionResolver.super.resolveVersions(modules);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			Map<Module, List<Future<Set<String>>>> pending = new LinkedHashMap<>();
+			for (Module module : modules) {
+				pending.computeIfAbsent(module, (key) -> submitResolution(executor, key));
+			}
+			Map<Module, SortedSet<DependencyVersion>> resolved = new LinkedHashMap<>();
+			for (Map.Entry<Module, List<Future<Set<String>>>> entry : pending.entrySet()) {
+				Set<String> versions = new HashSet<>();
+				for (Future<Set<String>> repositoryVersions : entry.getValue()) {
+					versions.addAll(repositoryVersions.get());
+				}
+				resolved.put(entry.getKey(), toDependencyVersions(versions));
+			}
+			return resolved;
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while resolving versions", ex);
+		}
+		catch (ExecutionException ex) {
+			throw new RuntimeException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<Future<Set<String>>> submitResolution(ExecutorService executor, Module module) {
+		List<Future<Set<String>>> futures = new ArrayList<>();
+		for (String repositoryUrl : this.repositoryUrls) {
+			futures.add(executor.submit(() -> resolveVersionsWithHostLimit(module, repositoryUrl)));
+		}
+		return futures;
+	}
+
+	private Set<String> resolveVersionsWithHostLimit(Module module, String repositoryUrl)
+			throws InterruptedException {
+		Semaphore permits = this.hostPermits.computeIfAbsent(URI.create(repositoryUrl).getHost(),
+				(host) -> new Semaphore(this.maxRequestsPerHost));
+		permits.acquire();
+		try {
+			return resolveVersions(module, repositoryUrl);
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	private SortedSet<DependencyVersion> toDependencyVersions(Set<String> versions) {
 		return new TreeSet<>(versions.stream().map(DependencyVersion::parse).collect(Collectors.toSet()));
 	}
 
+	/**
+	 * Returns whether the given {@code version} of the given {@code module} is available.
+	 * Cached metadata is used if available. Otherwise, a {@code HEAD} request for the
+	 * module's pom is made to each repository until one finds it. When offline, a
+	 * repository for which no metadata has been cached is skipped.
+	 * @param module the module
+	 * @param version the version
+	 * @return {@code true} if the version is available, otherwise {@code false}
+	 */
+	@Override
+	public boolean isAvailable(Module module, DependencyVersion version) {
+		for (String repositoryUrl : this.repositoryUrls) {
+			MavenMetadataCache.Entry cached = (this.cache != null) ? this.cache.get(repositoryUrl, module) : null;
+			if (cached != null && this.cache.isFresh(cached)) {
+				if (cached.getVersions().contains(version.toString())) {
+					return true;
+				}
+			}
+			else if (this.cache != null && this.cache.isOffline()) {
+				continue;
+			}
+			else if (pomExists(module, version, repositoryUrl)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean pomExists(Module module, DependencyVersion version, String repositoryUrl) {
+		String url = repositoryUrl + "/" + module.getGroupId().replace('.', '/') + "/" + module.getArtifactId()
+				+ "/" + version + "/" + module.getArtifactId() + "-" + version + ".pom";
+		try {
+			this.rest.headForHeaders(url);
+			return true;
+		}
+		catch (HttpClientErrorException ex) {
+			if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
+				System.err.println("Failed to check for " + module + " " + version + " at " + url + ": "
+						+ ex.getMessage());
+			}
+			return false;
+		}
+		catch (Exception ex) {
+			System.err.println("Failed to check for " + module + " " + version + " in repository " + repositoryUrl
+					+ ": " + ex.getMessage());
+			return false;
+		}
+	}
+
 	private Set<String> resolveVersions(Module module, String repositoryUrl) {
+		MavenMetadataCache.Entry cached = (this.cache != null) ? this.cache.get(repositoryUrl, module) : null;
+		if (cached != null && this.cache.isFresh(cached)) {
+			return cached.getVersions();
+		}
+		if (this.cache != null && this.cache.isOffline()) {
+			return Collections.emptySet();
+		}
 		Set<String> versions = new HashSet<String>();
 		String url = repositoryUrl + "/" + module.getGroupId().replace('.', '/') + "/" + module.getArtifactId()
 				+ "/maven-metadata.xml";
 		try {
-			String metadata = this.rest.getForObject(url, String.class);
-			Document metadataDocument = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-					.parse(new InputSource(new StringReader(metadata)));
-			NodeList versionNodes = (NodeList) XPathFactory.newInstance().newXPath()
-					.evaluate("/metadata/versioning/versions/version", metadataDocument, XPathConstants.NODESET);
-			for (int i = 0; i < versionNodes.getLength(); i++) {
-				versions.add(versionNodes.item(i).getTextContent());
+			HttpHeaders requestHeaders = conditionalRequestHeaders(cached);
+			MavenMetadataCache.Entry retrieved = this.rest.execute(url, HttpMethod.GET,
+					(request) -> request.getHeaders().putAll(requestHeaders), this::readMetadata);
+			if (retrieved == null && cached != null) {
+				this.cache.put(repositoryUrl, module, cached.revalidated());
+				return cached.getVersions();
+			}
+			if (retrieved != null) {
+				versions.addAll(retrieved.getVersions());
+				cache(repositoryUrl, module, retrieved);
 			}
 		}
 		catch (HttpClientErrorException ex) {
-			if (ex.getStatusCode() != HttpStatus.NOT_FOUND) {
+			if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
+				cache(repositoryUrl, module, new MavenMetadataCache.Entry(versions, null, null));
+			}
+			else {
 				System.err.println("Failed to download maven-metadata.xml for " + module + " from " + url + ": "
 						+ ex.getMessage());
 			}
@@ -94,4 +242,36 @@ final class MavenMetadataVersionResolver implements VersionResolver {
 		return versions;
 	}
 
+	private MavenMetadataCache.Entry readMetadata(ClientHttpResponse response) throws IOException {
+		if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+			return null;
+		}
+		try (InputStream body = response.getBody()) {
+			return new MavenMetadataCache.Entry(MavenMetadataReader.readVersions(body),
+					response.getHeaders().getETag(), response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED));
+		}
+		catch (XMLStreamException ex) {
+			throw new IOException("Invalid maven-metadata.xml", ex);
+		}
+	}
+
+	private HttpHeaders conditionalRequestHeaders(MavenMetadataCache.Entry cached) {
+		HttpHeaders headers = new HttpHeaders();
+		if (cached != null) {
+			if (cached.getEtag() != null) {
+				headers.setIfNoneMatch(cached.getEtag());
+			}
+			if (cached.getLastModified() != null) {
+				headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.getLastModified());
+			}
+		}
+		return headers;
+	}
+
+	private void cache(String repositoryUrl, Module module, MavenMetadataCache.Entry entry) {
+		if (this.cache != null) {
+			this.cache.put(repositoryUrl, module, entry);
+		}
+	}
+
 }
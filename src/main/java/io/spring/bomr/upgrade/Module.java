@@ -40,6 +40,26 @@ final class Module {
 		return this.artifactId;
 	}
 
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null) {
+			return false;
+		}
+		if (getClass() != obj.getClass()) {
+			return false;
+		}
+		Module other = (Module) obj;
+		return this.groupId.equals(other.groupId) && this.artifactId.equals(other.artifactId);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * this.groupId.hashCode() + this.artifactId.hashCode();
+	}
+
 	@Override
 	public String toString() {
 		return this.groupId + ":" + this.artifactId;
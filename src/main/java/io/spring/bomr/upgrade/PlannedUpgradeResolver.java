@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.spring.bomr.upgrade.UpgradePlan.PlannedUpgrade;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+
+/**
+ * An {@link UpgradeResolver} that resolves upgrades from an {@link UpgradePlan} without
+ * making any network requests. A planned upgrade is skipped if the project's current
+ * version no longer matches the version from which the plan was created. When resuming,
+ * a planned upgrade that the {@link UpgradeJournal} shows has already been applied is
+ * skipped quietly.
+ *
+ * @author Andy Wilkinson
+ */
+final class PlannedUpgradeResolver implements UpgradeResolver {
+
+	private final Map<String, PlannedUpgrade> plannedUpgrades;
+
+	private final UpgradeJournal journal;
+
+	PlannedUpgradeResolver(UpgradePlan plan, UpgradeJournal journal) {
+		this.plannedUpgrades = plan.getUpgrades().stream()
+				.collect(Collectors.toMap(PlannedUpgrade::getProperty, Function.identity()));
+		this.journal = journal;
+	}
+
+	@Override
+	public List<Upgrade> resolveUpgrades(Collection<Project> projects) {
+		List<Upgrade> upgrades = new ArrayList<>();
+		for (Project project : projects) {
+			PlannedUpgrade plannedUpgrade = this.plannedUpgrades.get(project.getVersion().getProperty());
+			if (plannedUpgrade != null) {
+				String currentVersion = project.getVersion().getVersion().toString();
+				if (currentVersion.equals(plannedUpgrade.getFrom())) {
+					upgrades.add(new Upgrade(project, DependencyVersion.parse(plannedUpgrade.getTo())));
+				}
+				else if (!isApplied(project, plannedUpgrade)) {
+					System.err.println("Skipping upgrade of " + project.getName() + " to " + plannedUpgrade.getTo()
+							+ ": planned from " + plannedUpgrade.getFrom() + " but bom has " + currentVersion);
+				}
+			}
+		}
+		return upgrades;
+	}
+
+	private boolean isApplied(Project project, PlannedUpgrade plannedUpgrade) {
+		return this.journal != null && this.journal.isApplied(project)
+				&& project.getVersion().getVersion().toString().equals(plannedUpgrade.getTo());
+	}
+
+}
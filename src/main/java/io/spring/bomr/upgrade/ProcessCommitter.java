@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.util.StreamUtils;
+
+/**
+ * A {@link Committer} that commits each change by running {@code git add} and
+ * {@code git commit}.
+ *
+ * @author Andy Wilkinson
+ */
+final class ProcessCommitter implements Committer {
+
+	@Override
+	public Session begin(Bom bom) {
+		return new ProcessSession(bom);
+	}
+
+	private static final class ProcessSession implements Session {
+
+		private final Bom bom;
+
+		private ProcessSession(Bom bom) {
+			this.bom = bom;
+		}
+
+		@Override
+		public void commit(String message) {
+			this.bom.write();
+			run("git", "add", this.bom.getFile().getAbsolutePath());
+			run("git", "commit", "-m", message);
+		}
+
+		private void run(String... command) {
+			try {
+				Process process = new ProcessBuilder().command(command)
+						.directory(this.bom.getFile().getAbsoluteFile().getParentFile()).redirectErrorStream(true)
+						.start();
+				String output = StreamUtils.copyToString(process.getInputStream(), StandardCharsets.UTF_8);
+				if (process.waitFor() != 0) {
+					throw new IllegalStateException(command[0] + " " + command[1] + " failed:" + System.lineSeparator()
+							+ output);
+				}
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			catch (IOException ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+		@Override
+		public void close() {
+
+		}
+
+	}
+
+}
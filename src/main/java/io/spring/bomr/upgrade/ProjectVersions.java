@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+
+import io.spring.bomr.upgrade.version.DependencyVersion;
+
+/**
+ * The versions of a {@link Project} that are candidates for an upgrade.
+ *
+ * @author Andy Wilkinson
+ */
+final class ProjectVersions {
+
+	private final Project project;
+
+	private final Map<Module, SortedSet<DependencyVersion>> moduleVersions;
+
+	private final List<DependencyVersion> versions;
+
+	private final List<Module> unresolvedModules;
+
+	ProjectVersions(Project project, Map<Module, SortedSet<DependencyVersion>> moduleVersions,
+			List<DependencyVersion> versions) {
+		this.project = project;
+		this.moduleVersions = moduleVersions;
+		this.versions = versions;
+		this.unresolvedModules = new ArrayList<>(project.getModules());
+		this.unresolvedModules.removeAll(moduleVersions.keySet());
+	}
+
+	Project getProject() {
+		return this.project;
+	}
+
+	/**
+	 * Returns the candidate versions, in the order in which they should be offered.
+	 * @return the candidate versions
+	 */
+	List<DependencyVersion> getVersions() {
+		return this.versions;
+	}
+
+	/**
+	 * Returns the modules whose versions were resolved and that are missing the given
+	 * {@code version}.
+	 * @param version the version
+	 * @return the modules that are missing the version
+	 */
+	List<Module> getMissingModules(DependencyVersion version) {
+		List<Module> missingModules = new ArrayList<>();
+		this.moduleVersions.forEach((module, versions) -> {
+			if (!versions.contains(version)) {
+				missingModules.add(module);
+			}
+		});
+		return missingModules;
+	}
+
+	/**
+	 * Returns the modules of the project whose versions were not resolved.
+	 * @return the unresolved modules
+	 */
+	List<Module> getUnresolvedModules() {
+		return this.unresolvedModules;
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Strategies used to resolve the versions that are available for a {@link Project}.
+ *
+ * @author Andy Wilkinson
+ */
+public enum ResolutionStrategy {
+
+	/**
+	 * The available versions of every module of a project are resolved. Versions that
+	 * are missing for some modules are identified before a version is selected.
+	 */
+	ALL_MODULES {
+
+		@Override
+		List<Module> modulesToResolve(Project project) {
+			return project.getModules();
+		}
+
+	},
+
+	/**
+	 * The available versions of a single, representative module of a project are
+	 * resolved. The other modules are only checked for the version that is selected.
+	 */
+	REPRESENTATIVE_MODULE {
+
+		@Override
+		List<Module> modulesToResolve(Project project) {
+			return project.getModules().isEmpty() ? project.getModules()
+					: Collections.singletonList(project.getModules().get(0));
+		}
+
+	};
+
+	/**
+	 * Returns the modules of the given {@code project} whose available versions should be
+	 * resolved.
+	 * @param project the project
+	 * @return the modules to resolve
+	 */
+	abstract List<Module> modulesToResolve(Project project);
+
+}
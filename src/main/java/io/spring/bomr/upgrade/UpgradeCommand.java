@@ -21,6 +21,11 @@ import java.util.Arrays;
 
 import io.spring.bomr.Command;
 import io.spring.bomr.github.GitHub;
+import io.spring.bomr.upgrade.UpgradeProperties.Resolution;
+import io.spring.bomr.upgrade.UpgradeProperties.Resolution.Cache;
+
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * A {@link Command} for upgrading the versions of the plugins and dependencies managed by
@@ -36,10 +41,14 @@ final class UpgradeCommand implements Command {
 
 	private final File bom;
 
-	UpgradeCommand(GitHub gitHub, UpgradeProperties upgradeProperties, File bom) {
+	private final ClientHttpRequestFactory requestFactory;
+
+	UpgradeCommand(GitHub gitHub, UpgradeProperties upgradeProperties, File bom,
+			ClientHttpRequestFactory requestFactory) {
 		this.gitHub = gitHub;
 		this.properties = upgradeProperties;
 		this.bom = bom;
+		this.requestFactory = requestFactory;
 	}
 
 	@Override
@@ -73,10 +82,79 @@ final class UpgradeCommand implements Command {
 			System.err.println();
 			System.exit(-1);
 		}
-		new BomUpgrader(this.gitHub, new MavenMetadataVersionResolver(Arrays.asList("https://repo1.maven.org/maven2/")),
-				this.properties.getPolicy(), this.properties.getProhibited()).upgrade(this.bom,
-						this.properties.getGithub().getOrganization(), this.properties.getGithub().getRepository(),
-						this.properties.getGithub().getIssueLabels(), arguments.getMilestone());
+		if (arguments.getPlan() != null) {
+			createBomUpgrader(createBatchUpgradeResolver(arguments)).plan(this.bom, arguments.getPlan());
+			return;
+		}
+		UpgradeJournal journal = openJournal(arguments);
+		UpgradeResolver upgradeResolver = (arguments.getApply() != null)
+				? new PlannedUpgradeResolver(UpgradePlan.read(arguments.getApply()), journal)
+				: createInteractiveUpgradeResolver(arguments, journal);
+		createBomUpgrader(upgradeResolver).upgrade(this.bom, this.properties.getGithub().getOrganization(),
+				this.properties.getGithub().getRepository(), this.properties.getGithub().getIssueLabels(),
+				arguments.getMilestone(), journal);
+	}
+
+	private UpgradeJournal openJournal(UpgradeCommandArguments arguments) {
+		File journal = this.properties.getJournal();
+		if (!arguments.isResume()) {
+			if (journal.exists() && !arguments.isDiscardJournal()) {
+				System.err.println();
+				System.err.println("Fatal: the journal of an interrupted upgrade exists:");
+				System.err.println();
+				System.err.println("  " + journal.getAbsolutePath());
+				System.err.println();
+				System.err.println("Use --resume to resume the upgrade or --discard-journal to start a new upgrade");
+				System.err.println();
+				System.exit(-1);
+			}
+			return UpgradeJournal.begin(journal);
+		}
+		if (!journal.exists()) {
+			System.err.println();
+			System.err.println("Fatal: there is no upgrade to resume as the journal does not exist:");
+			System.err.println();
+			System.err.println("  " + journal.getAbsolutePath());
+			System.err.println();
+			System.exit(-1);
+		}
+		return UpgradeJournal.resume(journal);
+	}
+
+	private BomUpgrader createBomUpgrader(UpgradeResolver upgradeResolver) {
+		return new BomUpgrader(this.gitHub, upgradeResolver, this.properties.getCommitter().createCommitter());
+	}
+
+	private UpgradeResolver createInteractiveUpgradeResolver(UpgradeCommandArguments arguments,
+			UpgradeJournal journal) {
+		return new InteractiveUpgradeResolver(createVersionResolver(arguments), this.properties.getPolicy(),
+				this.properties.getProhibited(), this.properties.getResolution().getStrategy(), journal);
+	}
+
+	private UpgradeResolver createBatchUpgradeResolver(UpgradeCommandArguments arguments) {
+		return new BatchUpgradeResolver(createVersionResolver(arguments), this.properties.getPolicy(),
+				this.properties.getProhibited(), this.properties.getResolution().getStrategy());
+	}
+
+	private VersionResolver createVersionResolver(UpgradeCommandArguments arguments) {
+		Resolution resolution = this.properties.getResolution();
+		return new MavenMetadataVersionResolver(new RestTemplate(this.requestFactory),
+				Arrays.asList("https://repo1.maven.org/maven2/"),
+				resolution.getThreads(), resolution.getMaxRequestsPerHost(),
+				createMetadataCache(resolution.getCache(), arguments.isOffline()));
+	}
+
+	private MavenMetadataCache createMetadataCache(Cache cache, boolean offline) {
+		if (!cache.isEnabled()) {
+			if (offline) {
+				System.err.println();
+				System.err.println("Fatal: --offline requires bomr.upgrade.resolution.cache.enabled=true");
+				System.err.println();
+				System.exit(-1);
+			}
+			return null;
+		}
+		return new MavenMetadataCache(cache.getDirectory(), cache.getTimeToLive(), offline);
 	}
 
 }
@@ -16,12 +16,14 @@
 
 package io.spring.bomr.upgrade;
 
+import java.io.File;
 import java.io.IOException;
 
 import joptsimple.ArgumentAcceptingOptionSpec;
 import joptsimple.BuiltinHelpFormatter;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
 
 /**
  * Command line arguments for the {@link UpgradeCommand}.
@@ -32,8 +34,24 @@ final class UpgradeCommandArguments {
 
 	private final String milestone;
 
-	private UpgradeCommandArguments(String milestone) {
+	private final boolean offline;
+
+	private final File plan;
+
+	private final File apply;
+
+	private final boolean resume;
+
+	private final boolean discardJournal;
+
+	private UpgradeCommandArguments(String milestone, boolean offline, File plan, File apply, boolean resume,
+			boolean discardJournal) {
 		this.milestone = milestone;
+		this.offline = offline;
+		this.plan = plan;
+		this.apply = apply;
+		this.resume = resume;
+		this.discardJournal = discardJournal;
 	}
 
 	static UpgradeCommandArguments parse(String[] args) {
@@ -42,12 +60,27 @@ final class UpgradeCommandArguments {
 		ArgumentAcceptingOptionSpec<String> milestoneSpec = optionParser
 				.accepts("milestone", "Milestone to which upgrade issues are assigned").withRequiredArg()
 				.ofType(String.class);
+		OptionSpec<Void> offlineSpec = optionParser.accepts("offline",
+				"Resolve versions using only cached metadata, irrespective of its age");
+		ArgumentAcceptingOptionSpec<File> planSpec = optionParser
+				.accepts("plan", "Write the newest permitted upgrades to a plan file without applying them")
+				.withRequiredArg().ofType(File.class);
+		ArgumentAcceptingOptionSpec<File> applySpec = optionParser
+				.accepts("apply", "Apply the upgrades in a plan file").withRequiredArg().ofType(File.class);
+		OptionSpec<Void> resumeSpec = optionParser.accepts("resume",
+				"Resume an interrupted upgrade, replaying the decisions recorded in its journal");
+		OptionSpec<Void> discardJournalSpec = optionParser.accepts("discard-journal",
+				"Discard the journal of an interrupted upgrade and start a new upgrade");
 		try {
 			OptionSet parsed = optionParser.parse(args);
-			if (parsed.nonOptionArguments().size() != 0) {
+			if (parsed.nonOptionArguments().size() != 0 || (parsed.has(planSpec) && parsed.has(applySpec))
+					|| (parsed.has(planSpec) && (parsed.has(resumeSpec) || parsed.has(discardJournalSpec)))
+					|| (parsed.has(resumeSpec) && parsed.has(discardJournalSpec))) {
 				showUsageAndExit(optionParser);
 			}
-			return new UpgradeCommandArguments(parsed.valueOf(milestoneSpec));
+			return new UpgradeCommandArguments(parsed.valueOf(milestoneSpec), parsed.has(offlineSpec),
+					parsed.valueOf(planSpec), parsed.valueOf(applySpec), parsed.has(resumeSpec),
+					parsed.has(discardJournalSpec));
 		}
 		catch (Exception ex) {
 			showUsageAndExit(optionParser);
@@ -72,4 +105,24 @@ final class UpgradeCommandArguments {
 		return this.milestone;
 	}
 
+	boolean isOffline() {
+		return this.offline;
+	}
+
+	File getPlan() {
+		return this.plan;
+	}
+
+	File getApply() {
+		return this.apply;
+	}
+
+	boolean isResume() {
+		return this.resume;
+	}
+
+	boolean isDiscardJournal() {
+		return this.discardJournal;
+	}
+
 }
@@ -23,6 +23,7 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesBindin
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 
 /**
  * Configuration for Bomr's upgrade support.
@@ -35,8 +36,8 @@ class UpgradeConfiguration {
 
 	@Bean
 	public UpgradeCommand upgradeCommand(GitHub gitHub, UpgradeProperties upgradeProperties,
-			BomrProperties bomrProperties) {
-		return new UpgradeCommand(gitHub, upgradeProperties, bomrProperties.getBom());
+			BomrProperties bomrProperties, ClientHttpRequestFactory requestFactory) {
+		return new UpgradeCommand(gitHub, upgradeProperties, bomrProperties.getBom(), requestFactory);
 	}
 
 	@Bean
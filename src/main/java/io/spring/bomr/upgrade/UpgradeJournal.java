@@ -0,0 +1,321 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+
+/**
+ * A journal of an upgrade session that is written as the session progresses. The
+ * journal records the versions that have been resolved, the version that was selected
+ * for each project, and the issue that was opened for each upgrade. When a session is
+ * resumed, anything that has already been decided is replayed from the journal rather
+ * than being resolved, selected, or opened again. Whether an upgrade has already been
+ * applied is determined from the bom rather than from the journal. Each change is
+ * written to the journal before the action that it records is taken and a failure to
+ * write the journal is fatal.
+ *
+ * @author Andy Wilkinson
+ */
+class UpgradeJournal {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private Map<String, List<String>> resolvedVersions = new TreeMap<>();
+
+	private List<JournaledUpgrade> upgrades = new ArrayList<>();
+
+	private File file;
+
+	public Map<String, List<String>> getResolvedVersions() {
+		return this.resolvedVersions;
+	}
+
+	public void setResolvedVersions(Map<String, List<String>> resolvedVersions) {
+		this.resolvedVersions = resolvedVersions;
+	}
+
+	public List<JournaledUpgrade> getUpgrades() {
+		return this.upgrades;
+	}
+
+	public void setUpgrades(List<JournaledUpgrade> upgrades) {
+		this.upgrades = upgrades;
+	}
+
+	/**
+	 * Begins a new session, replacing any existing journal in the given {@code file}.
+	 * @param file the file to which the journal is written
+	 * @return the journal
+	 */
+	static UpgradeJournal begin(File file) {
+		UpgradeJournal journal = new UpgradeJournal();
+		journal.file = file;
+		journal.write();
+		return journal;
+	}
+
+	/**
+	 * Resumes the session whose journal was written to the given {@code file}.
+	 * @param file the file to which the journal was written
+	 * @return the journal
+	 */
+	static UpgradeJournal resume(File file) {
+		try {
+			UpgradeJournal journal = objectMapper.readValue(file, UpgradeJournal.class);
+			journal.file = file;
+			return journal;
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Returns the journaled versions of those of the given {@code modules} whose versions
+	 * have already been resolved.
+	 * @param modules the modules
+	 * @return the resolved versions
+	 */
+	synchronized Map<Module, SortedSet<DependencyVersion>> getResolvedVersions(Collection<Module> modules) {
+		Map<Module, SortedSet<DependencyVersion>> versions = new HashMap<>();
+		for (Module module : modules) {
+			List<String> moduleVersions = this.resolvedVersions.get(module.toString());
+			if (moduleVersions != null) {
+				versions.put(module, moduleVersions.stream().map(DependencyVersion::parse)
+						.collect(Collectors.toCollection(TreeSet::new)));
+			}
+		}
+		return versions;
+	}
+
+	/**
+	 * Records the given resolved {@code versions}.
+	 * @param versions the versions, keyed by module
+	 */
+	synchronized void recordResolvedVersions(Map<Module, SortedSet<DependencyVersion>> versions) {
+		versions.forEach((module, moduleVersions) -> this.resolvedVersions.put(module.toString(),
+				moduleVersions.stream().map(DependencyVersion::toString).collect(Collectors.toList())));
+		write();
+	}
+
+	/**
+	 * Returns whether a selection has been journaled for the given {@code project},
+	 * either for its current version or for the version to which it has already been
+	 * upgraded.
+	 * @param project the project
+	 * @return {@code true} if a selection has been journaled, otherwise {@code false}
+	 */
+	synchronized boolean hasSelection(Project project) {
+		return findSelection(project) != null;
+	}
+
+	/**
+	 * Returns the upgrade that was selected for the given {@code project} and that has
+	 * not yet been applied to it.
+	 * @param project the project
+	 * @return the upgrade or {@code null} if no upgrade was selected or the selected
+	 * upgrade has already been applied
+	 */
+	synchronized Upgrade getSelectedUpgrade(Project project) {
+		JournaledUpgrade selection = findSelection(project);
+		if (selection == null || selection.getTo() == null || !selection.getFrom().equals(currentVersion(project))) {
+			return null;
+		}
+		return new Upgrade(project, DependencyVersion.parse(selection.getTo()));
+	}
+
+	/**
+	 * Returns whether an upgrade of the given {@code project} has been journaled and has
+	 * already been applied to it, that is whether the project's current version is the
+	 * version to which it was upgraded.
+	 * @param project the project
+	 * @return {@code true} if a journaled upgrade has been applied, otherwise
+	 * {@code false}
+	 */
+	synchronized boolean isApplied(Project project) {
+		JournaledUpgrade selection = findSelection(project);
+		return selection != null && currentVersion(project).equals(selection.getTo())
+				&& !selection.getTo().equals(selection.getFrom());
+	}
+
+	/**
+	 * Records the selection of the given {@code upgrade} for the given {@code project}.
+	 * @param project the project
+	 * @param upgrade the selected upgrade or {@code null} if the project is not to be
+	 * upgraded
+	 */
+	synchronized void recordSelection(Project project, Upgrade upgrade) {
+		JournaledUpgrade selection = new JournaledUpgrade();
+		selection.setProject(project.getName().toString());
+		selection.setProperty(project.getVersion().getProperty());
+		selection.setFrom(currentVersion(project));
+		selection.setTo((upgrade != null) ? upgrade.getVersion().toString() : null);
+		this.upgrades.removeIf((candidate) -> candidate.getProperty().equals(selection.getProperty()));
+		this.upgrades.add(selection);
+		write();
+	}
+
+	/**
+	 * Returns the number of the issue that was opened for the given {@code upgrade}.
+	 * @param upgrade the upgrade
+	 * @return the issue number or {@code null} if no issue has been opened
+	 */
+	synchronized Integer getIssue(Upgrade upgrade) {
+		JournaledUpgrade journaled = findUpgrade(upgrade);
+		return (journaled != null) ? journaled.getIssue() : null;
+	}
+
+	/**
+	 * Records the number of the issue for the given {@code upgrade}.
+	 * @param upgrade the upgrade
+	 * @param issue the issue number
+	 */
+	synchronized void recordIssue(Upgrade upgrade, int issue) {
+		JournaledUpgrade journaled = getOrCreateUpgrade(upgrade);
+		if (journaled.getIssue() == null || journaled.getIssue() != issue) {
+			journaled.setIssue(issue);
+			write();
+		}
+	}
+
+	/**
+	 * Completes the session, deleting its journal.
+	 */
+	synchronized void complete() {
+		this.file.delete();
+	}
+
+	private JournaledUpgrade findSelection(Project project) {
+		String version = currentVersion(project);
+		return this.upgrades.stream()
+				.filter((candidate) -> candidate.getProperty().equals(project.getVersion().getProperty()))
+				.filter((candidate) -> version.equals(candidate.getFrom()) || version.equals(candidate.getTo()))
+				.findFirst().orElse(null);
+	}
+
+	private JournaledUpgrade findUpgrade(Upgrade upgrade) {
+		return this.upgrades.stream()
+				.filter((candidate) -> candidate.getProperty().equals(upgrade.getProject().getVersion().getProperty()))
+				.filter((candidate) -> upgrade.getVersion().toString().equals(candidate.getTo())).findFirst()
+				.orElse(null);
+	}
+
+	private JournaledUpgrade getOrCreateUpgrade(Upgrade upgrade) {
+		JournaledUpgrade journaled = findUpgrade(upgrade);
+		if (journaled == null) {
+			recordSelection(upgrade.getProject(), upgrade);
+			journaled = findUpgrade(upgrade);
+		}
+		return journaled;
+	}
+
+	private String currentVersion(Project project) {
+		return project.getVersion().getVersion().toString();
+	}
+
+	private void write() {
+		File tempFile = null;
+		try {
+			this.file.getAbsoluteFile().getParentFile().mkdirs();
+			tempFile = File.createTempFile("upgrade-journal", ".tmp", this.file.getAbsoluteFile().getParentFile());
+			objectMapper.writeValue(tempFile, this);
+			Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			if (tempFile != null) {
+				tempFile.delete();
+			}
+			throw new UncheckedIOException("Failed to update upgrade journal " + this.file, ex);
+		}
+	}
+
+	/**
+	 * An upgrade of a single project in a journal.
+	 */
+	public static class JournaledUpgrade {
+
+		private String project;
+
+		private String property;
+
+		private String from;
+
+		private String to;
+
+		private Integer issue;
+
+		public String getProject() {
+			return this.project;
+		}
+
+		public void setProject(String project) {
+			this.project = project;
+		}
+
+		public String getProperty() {
+			return this.property;
+		}
+
+		public void setProperty(String property) {
+			this.property = property;
+		}
+
+		public String getFrom() {
+			return this.from;
+		}
+
+		public void setFrom(String from) {
+			this.from = from;
+		}
+
+		public String getTo() {
+			return this.to;
+		}
+
+		public void setTo(String to) {
+			this.to = to;
+		}
+
+		public Integer getIssue() {
+			return this.issue;
+		}
+
+		public void setIssue(Integer issue) {
+			this.issue = issue;
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * A plan of the {@link Upgrade Upgrades} to apply to a bom. A plan is written as JSON so
+ * that it can be created by one invocation of Bomr and applied by another.
+ *
+ * @author Andy Wilkinson
+ */
+class UpgradePlan {
+
+	private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+	private List<PlannedUpgrade> upgrades = new ArrayList<>();
+
+	public List<PlannedUpgrade> getUpgrades() {
+		return this.upgrades;
+	}
+
+	public void setUpgrades(List<PlannedUpgrade> upgrades) {
+		this.upgrades = upgrades;
+	}
+
+	/**
+	 * Writes the plan as JSON to the given {@code file}.
+	 * @param file the file to write to
+	 */
+	void write(File file) {
+		try {
+			objectMapper.writeValue(file, this);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Reads a plan from the given JSON {@code file}.
+	 * @param file the file to read
+	 * @return the plan
+	 */
+	static UpgradePlan read(File file) {
+		try {
+			return objectMapper.readValue(file, UpgradePlan.class);
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Creates a plan for the given {@code upgrades}.
+	 * @param upgrades the upgrades
+	 * @return the plan
+	 */
+	static UpgradePlan of(List<Upgrade> upgrades) {
+		UpgradePlan plan = new UpgradePlan();
+		for (Upgrade upgrade : upgrades) {
+			PlannedUpgrade plannedUpgrade = new PlannedUpgrade();
+			plannedUpgrade.setProject(upgrade.getProject().getName().toString());
+			plannedUpgrade.setProperty(upgrade.getProject().getVersion().getProperty());
+			plannedUpgrade.setFrom(upgrade.getProject().getVersion().getVersion().toString());
+			plannedUpgrade.setTo(upgrade.getVersion().toString());
+			plan.getUpgrades().add(plannedUpgrade);
+		}
+		return plan;
+	}
+
+	/**
+	 * An upgrade of a single project in a plan.
+	 */
+	public static class PlannedUpgrade {
+
+		private String project;
+
+		private String property;
+
+		private String from;
+
+		private String to;
+
+		public String getProject() {
+			return this.project;
+		}
+
+		public void setProject(String project) {
+			this.project = project;
+		}
+
+		public String getProperty() {
+			return this.property;
+		}
+
+		public void setProperty(String property) {
+			this.property = property;
+		}
+
+		public String getFrom() {
+			return this.from;
+		}
+
+		public void setFrom(String from) {
+			this.from = from;
+		}
+
+		public String getTo() {
+			return this.to;
+		}
+
+		public void setTo(String to) {
+			this.to = to;
+		}
+
+	}
+
+}
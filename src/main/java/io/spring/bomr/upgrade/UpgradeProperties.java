@@ -16,6 +16,8 @@
 
 package io.spring.bomr.upgrade;
 
+import java.io.File;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,11 +35,23 @@ public class UpgradeProperties {
 
 	private final List<ProhibitedVersions> prohibited = new ArrayList<>();
 
+	private final Resolution resolution = new Resolution();
+
 	/**
 	 * Policy that controls which versions are suggested as possible upgrades.
 	 */
 	private UpgradePolicy policy = UpgradePolicy.ANY;
 
+	/**
+	 * Type of committer that is used to commit upgrades.
+	 */
+	private CommitterType committer = CommitterType.GIT;
+
+	/**
+	 * Journal in which the progress of an upgrade is recorded so that it can be resumed.
+	 */
+	private File journal = new File(".bomr/upgrade-journal.json");
+
 	public UpgradePolicy getPolicy() {
 		return this.policy;
 	}
@@ -46,6 +60,22 @@ public class UpgradeProperties {
 		this.policy = policy;
 	}
 
+	public CommitterType getCommitter() {
+		return this.committer;
+	}
+
+	public void setCommitter(CommitterType committer) {
+		this.committer = committer;
+	}
+
+	public File getJournal() {
+		return this.journal;
+	}
+
+	public void setJournal(File journal) {
+		this.journal = journal;
+	}
+
 	public Github getGithub() {
 		return this.github;
 	}
@@ -54,6 +84,10 @@ public class UpgradeProperties {
 		return this.prohibited;
 	}
 
+	public Resolution getResolution() {
+		return this.resolution;
+	}
+
 	/**
 	 * Properties related to GitHub.
 	 */
@@ -100,4 +134,102 @@ public class UpgradeProperties {
 
 	}
 
+	/**
+	 * Properties related to the resolution of the versions that are available.
+	 */
+	public static class Resolution {
+
+		/**
+		 * Number of threads used to retrieve maven-metadata.xml files concurrently.
+		 */
+		private int threads = 8;
+
+		/**
+		 * Maximum number of concurrent requests made to any one host.
+		 */
+		private int maxRequestsPerHost = 4;
+
+		/**
+		 * Strategy used to resolve the versions that are available for a project.
+		 */
+		private ResolutionStrategy strategy = ResolutionStrategy.ALL_MODULES;
+
+		private final Cache cache = new Cache();
+
+		public int getThreads() {
+			return this.threads;
+		}
+
+		public void setThreads(int threads) {
+			this.threads = threads;
+		}
+
+		public int getMaxRequestsPerHost() {
+			return this.maxRequestsPerHost;
+		}
+
+		public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+			this.maxRequestsPerHost = maxRequestsPerHost;
+		}
+
+		public ResolutionStrategy getStrategy() {
+			return this.strategy;
+		}
+
+		public void setStrategy(ResolutionStrategy strategy) {
+			this.strategy = strategy;
+		}
+
+		public Cache getCache() {
+			return this.cache;
+		}
+
+		/**
+		 * Properties related to the local cache of maven-metadata.xml files.
+		 */
+		public static class Cache {
+
+			/**
+			 * Whether the local cache of maven-metadata.xml files is enabled.
+			 */
+			private boolean enabled = true;
+
+			/**
+			 * Directory in which maven-metadata.xml files are cached.
+			 */
+			private File directory = new File(System.getProperty("user.home"), ".bomr/cache/metadata");
+
+			/**
+			 * Time for which cached metadata is used without being revalidated.
+			 */
+			private Duration timeToLive = Duration.ZERO;
+
+			public boolean isEnabled() {
+				return this.enabled;
+			}
+
+			public void setEnabled(boolean enabled) {
+				this.enabled = enabled;
+			}
+
+			public File getDirectory() {
+				return this.directory;
+			}
+
+			public void setDirectory(File directory) {
+				this.directory = directory;
+			}
+
+			public Duration getTimeToLive() {
+				return this.timeToLive;
+			}
+
+			public void setTimeToLive(Duration timeToLive) {
+				this.timeToLive = timeToLive;
+			}
+
+		}
+
+	}
+
 }
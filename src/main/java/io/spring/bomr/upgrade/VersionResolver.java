@@ -16,6 +16,9 @@
 
 package io.spring.bomr.upgrade;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.SortedSet;
 
 import io.spring.bomr.upgrade.version.DependencyVersion;
@@ -34,4 +37,28 @@ interface VersionResolver {
 	 */
 	SortedSet<DependencyVersion> resolveVersions(Module module);
 
+	/**
+	 * Resolves the available versions for each of the given {@code modules}. The
+	 * returned map iterates in the same order as the given modules.
+	 * @param modules the modules
+	 * @return the available versions, keyed by module
+	 */
+	default Map<Module, SortedSet<DependencyVersion>> resolveVersions(Collection<Module> modules) {
+		Map<Module, SortedSet<DependencyVersion>> versions = new LinkedHashMap<>();
+		for (Module module : modules) {
+			versions.computeIfAbsent(module, this::resolveVersions);
+		}
+		return versions;
+	}
+
+	/**
+	 * Returns whether the given {@code version} of the given {@code module} is available.
+	 * @param module the module
+	 * @param version the version
+	 * @return {@code true} if the version is available, otherwise {@code false}
+	 */
+	default boolean isAvailable(Module module, DependencyVersion version) {
+		return resolveVersions(module).contains(version);
+	}
+
 }
@@ -16,10 +16,6 @@
 
 package io.spring.bomr.upgrade.version;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.function.Function;
-
 /**
  * Version of a dependency.
  *
@@ -52,18 +48,14 @@ public interface DependencyVersion extends Comparable<DependencyVersion> {
 	 */
 	boolean isSameMinorAndNewerThan(DependencyVersion other);
 
+	/**
+	 * Parses the given {@code version}. Parsed versions are cached, so the same instance
+	 * may be returned for equal inputs.
+	 * @param version the version to parse
+	 * @return the parsed version
+	 */
 	static DependencyVersion parse(String version) {
-		List<Function<String, DependencyVersion>> parsers = Arrays.asList(ArtifactVersionDependencyVersion::parse,
-				ReleaseTrainDependencyVersion::parse, NumericQualifierDependencyVersion::parse,
-				CombinedPatchAndQualifierDependencyVersion::parse, LeadingZeroesDependencyVersion::parse,
-				UnstructuredDependencyVersion::parse);
-		for (Function<String, DependencyVersion> parser : parsers) {
-			DependencyVersion result = parser.apply(version);
-			if (result != null) {
-				return result;
-			}
-		}
-		throw new IllegalArgumentException("Version '" + version + "' could not be parsed");
+		return DependencyVersionParser.parse(version);
 	}
 
 }
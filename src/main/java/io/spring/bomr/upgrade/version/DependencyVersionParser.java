@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade.version;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parses {@link DependencyVersion DependencyVersions}. The input is classified using its
+ * first character and number of dots so that parsers that cannot accept it are not
+ * attempted. Parsed versions are cached so that a version string that is parsed
+ * repeatedly, for example because it is shared by all of a project's modules, is only
+ * parsed once and the same instance is returned each time.
+ *
+ * @author Andy Wilkinson
+ */
+final class DependencyVersionParser {
+
+	private static final int MAX_CACHE_SIZE = 65536;
+
+	private static final Map<String, DependencyVersion> cache = new ConcurrentHashMap<>();
+
+	private DependencyVersionParser() {
+
+	}
+
+	static DependencyVersion parse(String version) {
+		DependencyVersion cached = cache.get(version);
+		if (cached != null) {
+			return cached;
+		}
+		DependencyVersion parsed = parseUncached(version);
+		if (cache.size() < MAX_CACHE_SIZE) {
+			DependencyVersion existing = cache.putIfAbsent(version, parsed);
+			return (existing != null) ? existing : parsed;
+		}
+		return parsed;
+	}
+
+	/**
+	 * Parses the given {@code version} without consulting or populating the cache.
+	 * @param version the version to parse
+	 * @return the parsed version
+	 */
+	static DependencyVersion parseUncached(String version) {
+		if (version.isEmpty()) {
+			return UnstructuredDependencyVersion.parse(version);
+		}
+		char first = version.charAt(0);
+		int dots = countDots(version);
+		// DefaultArtifactVersion falls back to an unparsed qualifier unless the version
+		// starts with an integer or has a fourth dot-separated component
+		if (Character.isDigit(first) || first == '+' || dots >= 3) {
+			DependencyVersion result = ArtifactVersionDependencyVersion.parse(version);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (first >= 'A' && first <= 'Z') {
+			DependencyVersion result = ReleaseTrainDependencyVersion.parse(version);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (dots >= 3) {
+			DependencyVersion result = NumericQualifierDependencyVersion.parse(version);
+			if (result != null) {
+				return result;
+			}
+		}
+		if (dots == 2 && first >= '0' && first <= '9') {
+			DependencyVersion result = CombinedPatchAndQualifierDependencyVersion.parse(version);
+			if (result == null) {
+				result = LeadingZeroesDependencyVersion.parse(version);
+			}
+			if (result != null) {
+				return result;
+			}
+		}
+		return UnstructuredDependencyVersion.parse(version);
+	}
+
+	private static int countDots(String version) {
+		int dots = 0;
+		for (int i = 0; i < version.length(); i++) {
+			if (version.charAt(i) == '.') {
+				dots++;
+			}
+		}
+		return dots;
+	}
+
+}
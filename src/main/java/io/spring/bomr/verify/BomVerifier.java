@@ -17,94 +17,62 @@
 package io.spring.bomr.verify;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import com.samskivert.mustache.Mustache;
-import com.samskivert.mustache.Mustache.Compiler;
-import com.samskivert.mustache.Mustache.TemplateLoader;
-import com.samskivert.mustache.Template;
-import io.spring.bomr.verify.MavenInvoker.MavenInvocationFailedException;
-
-import org.springframework.util.StringUtils;
-
 /**
  * Verifies a Maven bom by checking that all of its managed dependencies can be resolved.
+ * The bom's effective model, from which the dependencies are identified, is built
+ * in-process. The outcome of verifying each dependency is recorded in a
+ * {@link VerificationLedger} so that incremental verification can skip dependencies that
+ * have already passed.
  *
  * @author Andy Wilkinson
  */
 class BomVerifier {
 
-	private final MavenInvoker mavenInvoker;
+	private final EffectiveBomBuilder effectiveBomBuilder;
 
-	private final Compiler compiler;
+	private final DependencyVerifier dependencyVerifier;
 
-	private final TemplateLoader templateLoader;
+	private final VerificationLedger ledger;
 
-	BomVerifier(MavenInvoker mavenInvoker, Compiler compiler, TemplateLoader templateLoader) {
-		this.mavenInvoker = mavenInvoker;
-		this.compiler = compiler;
-		this.templateLoader = templateLoader;
+	BomVerifier(EffectiveBomBuilder effectiveBomBuilder, DependencyVerifier dependencyVerifier,
+			VerificationLedger ledger) {
+		this.effectiveBomBuilder = effectiveBomBuilder;
+		this.dependencyVerifier = dependencyVerifier;
+		this.ledger = ledger;
 	}
 
-	void verify(File bom, Set<String> ignoredDependencies, Set<URI> repositoryUris) {
-		VerifiableBom verifiableBom = new VerifiableBom(this.mavenInvoker, bom);
-		List<ManagedDependency> dependenciesToVerify = verifiableBom.getManagedDependencies().stream()
+	VerificationReport verify(File bom, Set<String> ignoredDependencies, Set<URI> repositoryUris,
+			boolean incremental) {
+		List<Repository> additionalRepositories = repositoryUris.stream().map(Repository::new)
+				.collect(Collectors.toList());
+		VerifiableBom verifiableBom = new VerifiableBom(this.effectiveBomBuilder.build(bom, additionalRepositories));
+		List<ManagedDependency> managedDependencies = verifiableBom.getManagedDependencies().stream()
 				.filter((dependency) -> !ignoredDependencies
 						.contains(dependency.getGroupId() + ":" + dependency.getArtifactId()))
 				.collect(Collectors.toList());
-		File dependenciesPom = createDependenciesPom(bom, verifiableBom, dependenciesToVerify,
-				repositoryUris.stream().map(Repository::new).collect(Collectors.toList()));
-		System.out.print("Verifying " + dependenciesToVerify.size() + " dependencies...");
-		try {
-			this.mavenInvoker.invoke(dependenciesPom, new Properties(), "dependency:list");
-			System.out.println(" Done.");
-		}
-		catch (MavenInvocationFailedException ex) {
-			System.err.println();
-			System.err.println("Dependency resolution failed:");
-			System.err.println();
-			ex.getOutputLines().forEach(System.err::println);
-		}
-	}
-
-	private File createDependenciesPom(File bomFile, VerifiableBom bom, List<ManagedDependency> dependenciesToVerify,
-			List<Repository> additionalRepositories) {
-		try {
-			Template template = this.compiler.compile(this.templateLoader.getTemplate("bom-dependencies"));
-			Map<String, Object> context = new HashMap<>();
-			context.put("dependencies", dependenciesToVerify);
-			List<Repository> repositories = new ArrayList<>(bom.getRepositories());
-			repositories.addAll(additionalRepositories);
-			context.put("repositories", repositories);
-			context.put("parentGroupId", bom.getGroupId());
-			context.put("parentArtifactId", bom.getArtifactId());
-			context.put("parentVersion", bom.getVersion());
-			context.put("parentRelativePath", bomFile.getAbsolutePath());
-			context.put("classifierIfAvailable", (Mustache.Lambda) (frag, out) -> {
-				String classifier = frag.execute();
-				if (StringUtils.hasText(classifier)) {
-					out.append("<classifier>");
-					out.append(classifier);
-					out.append("</classifier>\n");
-				}
-			});
-			File dependenciesPom = File.createTempFile("dependencies-", ".pom");
-			try (FileWriter writer = new FileWriter(dependenciesPom)) {
-				template.execute(context, writer);
-			}
-			return dependenciesPom;
+		List<ManagedDependency> dependenciesToVerify = incremental ? this.ledger.notPassed(managedDependencies)
+				: managedDependencies;
+		List<Repository> repositories = new ArrayList<>(verifiableBom.getRepositories());
+		repositories.addAll(additionalRepositories);
+		if (incremental) {
+			System.out.println("Skipping " + (managedDependencies.size() - dependenciesToVerify.size())
+					+ " dependencies that have already passed verification.");
 		}
-		catch (Exception ex) {
-			throw new RuntimeException(ex);
+		System.out.println("Verifying " + dependenciesToVerify.size() + " dependencies...");
+		VerificationReport report = new VerificationReport(dependenciesToVerify);
+		if (!dependenciesToVerify.isEmpty()) {
+			this.dependencyVerifier.verify(bom, verifiableBom, dependenciesToVerify, repositories, report);
 		}
+		this.ledger.record(report);
+		System.out.println();
+		report.print(report.getFailures().isEmpty() ? System.out : System.err);
+		return report;
 	}
 
 }
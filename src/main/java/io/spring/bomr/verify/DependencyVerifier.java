@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * A {@code DependencyVerifier} verifies that a bom's managed dependencies can be
+ * resolved.
+ *
+ * @author Andy Wilkinson
+ */
+interface DependencyVerifier {
+
+	/**
+	 * Verifies the given {@code dependencies}, recording any that fail verification in
+	 * the given {@code report}.
+	 * @param bomFile the file of the bom that manages the dependencies
+	 * @param bom the bom that manages the dependencies
+	 * @param dependencies the dependencies to verify
+	 * @param repositories the repositories from which the dependencies should be resolved
+	 * @param report the report in which failures are recorded
+	 */
+	void verify(File bomFile, VerifiableBom bom, List<ManagedDependency> dependencies, List<Repository> repositories,
+			VerificationReport report);
+
+}
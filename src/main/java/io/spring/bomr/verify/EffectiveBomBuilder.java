@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.model.Model;
+
+/**
+ * An {@code EffectiveBomBuilder} builds the effective model of a bom, resolving its
+ * parents, interpolating its properties, and importing the dependency management of the
+ * boms that it imports.
+ *
+ * @author Andy Wilkinson
+ */
+interface EffectiveBomBuilder {
+
+	/**
+	 * Builds the effective model of the given {@code bom}.
+	 * @param bom the bom file
+	 * @param repositories the repositories, in addition to those declared in the bom and
+	 * its parents, from which parent and imported poms can be resolved
+	 * @return the effective model
+	 */
+	Model build(File bom, List<Repository> repositories);
+
+}
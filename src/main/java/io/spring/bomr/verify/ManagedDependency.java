@@ -29,13 +29,16 @@ class ManagedDependency {
 
 	private final String artifactId;
 
+	private final String version;
+
 	private final String classifier;
 
 	private final String type;
 
-	ManagedDependency(String groupId, String artifactId, String classifier, String type) {
+	ManagedDependency(String groupId, String artifactId, String version, String classifier, String type) {
 		this.groupId = groupId;
 		this.artifactId = artifactId;
+		this.version = version;
 		this.classifier = classifier;
 		this.type = StringUtils.hasText(type) ? type : "jar";
 	}
@@ -48,6 +51,10 @@ class ManagedDependency {
 		return this.artifactId;
 	}
 
+	String getVersion() {
+		return this.version;
+	}
+
 	String getClassifier() {
 		return this.classifier;
 	}
@@ -56,4 +63,10 @@ class ManagedDependency {
 		return this.type;
 	}
 
+	@Override
+	public String toString() {
+		return this.groupId + ":" + this.artifactId + ":" + this.type
+				+ (StringUtils.hasText(this.classifier) ? ":" + this.classifier : "");
+	}
+
 }
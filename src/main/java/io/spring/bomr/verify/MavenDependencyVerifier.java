@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Mustache.Compiler;
+import com.samskivert.mustache.Mustache.TemplateLoader;
+import com.samskivert.mustache.Template;
+import io.spring.bomr.verify.MavenInvoker.MavenInvocationFailedException;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link DependencyVerifier} that verifies dependencies by invoking Maven. The
+ * dependencies are split into shards that are verified concurrently, each by a separate
+ * invocation of Maven. Failures are extracted from Maven's output as it is produced and
+ * are reported while the build is still running. When a shard fails, the dependencies
+ * that Maven reports as having failed are removed from it and it is verified again so
+ * that every dependency is reported as having passed or failed.
+ *
+ * @author Andy Wilkinson
+ */
+class MavenDependencyVerifier implements DependencyVerifier {
+
+	private final MavenInvoker mavenInvoker;
+
+	private final Compiler compiler;
+
+	private final TemplateLoader templateLoader;
+
+	private final int shards;
+
+	MavenDependencyVerifier(MavenInvoker mavenInvoker, Compiler compiler, TemplateLoader templateLoader, int shards) {
+		this.mavenInvoker = mavenInvoker;
+		this.compiler = compiler;
+		this.templateLoader = templateLoader;
+		this.shards = Math.max(1, shards);
+	}
+
+	@Override
+	public void verify(File bomFile, VerifiableBom bom, List<ManagedDependency> dependencies,
+			List<Repository> repositories, VerificationReport report) {
+		List<List<ManagedDependency>> shards = shard(dependencies);
+		ExecutorService executor = Executors.newFixedThreadPool(shards.size());
+		try {
+			List<Future<?>> verifications = new ArrayList<>();
+			for (List<ManagedDependency> shard : shards) {
+				verifications
+						.add(executor.submit(() -> verifyShard(bomFile, bom, shard, repositories, report)));
+			}
+			for (Future<?> verification : verifications) {
+				verification.get();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while verifying dependencies", ex);
+		}
+		catch (ExecutionException ex) {
+			throw new RuntimeException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private List<List<ManagedDependency>> shard(List<ManagedDependency> dependencies) {
+		int shardCount = Math.min(this.shards, Math.max(1, dependencies.size()));
+		List<List<ManagedDependency>> shards = new ArrayList<>();
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new ArrayList<>());
+		}
+		for (int i = 0; i < dependencies.size(); i++) {
+			shards.get(i % shardCount).add(dependencies.get(i));
+		}
+		return shards;
+	}
+
+	private void verifyShard(File bomFile, VerifiableBom bom, List<ManagedDependency> shard,
+			List<Repository> repositories, VerificationReport report) {
+		List<ManagedDependency> remaining = new ArrayList<>(shard);
+		while (!remaining.isEmpty()) {
+			File dependenciesPom = createDependenciesPom(bomFile, bom, remaining, repositories);
+			FailureExtractor failureExtractor = new FailureExtractor(remaining,
+					(dependency) -> System.err.println("Failed to resolve " + dependency));
+			try {
+				this.mavenInvoker.invoke(dependenciesPom, new Properties(), failureExtractor, "dependency:list");
+				return;
+			}
+			catch (MavenInvocationFailedException ex) {
+				Map<ManagedDependency, List<String>> failures = failureExtractor.getFailures();
+				failures.forEach(report::failed);
+				if (failures.isEmpty()) {
+					List<String> errors = ex.getOutputLines().stream().filter((line) -> line.startsWith("[ERROR]"))
+							.collect(Collectors.toList());
+					remaining.forEach((dependency) -> report.failed(dependency,
+							errors.isEmpty() ? ex.getOutputLines() : errors));
+					return;
+				}
+				remaining.removeAll(failures.keySet());
+			}
+			finally {
+				dependenciesPom.delete();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given {@code line} of Maven's output mentions the given
+	 * {@code dependency} by its {@code groupId:artifactId:} coordinates.
+	 * @param line the line of output
+	 * @param dependency the dependency
+	 * @return {@code true} if the dependency is mentioned, otherwise {@code false}
+	 */
+	static boolean mentions(String line, ManagedDependency dependency) {
+		String coordinates = dependency.getGroupId() + ":" + dependency.getArtifactId() + ":";
+		int index = line.indexOf(coordinates);
+		while (index >= 0) {
+			if (index == 0 || !isCoordinateCharacter(line.charAt(index - 1))) {
+				return true;
+			}
+			index = line.indexOf(coordinates, index + 1);
+		}
+		return false;
+	}
+
+	private static boolean isCoordinateCharacter(char c) {
+		return Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_';
+	}
+
+	/**
+	 * Extracts the failures of managed dependencies from Maven's output, line by line,
+	 * as it is produced. Each {@code [ERROR]} line that {@link #mentions mentions} a
+	 * dependency is attributed to that dependency.
+	 */
+	static final class FailureExtractor implements Consumer<String> {
+
+		private final List<ManagedDependency> dependencies;
+
+		private final Consumer<ManagedDependency> failureListener;
+
+		private final Map<ManagedDependency, List<String>> failures = new LinkedHashMap<>();
+
+		/**
+		 * Creates a new extractor for the given {@code dependencies}.
+		 * @param dependencies the dependencies that are being verified
+		 * @param failureListener listener that is called when a dependency first fails
+		 */
+		FailureExtractor(List<ManagedDependency> dependencies, Consumer<ManagedDependency> failureListener) {
+			this.dependencies = dependencies;
+			this.failureListener = failureListener;
+		}
+
+		@Override
+		public void accept(String line) {
+			if (!line.startsWith("[ERROR]")) {
+				return;
+			}
+			for (ManagedDependency dependency : this.dependencies) {
+				if (mentions(line, dependency)) {
+					List<String> lines = this.failures.get(dependency);
+					if (lines == null) {
+						lines = new ArrayList<>();
+						this.failures.put(dependency, lines);
+						this.failureListener.accept(dependency);
+					}
+					lines.add(line);
+				}
+			}
+		}
+
+		/**
+		 * Returns the dependencies that have failed, each mapped to the lines of output
+		 * that describe the failure.
+		 * @return the failed dependencies
+		 */
+		Map<ManagedDependency, List<String>> getFailures() {
+			return this.failures;
+		}
+
+	}
+
+	private File createDependenciesPom(File bomFile, VerifiableBom bom, List<ManagedDependency> dependenciesToVerify,
+			List<Repository> repositories) {
+		try {
+			Template template = this.compiler.compile(this.templateLoader.getTemplate("bom-dependencies"));
+			Map<String, Object> context = new HashMap<>();
+			context.put("dependencies", dependenciesToVerify);
+			context.put("repositories", repositories);
+			context.put("parentGroupId", bom.getGroupId());
+			context.put("parentArtifactId", bom.getArtifactId());
+			context.put("parentVersion", bom.getVersion());
+			context.put("parentRelativePath", bomFile.getAbsolutePath());
+			context.put("classifierIfAvailable", (Mustache.Lambda) (frag, out) -> {
+				String classifier = frag.execute();
+				if (StringUtils.hasText(classifier)) {
+					out.append("<classifier>");
+					out.append(classifier);
+					out.append("</classifier>\n");
+				}
+			});
+			File dependenciesPom = File.createTempFile("dependencies-", ".pom");
+			try (FileWriter writer = new FileWriter(dependenciesPom)) {
+				template.execute(context, writer);
+			}
+			return dependenciesPom;
+		}
+		catch (Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Properties;
+
+import io.spring.bomr.verify.MavenInvoker.MavenInvocationFailedException;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * An {@link EffectiveBomBuilder} that builds the effective model of a bom by invoking
+ * Maven's {@code help:effective-pom} goal. Maven resolves the bom's parents and imported
+ * boms using the bom's repositories and its own settings so the additional repositories
+ * are not used.
+ *
+ * @author Andy Wilkinson
+ */
+class MavenEffectiveBomBuilder implements EffectiveBomBuilder {
+
+	private final MavenInvoker mavenInvoker;
+
+	MavenEffectiveBomBuilder(MavenInvoker mavenInvoker) {
+		this.mavenInvoker = mavenInvoker;
+	}
+
+	@Override
+	public Model build(File bom, List<Repository> repositories) {
+		File effectiveBomFile = createTempFile();
+		try {
+			Properties properties = new Properties();
+			properties.setProperty("output", effectiveBomFile.getAbsolutePath());
+			this.mavenInvoker.invoke(bom, properties, (line) -> {
+			}, "help:effective-pom");
+			try (Reader reader = new FileReader(effectiveBomFile)) {
+				return new MavenXpp3Reader().read(reader);
+			}
+		}
+		catch (MavenInvocationFailedException ex) {
+			System.err.println("Failed to create effective bom from '" + bom.getAbsolutePath() + "':");
+			ex.getOutputLines().forEach(System.err::println);
+			System.exit(-1);
+			return null;
+		}
+		catch (IOException | XmlPullParserException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			effectiveBomFile.delete();
+		}
+	}
+
+	private File createTempFile() {
+		try {
+			return File.createTempFile("effective-", ".pom");
+		}
+		catch (IOException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+}
@@ -19,10 +19,13 @@ package io.spring.bomr.verify;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.PrintStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
 
 import org.apache.maven.shared.invoker.DefaultInvocationRequest;
 import org.apache.maven.shared.invoker.DefaultInvoker;
@@ -32,25 +35,39 @@ import org.apache.maven.shared.invoker.InvokerLogger;
 import org.apache.maven.shared.invoker.PrintStreamLogger;
 
 /**
- * A {@code MavenInvoker} can be used to programmatically invoke Maven.
+ * A {@code MavenInvoker} can be used to programmatically invoke Maven. Maven's output is
+ * streamed to a listener as it is produced. Only the most recent lines are retained so
+ * that memory usage remains flat irrespective of the amount of output.
  *
  * @author Andy Wilkinson
  */
 class MavenInvoker {
 
+	private static final int RETAINED_LINES = 200;
+
 	private final File mavenHome;
 
 	MavenInvoker(File mavenHome) {
 		this.mavenHome = mavenHome;
 	}
 
-	void invoke(File pom, Properties properties, String... goals) throws MavenInvocationFailedException {
+	/**
+	 * Invokes Maven with the given {@code goals}.
+	 * @param pom the pom to build
+	 * @param properties the system properties for the build
+	 * @param outputListener listener that is called with each line of output as it is
+	 * produced
+	 * @param goals the goals to execute
+	 * @throws MavenInvocationFailedException if the build fails
+	 */
+	void invoke(File pom, Properties properties, Consumer<String> outputListener, String... goals)
+			throws MavenInvocationFailedException {
 		DefaultInvocationRequest invocation = new DefaultInvocationRequest();
 		invocation.setPomFile(pom);
 		invocation.setGoals(Arrays.asList(goals));
 		invocation.setProperties(properties);
 		invocation.setUpdateSnapshots(true);
-		CapturingInvocationOutputHandler outputHandler = new CapturingInvocationOutputHandler();
+		TailCapturingInvocationOutputHandler outputHandler = new TailCapturingInvocationOutputHandler(outputListener);
 		invocation.setOutputHandler(outputHandler);
 		DefaultInvoker invoker = new DefaultInvoker();
 		invoker.setLogger(
@@ -64,7 +81,7 @@ class MavenInvoker {
 			throw new RuntimeException(ex);
 		}
 		if (result.getExitCode() != 0) {
-			throw new MavenInvocationFailedException(outputHandler.lines);
+			throw new MavenInvocationFailedException(new ArrayList<>(outputHandler.lines));
 		}
 	}
 
@@ -80,19 +97,33 @@ class MavenInvoker {
 			this.outputLines = outputLines;
 		}
 
+		/**
+		 * Returns the last lines of Maven's output.
+		 * @return the last lines of output
+		 */
 		List<String> getOutputLines() {
 			return this.outputLines;
 		}
 
 	}
 
-	private final class CapturingInvocationOutputHandler implements InvocationOutputHandler {
+	private static final class TailCapturingInvocationOutputHandler implements InvocationOutputHandler {
 
-		private final List<String> lines = new ArrayList<>();
+		private final Deque<String> lines = new ArrayDeque<>(RETAINED_LINES);
+
+		private final Consumer<String> listener;
+
+		private TailCapturingInvocationOutputHandler(Consumer<String> listener) {
+			this.listener = listener;
+		}
 
 		@Override
 		public void consumeLine(String line) {
-			this.lines.add(line);
+			this.listener.accept(line);
+			if (this.lines.size() == RETAINED_LINES) {
+				this.lines.removeFirst();
+			}
+			this.lines.addLast(line);
 		}
 
 	}
@@ -33,6 +33,12 @@ public class MavenProperties {
 	 */
 	private File home;
 
+	/**
+	 * Local repository used when resolving dependencies in-process. When not set, the
+	 * local repository configured in Maven's settings, or ~/.m2/repository, is used.
+	 */
+	private File localRepository;
+
 	/**
 	 * Returns the location of Maven's home directory.
 	 * @return the home directory
@@ -49,4 +55,23 @@ public class MavenProperties {
 		this.home = home;
 	}
 
+	/**
+	 * Returns the location of the local repository that is used when resolving
+	 * dependencies in-process.
+	 * @return the local repository or {@code null} if the local repository configured in
+	 * Maven's settings should be used
+	 */
+	public File getLocalRepository() {
+		return this.localRepository;
+	}
+
+	/**
+	 * Sets the location of the local repository that is used when resolving dependencies
+	 * in-process.
+	 * @param localRepository the local repository
+	 */
+	public void setLocalRepository(File localRepository) {
+		this.localRepository = localRepository;
+	}
+
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import org.apache.maven.settings.Mirror;
+import org.apache.maven.settings.Profile;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.Settings;
+import org.apache.maven.settings.building.DefaultSettingsBuilderFactory;
+import org.apache.maven.settings.building.DefaultSettingsBuildingRequest;
+import org.apache.maven.settings.building.SettingsBuildingException;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.util.repository.AuthenticationBuilder;
+import org.eclipse.aether.util.repository.DefaultAuthenticationSelector;
+import org.eclipse.aether.util.repository.DefaultMirrorSelector;
+import org.eclipse.aether.util.repository.DefaultProxySelector;
+import org.eclipse.aether.util.repository.JreProxySelector;
+
+/**
+ * The parts of Maven's {@code settings.xml} that are used when resolving in-process:
+ * the local repository, mirrors, the credentials of servers, proxies, and the
+ * repositories of active profiles. Settings are read from Maven's global
+ * {@code conf/settings.xml} and from the user's {@code ~/.m2/settings.xml}, with the
+ * latter taking precedence.
+ *
+ * @author Andy Wilkinson
+ */
+final class MavenSettings {
+
+	private final Settings settings;
+
+	private final File localRepository;
+
+	MavenSettings(Settings settings, File localRepository) {
+		this.settings = settings;
+		this.localRepository = localRepository;
+	}
+
+	/**
+	 * Loads the settings of the Maven installation described by the given
+	 * {@code properties}. The local repository is
+	 * {@link MavenProperties#getLocalRepository() configured explicitly}, taken from the
+	 * settings, or {@code ~/.m2/repository}, in that order of precedence.
+	 * @param properties the Maven properties
+	 * @return the settings
+	 */
+	static MavenSettings load(MavenProperties properties) {
+		return load(properties, new File(System.getProperty("user.home")));
+	}
+
+	static MavenSettings load(MavenProperties properties, File userHome) {
+		File mavenHome = (properties.getHome() != null) ? properties.getHome() : findMavenHome();
+		DefaultSettingsBuildingRequest request = new DefaultSettingsBuildingRequest();
+		request.setUserSettingsFile(new File(userHome, ".m2/settings.xml"));
+		if (mavenHome != null) {
+			request.setGlobalSettingsFile(new File(mavenHome, "conf/settings.xml"));
+		}
+		request.setSystemProperties(getSystemProperties());
+		Settings settings;
+		try {
+			settings = new DefaultSettingsBuilderFactory().newInstance().build(request).getEffectiveSettings();
+		}
+		catch (SettingsBuildingException ex) {
+			throw new IllegalStateException("Failed to read Maven settings: " + ex.getMessage(), ex);
+		}
+		File localRepository = properties.getLocalRepository();
+		if (localRepository == null) {
+			localRepository = (settings.getLocalRepository() != null) ? new File(settings.getLocalRepository())
+					: new File(userHome, ".m2/repository");
+		}
+		return new MavenSettings(settings, localRepository);
+	}
+
+	private static File findMavenHome() {
+		String mavenHome = System.getProperty("maven.home", System.getenv("M2_HOME"));
+		return (mavenHome != null) ? new File(mavenHome) : null;
+	}
+
+	private static Properties getSystemProperties() {
+		Properties properties = new Properties();
+		for (Map.Entry<String, String> variable : System.getenv().entrySet()) {
+			properties.setProperty("env." + variable.getKey(), variable.getValue());
+		}
+		properties.putAll(System.getProperties());
+		return properties;
+	}
+
+	/**
+	 * Returns the local repository.
+	 * @return the local repository
+	 */
+	File getLocalRepository() {
+		return this.localRepository;
+	}
+
+	/**
+	 * Returns the repositories of the profiles that are active. As with Maven, a profile
+	 * that is active by default is only active when no profile has been activated
+	 * explicitly.
+	 * @return the repositories
+	 */
+	List<Repository> getRepositories() {
+		List<Profile> activeProfiles = this.settings.getProfiles().stream()
+				.filter((profile) -> this.settings.getActiveProfiles().contains(profile.getId()))
+				.collect(Collectors.toList());
+		if (activeProfiles.isEmpty()) {
+			activeProfiles = this.settings.getProfiles().stream()
+					.filter((profile) -> profile.getActivation() != null
+							&& profile.getActivation().isActiveByDefault())
+					.collect(Collectors.toList());
+		}
+		List<Repository> repositories = new ArrayList<>();
+		for (Profile profile : activeProfiles) {
+			for (org.apache.maven.settings.Repository repository : profile.getRepositories()) {
+				repositories.add(new Repository(repository.getId(), URI.create(repository.getUrl()),
+						repository.getSnapshots() != null && repository.getSnapshots().isEnabled()));
+			}
+		}
+		return repositories;
+	}
+
+	/**
+	 * Applies the mirrors, the credentials of the servers, and the proxies to the given
+	 * {@code session}. When no proxy is active, the proxies configured using the standard
+	 * {@code http.proxyHost} and {@code https.proxyHost} system properties are used.
+	 * @param session the session
+	 */
+	void applyTo(DefaultRepositorySystemSession session) {
+		DefaultMirrorSelector mirrorSelector = new DefaultMirrorSelector();
+		for (Mirror mirror : this.settings.getMirrors()) {
+			mirrorSelector.add(mirror.getId(), mirror.getUrl(), mirror.getLayout(), false, mirror.getMirrorOf(),
+					mirror.getMirrorOfLayouts());
+		}
+		session.setMirrorSelector(mirrorSelector);
+		DefaultAuthenticationSelector authenticationSelector = new DefaultAuthenticationSelector();
+		for (Server server : this.settings.getServers()) {
+			authenticationSelector.add(server.getId(),
+					new AuthenticationBuilder().addUsername(server.getUsername()).addPassword(server.getPassword())
+							.addPrivateKey(server.getPrivateKey(), server.getPassphrase()).build());
+		}
+		session.setAuthenticationSelector(authenticationSelector);
+		List<Proxy> activeProxies = this.settings.getProxies().stream().filter(Proxy::isActive)
+				.collect(Collectors.toList());
+		if (activeProxies.isEmpty()) {
+			session.setProxySelector(new JreProxySelector());
+			return;
+		}
+		DefaultProxySelector proxySelector = new DefaultProxySelector();
+		for (Proxy proxy : activeProxies) {
+			proxySelector.add(new org.eclipse.aether.repository.Proxy(proxy.getProtocol(), proxy.getHost(),
+					proxy.getPort(),
+					new AuthenticationBuilder().addUsername(proxy.getUsername()).addPassword(proxy.getPassword())
+							.build()),
+					proxy.getNonProxyHosts());
+		}
+		session.setProxySelector(proxySelector);
+	}
+
+}
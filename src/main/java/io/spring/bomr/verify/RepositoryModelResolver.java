@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.Repository;
+import org.apache.maven.model.building.FileModelSource;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.model.resolution.ModelResolver;
+import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+
+/**
+ * A {@link ModelResolver} that uses Maven Resolver to resolve the parent and imported
+ * poms that are needed to build an effective model. Poms that have already been
+ * downloaded are resolved from the local repository. As with Maven's project builder, the
+ * repositories with which the resolver is created take precedence over any repositories
+ * with the same id that are declared in the poms. The session's mirrors, credentials, and
+ * proxies are applied to the repositories when each pom is resolved.
+ *
+ * @author Andy Wilkinson
+ */
+class RepositoryModelResolver implements ModelResolver {
+
+	private final RepositorySystem system;
+
+	private final RepositorySystemSession session;
+
+	private final List<RemoteRepository> repositories;
+
+	private final Set<String> dominantRepositoryIds;
+
+	RepositoryModelResolver(RepositorySystem system, RepositorySystemSession session,
+			List<RemoteRepository> repositories) {
+		this(system, session, repositories,
+				repositories.stream().map(RemoteRepository::getId).collect(Collectors.toSet()));
+	}
+
+	private RepositoryModelResolver(RepositorySystem system, RepositorySystemSession session,
+			List<RemoteRepository> repositories, Set<String> dominantRepositoryIds) {
+		this.system = system;
+		this.session = session;
+		this.repositories = new ArrayList<>(repositories);
+		this.dominantRepositoryIds = dominantRepositoryIds;
+	}
+
+	@Override
+	public ModelSource resolveModel(String groupId, String artifactId, String version)
+			throws UnresolvableModelException {
+		ArtifactRequest request = new ArtifactRequest(new DefaultArtifact(groupId, artifactId, "", "pom", version),
+				this.system.newResolutionRepositories(this.session, this.repositories), null);
+		try {
+			return new FileModelSource(this.system.resolveArtifact(this.session, request).getArtifact().getFile());
+		}
+		catch (ArtifactResolutionException ex) {
+			throw new UnresolvableModelException(ex.getMessage(), groupId, artifactId, version, ex);
+		}
+	}
+
+	@Override
+	public ModelSource resolveModel(Parent parent) throws UnresolvableModelException {
+		return resolveModel(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+	}
+
+	@Override
+	public ModelSource resolveModel(Dependency dependency) throws UnresolvableModelException {
+		return resolveModel(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+	}
+
+	@Override
+	public void addRepository(Repository repository) {
+		addRepository(repository, false);
+	}
+
+	@Override
+	public void addRepository(Repository repository, boolean replace) {
+		for (int i = 0; i < this.repositories.size(); i++) {
+			if (this.repositories.get(i).getId().equals(repository.getId())) {
+				if (replace && !this.dominantRepositoryIds.contains(repository.getId())) {
+					this.repositories.set(i, createRemoteRepository(repository));
+				}
+				return;
+			}
+		}
+		this.repositories.add(createRemoteRepository(repository));
+	}
+
+	private RemoteRepository createRemoteRepository(Repository repository) {
+		return RepositorySystems.createRemoteRepository(repository.getId(), repository.getUrl(),
+				repository.getSnapshots() != null && repository.getSnapshots().isEnabled());
+	}
+
+	@Override
+	public ModelResolver newCopy() {
+		return new RepositoryModelResolver(this.system, this.session, this.repositories, this.dominantRepositoryIds);
+	}
+
+}
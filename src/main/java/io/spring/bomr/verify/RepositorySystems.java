@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.spring.bomr.http.HttpProperties;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.ConfigurationProperties;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.connector.basic.BasicRepositoryConnectorFactory;
+import org.eclipse.aether.impl.DefaultServiceLocator;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.spi.connector.RepositoryConnectorFactory;
+import org.eclipse.aether.spi.connector.transport.TransporterFactory;
+import org.eclipse.aether.transport.file.FileTransporterFactory;
+import org.eclipse.aether.transport.http.HttpTransporterFactory;
+
+/**
+ * Factory methods for the Maven Resolver {@link RepositorySystem}, sessions, and remote
+ * repositories that are used to verify a bom in-process.
+ *
+ * @author Andy Wilkinson
+ */
+final class RepositorySystems {
+
+	private static final String CENTRAL_URL = "https://repo.maven.apache.org/maven2/";
+
+	private RepositorySystems() {
+	}
+
+	static RepositorySystem createRepositorySystem() {
+		DefaultServiceLocator locator = MavenRepositorySystemUtils.newServiceLocator();
+		locator.addService(RepositoryConnectorFactory.class, BasicRepositoryConnectorFactory.class);
+		locator.addService(TransporterFactory.class, FileTransporterFactory.class);
+		locator.addService(TransporterFactory.class, HttpTransporterFactory.class);
+		locator.setErrorHandler(new DefaultServiceLocator.ErrorHandler() {
+
+			@Override
+			public void serviceCreationFailed(Class<?> type, Class<?> impl, Throwable exception) {
+				throw new IllegalStateException("Failed to create " + impl.getName(), exception);
+			}
+
+		});
+		return locator.getService(RepositorySystem.class);
+	}
+
+	/**
+	 * Creates a read-only session that uses the local repository, mirrors, server
+	 * credentials, and proxies of the given {@code settings}. Maven Resolver makes its
+	 * requests using its own HTTP client rather than the client that is shared by Bomr's
+	 * other components, so the connect and read timeouts of the given {@code http}
+	 * properties are applied to it.
+	 * @param system the repository system
+	 * @param settings the Maven settings
+	 * @param http the HTTP properties
+	 * @return the session
+	 */
+	static RepositorySystemSession createSession(RepositorySystem system, MavenSettings settings,
+			HttpProperties http) {
+		DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+		session.setConfigProperty(ConfigurationProperties.CONNECT_TIMEOUT, (int) http.getConnectTimeout().toMillis());
+		session.setConfigProperty(ConfigurationProperties.REQUEST_TIMEOUT, (int) http.getReadTimeout().toMillis());
+		settings.applyTo(session);
+		session.setLocalRepositoryManager(
+				system.newLocalRepositoryManager(session, new LocalRepository(settings.getLocalRepository())));
+		session.setReadOnly();
+		return session;
+	}
+
+	/**
+	 * Creates the remote repositories for the repositories of the active profiles of the
+	 * given {@code settings} and the given {@code repositories}, adding Maven Central if
+	 * no repository has the id {@code central}. The remote repositories are raw: a
+	 * session's mirrors, credentials, and proxies are applied by
+	 * {@link RepositorySystem#newResolutionRepositories}.
+	 * @param settings the Maven settings
+	 * @param repositories the repositories
+	 * @return the remote repositories
+	 */
+	static List<RemoteRepository> createRemoteRepositories(MavenSettings settings, List<Repository> repositories) {
+		List<Repository> allRepositories = new ArrayList<>(settings.getRepositories());
+		allRepositories.addAll(repositories);
+		List<RemoteRepository> remoteRepositories = new ArrayList<>();
+		for (Repository repository : allRepositories) {
+			remoteRepositories.add(createRemoteRepository(repository.getId(), repository.getUrl().toString(),
+					repository.isSnapshotsEnabled()));
+		}
+		if (remoteRepositories.stream().noneMatch((repository) -> "central".equals(repository.getId()))) {
+			remoteRepositories.add(createRemoteRepository("central", CENTRAL_URL, false));
+		}
+		return remoteRepositories;
+	}
+
+	static RemoteRepository createRemoteRepository(String id, String url, boolean snapshotsEnabled) {
+		return new RemoteRepository.Builder(id, "default", url)
+				.setSnapshotPolicy(new RepositoryPolicy(snapshotsEnabled, RepositoryPolicy.UPDATE_POLICY_ALWAYS,
+						RepositoryPolicy.CHECKSUM_POLICY_WARN))
+				.build();
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import io.spring.bomr.http.HttpProperties;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactType;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * A {@link DependencyVerifier} that verifies dependencies in-process using Maven
+ * Resolver. Each dependency, and its transitive dependencies, is resolved concurrently
+ * using a single session that is shared by all of the resolutions, with the bom's
+ * dependency management applied as it would be in a project that uses the bom as its
+ * parent.
+ *
+ * @author Andy Wilkinson
+ */
+class ResolverDependencyVerifier implements DependencyVerifier {
+
+	private final MavenSettings settings;
+
+	private final HttpProperties http;
+
+	private final int threads;
+
+	ResolverDependencyVerifier(MavenSettings settings, HttpProperties http, int threads) {
+		this.settings = settings;
+		this.http = http;
+		this.threads = Math.max(1, threads);
+	}
+
+	@Override
+	public void verify(File bomFile, VerifiableBom bom, List<ManagedDependency> dependencies,
+			List<Repository> repositories, VerificationReport report) {
+		RepositorySystem system = RepositorySystems.createRepositorySystem();
+		RepositorySystemSession session = RepositorySystems.createSession(system, this.settings, this.http);
+		List<RemoteRepository> remoteRepositories = system.newResolutionRepositories(session,
+				RepositorySystems.createRemoteRepositories(this.settings, repositories));
+		List<Dependency> managedDependencies = bom.getManagedDependencies().stream()
+				.map((dependency) -> new Dependency(createArtifact(session, dependency), null))
+				.collect(Collectors.toList());
+		ExecutorService executor = Executors.newFixedThreadPool(this.threads);
+		try {
+			List<Future<?>> resolutions = new ArrayList<>();
+			for (ManagedDependency dependency : dependencies) {
+				resolutions.add(executor.submit(() -> resolve(system, session, dependency, managedDependencies,
+						remoteRepositories, report)));
+			}
+			for (Future<?> resolution : resolutions) {
+				resolution.get();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while verifying dependencies", ex);
+		}
+		catch (ExecutionException ex) {
+			throw new RuntimeException(ex.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void resolve(RepositorySystem system, RepositorySystemSession session, ManagedDependency dependency,
+			List<Dependency> managedDependencies, List<RemoteRepository> repositories, VerificationReport report) {
+		CollectRequest collectRequest = new CollectRequest(
+				new Dependency(createArtifact(session, dependency), "compile"), repositories);
+		collectRequest.setManagedDependencies(managedDependencies);
+		try {
+			system.resolveDependencies(session, new DependencyRequest(collectRequest, null));
+		}
+		catch (DependencyResolutionException | RuntimeException ex) {
+			List<String> messages = new ArrayList<>();
+			for (Throwable failure = ex; failure != null; failure = failure.getCause()) {
+				String message = failure.getMessage();
+				if (message != null && messages.stream().noneMatch((existing) -> existing.contains(message))) {
+					messages.add(message);
+				}
+			}
+			report.failed(dependency, messages);
+		}
+	}
+
+	private Artifact createArtifact(RepositorySystemSession session, ManagedDependency dependency) {
+		ArtifactType type = session.getArtifactTypeRegistry().get(dependency.getType());
+		String classifier = StringUtils.hasText(dependency.getClassifier()) ? dependency.getClassifier()
+				: (type != null) ? type.getClassifier() : "";
+		String extension = (type != null) ? type.getExtension() : dependency.getType();
+		return new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(), classifier, extension,
+				dependency.getVersion(), type);
+	}
+
+}
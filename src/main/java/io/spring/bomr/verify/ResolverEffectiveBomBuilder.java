@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.spring.bomr.http.HttpProperties;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.building.DefaultModelBuilderFactory;
+import org.apache.maven.model.building.DefaultModelBuildingRequest;
+import org.apache.maven.model.building.ModelBuilder;
+import org.apache.maven.model.building.ModelBuildingException;
+import org.apache.maven.model.building.ModelBuildingRequest;
+import org.apache.maven.model.building.ModelCache;
+import org.apache.maven.model.building.ModelProblem;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * An {@link EffectiveBomBuilder} that builds the effective model of a bom in-process.
+ * Parent and imported poms are resolved using Maven Resolver, configured using Maven's
+ * settings, and are cached once they have been read.
+ *
+ * @author Andy Wilkinson
+ */
+class ResolverEffectiveBomBuilder implements EffectiveBomBuilder {
+
+	private final ModelBuilder modelBuilder = new DefaultModelBuilderFactory().newInstance();
+
+	private final ModelCache modelCache = new InMemoryModelCache();
+
+	private final MavenSettings settings;
+
+	private final HttpProperties http;
+
+	ResolverEffectiveBomBuilder(MavenSettings settings, HttpProperties http) {
+		this.settings = settings;
+		this.http = http;
+	}
+
+	@Override
+	public Model build(File bom, List<Repository> repositories) {
+		RepositorySystem system = RepositorySystems.createRepositorySystem();
+		RepositorySystemSession session = RepositorySystems.createSession(system, this.settings, this.http);
+		DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
+		request.setPomFile(bom);
+		request.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+		request.setProcessPlugins(false);
+		request.setSystemProperties(System.getProperties());
+		request.setModelCache(this.modelCache);
+		request.setModelResolver(new RepositoryModelResolver(system, session,
+				RepositorySystems.createRemoteRepositories(this.settings, repositories)));
+		try {
+			return this.modelBuilder.build(request).getEffectiveModel();
+		}
+		catch (ModelBuildingException ex) {
+			System.err.println("Failed to create effective bom from '" + bom.getAbsolutePath() + "':");
+			for (ModelProblem problem : ex.getProblems()) {
+				System.err.println("  [" + problem.getSeverity() + "] " + problem.getMessage());
+			}
+			System.exit(-1);
+			return null;
+		}
+	}
+
+	/**
+	 * A {@link ModelCache} that holds the parts of the models that have been read in
+	 * memory.
+	 */
+	private static final class InMemoryModelCache implements ModelCache {
+
+		private final Map<String, Object> entries = new ConcurrentHashMap<>();
+
+		@Override
+		public void put(String groupId, String artifactId, String version, String tag, Object data) {
+			this.entries.put(key(groupId, artifactId, version, tag), data);
+		}
+
+		@Override
+		public Object get(String groupId, String artifactId, String version, String tag) {
+			return this.entries.get(key(groupId, artifactId, version, tag));
+		}
+
+		private String key(String groupId, String artifactId, String version, String tag) {
+			return groupId + ":" + artifactId + ":" + version + ":" + tag;
+		}
+
+	}
+
+}
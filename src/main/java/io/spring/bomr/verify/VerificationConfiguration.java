@@ -19,6 +19,7 @@ package io.spring.bomr.verify;
 import com.samskivert.mustache.Mustache.Compiler;
 import com.samskivert.mustache.Mustache.TemplateLoader;
 import io.spring.bomr.BomrProperties;
+import io.spring.bomr.http.HttpProperties;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -35,9 +36,31 @@ class VerificationConfiguration {
 
 	@Bean
 	public VerifyCommand verifyCommand(BomrProperties bomr, MavenProperties maven, VerifyProperties verify,
-			Compiler compiler, TemplateLoader templateLoader) {
-		return new VerifyCommand(new BomVerifier(new MavenInvoker(maven.getHome()), compiler, templateLoader),
+			HttpProperties http, Compiler compiler, TemplateLoader templateLoader) {
+		MavenInvoker mavenInvoker = new MavenInvoker(maven.getHome());
+		MavenSettings settings = (verify.getEngine() == VerificationEngine.RESOLVER) ? MavenSettings.load(maven)
+				: null;
+		return new VerifyCommand(
+				new BomVerifier(createEffectiveBomBuilder(verify, mavenInvoker, settings, http),
+						createDependencyVerifier(verify, mavenInvoker, settings, http, compiler, templateLoader),
+						new VerificationLedger(verify.getLedger())),
 				bomr.getBom(), verify.getIgnoredDependencies(), verify.getRepositories());
 	}
 
+	private EffectiveBomBuilder createEffectiveBomBuilder(VerifyProperties verify, MavenInvoker mavenInvoker,
+			MavenSettings settings, HttpProperties http) {
+		if (verify.getEngine() == VerificationEngine.RESOLVER) {
+			return new ResolverEffectiveBomBuilder(settings, http);
+		}
+		return new MavenEffectiveBomBuilder(mavenInvoker);
+	}
+
+	private DependencyVerifier createDependencyVerifier(VerifyProperties verify, MavenInvoker mavenInvoker,
+			MavenSettings settings, HttpProperties http, Compiler compiler, TemplateLoader templateLoader) {
+		if (verify.getEngine() == VerificationEngine.RESOLVER) {
+			return new ResolverDependencyVerifier(settings, http, verify.getThreads());
+		}
+		return new MavenDependencyVerifier(mavenInvoker, compiler, templateLoader, verify.getShards());
+	}
+
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+/**
+ * The engines that can be used to verify a bom's managed dependencies.
+ *
+ * @author Andy Wilkinson
+ */
+public enum VerificationEngine {
+
+	/**
+	 * Verify the dependencies by invoking Maven using {@code bomr.maven.home}.
+	 */
+	MAVEN,
+
+	/**
+	 * Verify the dependencies in-process using Maven Resolver.
+	 */
+	RESOLVER
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * An on-disk ledger of the outcome of verifying each managed dependency. Outcomes are
+ * keyed by {@code groupId:artifactId:classifier:type:version} so that a dependency
+ * whose version has changed since it was last verified is verified again.
+ *
+ * @author Andy Wilkinson
+ */
+final class VerificationLedger {
+
+	private static final String PASSED = "passed";
+
+	private static final String FAILED = "failed";
+
+	private final File file;
+
+	/**
+	 * Creates a new ledger that is stored in the given {@code file}.
+	 * @param file the file in which the ledger is stored
+	 */
+	VerificationLedger(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns those of the given {@code dependencies} that have not passed verification
+	 * with their current version.
+	 * @param dependencies the dependencies
+	 * @return the dependencies that have not passed verification
+	 */
+	List<ManagedDependency> notPassed(List<ManagedDependency> dependencies) {
+		Properties ledger = load();
+		return dependencies.stream().filter((dependency) -> !PASSED.equals(ledger.getProperty(key(dependency))))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Records the outcome of each of the dependencies in the given {@code report},
+	 * replacing the outcome of any other version of the same dependency.
+	 * @param report the verification report
+	 */
+	void record(VerificationReport report) {
+		Properties ledger = load();
+		Map<ManagedDependency, List<String>> failures = report.getFailures();
+		for (ManagedDependency dependency : report.getDependencies()) {
+			String key = key(dependency);
+			String unversionedKey = key.substring(0, key.lastIndexOf(':') + 1);
+			ledger.stringPropertyNames().stream().filter((candidate) -> candidate.startsWith(unversionedKey)
+					&& candidate.indexOf(':', unversionedKey.length()) == -1).forEach(ledger::remove);
+			ledger.setProperty(key, failures.containsKey(dependency) ? FAILED : PASSED);
+		}
+		try {
+			File directory = this.file.getAbsoluteFile().getParentFile();
+			directory.mkdirs();
+			File tempFile = File.createTempFile(this.file.getName(), ".tmp", directory);
+			try (Writer writer = new FileWriter(tempFile)) {
+				ledger.store(writer, null);
+			}
+			Files.move(tempFile.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ex) {
+			System.err.println("Failed to update verification ledger " + this.file + ": " + ex.getMessage());
+		}
+	}
+
+	private Properties load() {
+		Properties ledger = new Properties();
+		if (this.file.isFile()) {
+			try (Reader reader = new FileReader(this.file)) {
+				ledger.load(reader);
+			}
+			catch (IOException ex) {
+				System.err.println("Failed to read verification ledger " + this.file + ": " + ex.getMessage());
+			}
+		}
+		return ledger;
+	}
+
+	private String key(ManagedDependency dependency) {
+		return dependency.getGroupId() + ":" + dependency.getArtifactId() + ":"
+				+ ((dependency.getClassifier() != null) ? dependency.getClassifier() : "") + ":" + dependency.getType()
+				+ ":" + dependency.getVersion();
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A report of the verification of each of a bom's managed dependencies.
+ *
+ * @author Andy Wilkinson
+ */
+final class VerificationReport {
+
+	private final Map<ManagedDependency, List<String>> failures = new LinkedHashMap<>();
+
+	private final List<ManagedDependency> dependencies;
+
+	/**
+	 * Creates a new report for the given {@code dependencies}, all of which are initially
+	 * considered to have passed verification.
+	 * @param dependencies the dependencies that are being verified
+	 */
+	VerificationReport(List<ManagedDependency> dependencies) {
+		this.dependencies = dependencies;
+	}
+
+	/**
+	 * Returns the dependencies that are being verified.
+	 * @return the dependencies
+	 */
+	List<ManagedDependency> getDependencies() {
+		return this.dependencies;
+	}
+
+	/**
+	 * Records that the given {@code dependency} failed verification.
+	 * @param dependency the dependency
+	 * @param output the lines of Maven's output that describe the failure
+	 */
+	synchronized void failed(ManagedDependency dependency, List<String> output) {
+		this.failures.put(dependency, output);
+	}
+
+	/**
+	 * Returns the dependencies that failed verification, each mapped to the lines of
+	 * Maven's output that describe the failure, in the order in which they are managed.
+	 * @return the failed dependencies
+	 */
+	synchronized Map<ManagedDependency, List<String>> getFailures() {
+		Map<ManagedDependency, List<String>> failures = new LinkedHashMap<>();
+		for (ManagedDependency dependency : this.dependencies) {
+			List<String> output = this.failures.get(dependency);
+			if (output != null) {
+				failures.put(dependency, output);
+			}
+		}
+		return Collections.unmodifiableMap(failures);
+	}
+
+	/**
+	 * Prints the report to the given {@code output}.
+	 * @param output the output to print to
+	 */
+	void print(PrintStream output) {
+		Map<ManagedDependency, List<String>> failures = getFailures();
+		output.println((this.dependencies.size() - failures.size()) + " of " + this.dependencies.size()
+				+ " dependencies passed verification.");
+		if (failures.isEmpty()) {
+			return;
+		}
+		output.println();
+		output.println(failures.size() + " dependencies failed verification:");
+		failures.forEach((dependency, lines) -> {
+			output.println();
+			output.println("  " + dependency);
+			lines.forEach((line) -> output.println("    " + line));
+		});
+	}
+
+}
@@ -18,6 +18,7 @@ package io.spring.bomr.verify;
 
 import java.io.File;
 import java.net.URI;
+import java.util.HashSet;
 import java.util.Set;
 
 import io.spring.bomr.Command;
@@ -75,7 +76,12 @@ class VerifyCommand implements Command {
 			System.err.println();
 			System.exit(-1);
 		}
-		this.verifier.verify(this.bom, this.ignoredDependencies, this.repositories);
+		VerifyCommandArguments arguments = VerifyCommandArguments.parse(args);
+		Set<String> ignoredDependencies = new HashSet<>(this.ignoredDependencies);
+		ignoredDependencies.addAll(arguments.getIgnores());
+		Set<URI> repositories = new HashSet<>(this.repositories);
+		repositories.addAll(arguments.getRepositoryUris());
+		this.verifier.verify(this.bom, ignoredDependencies, repositories, arguments.isIncremental());
 	}
 
 }
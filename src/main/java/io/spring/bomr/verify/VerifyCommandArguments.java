@@ -25,6 +25,7 @@ import joptsimple.ArgumentAcceptingOptionSpec;
 import joptsimple.BuiltinHelpFormatter;
 import joptsimple.OptionParser;
 import joptsimple.OptionSet;
+import joptsimple.OptionSpec;
 
 /**
  * Command line arguments for the {@link VerifyCommand}.
@@ -37,9 +38,12 @@ final class VerifyCommandArguments {
 
 	private final Set<URI> repositoryUris;
 
-	private VerifyCommandArguments(Set<String> ignores, Set<URI> repositoryUris) {
+	private final boolean incremental;
+
+	private VerifyCommandArguments(Set<String> ignores, Set<URI> repositoryUris, boolean incremental) {
 		this.ignores = ignores;
 		this.repositoryUris = repositoryUris;
+		this.incremental = incremental;
 	}
 
 	static VerifyCommandArguments parse(String[] args) {
@@ -51,13 +55,15 @@ final class VerifyCommandArguments {
 		ArgumentAcceptingOptionSpec<URI> repositorySpec = optionParser
 				.accepts("repository", "Additional repository to use for dependency resolution").withRequiredArg()
 				.ofType(URI.class);
+		OptionSpec<Void> incrementalSpec = optionParser.accepts("incremental",
+				"Only verify dependencies whose version has changed or that have not passed verification before");
 		try {
 			OptionSet parsed = optionParser.parse(args);
 			if (parsed.nonOptionArguments().size() != 0) {
 				showUsageAndExit(optionParser);
 			}
 			return new VerifyCommandArguments(new HashSet<>(parsed.valuesOf(ignoreSpec)),
-					new HashSet<>(parsed.valuesOf(repositorySpec)));
+					new HashSet<>(parsed.valuesOf(repositorySpec)), parsed.has(incrementalSpec));
 		}
 		catch (Exception ex) {
 			showUsageAndExit(optionParser);
@@ -86,4 +92,8 @@ final class VerifyCommandArguments {
 		return this.repositoryUris;
 	}
 
+	boolean isIncremental() {
+		return this.incremental;
+	}
+
 }
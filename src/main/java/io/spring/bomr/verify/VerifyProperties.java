@@ -16,6 +16,7 @@
 
 package io.spring.bomr.verify;
 
+import java.io.File;
 import java.net.URI;
 import java.util.HashSet;
 import java.util.Set;
@@ -40,6 +41,27 @@ public class VerifyProperties {
 	 */
 	private final Set<URI> repositories = new HashSet<>();
 
+	/**
+	 * Number of shards into which the dependencies are split, each shard being verified
+	 * concurrently by a separate invocation of Maven.
+	 */
+	private int shards = 1;
+
+	/**
+	 * Engine used to verify the dependencies.
+	 */
+	private VerificationEngine engine = VerificationEngine.MAVEN;
+
+	/**
+	 * Number of threads used to resolve the dependencies when using the resolver engine.
+	 */
+	private int threads = 8;
+
+	/**
+	 * Ledger in which the outcome of verifying each dependency is recorded.
+	 */
+	private File ledger = new File(".bomr/verification-ledger.properties");
+
 	public Set<String> getIgnoredDependencies() {
 		return this.ignoredDependencies;
 	}
@@ -48,4 +70,36 @@ public class VerifyProperties {
 		return this.repositories;
 	}
 
+	public int getShards() {
+		return this.shards;
+	}
+
+	public void setShards(int shards) {
+		this.shards = shards;
+	}
+
+	public VerificationEngine getEngine() {
+		return this.engine;
+	}
+
+	public void setEngine(VerificationEngine engine) {
+		this.engine = engine;
+	}
+
+	public int getThreads() {
+		return this.threads;
+	}
+
+	public void setThreads(int threads) {
+		this.threads = threads;
+	}
+
+	public File getLedger() {
+		return this.ledger;
+	}
+
+	public void setLedger(File ledger) {
+		this.ledger = ledger;
+	}
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link IndexedArtifactsFinder}.
+ *
+ * @author Andy Wilkinson
+ */
+public class IndexedArtifactsFinderTests {
+
+	private static final URI REPOSITORY = URI.create("https://repo.example.com/maven2/");
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final RecordingArtifactsFinder delegate = new RecordingArtifactsFinder();
+
+	@Test
+	public void artifactsOfAnIndexedVersionAreFoundWithoutUsingTheDelegate() throws Exception {
+		ArtifactsIndex index = new ArtifactsIndex(this.temp.getRoot());
+		assertThat(new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "1.0.0"))
+				.containsExactly("alpha", "bravo");
+		assertThat(new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "1.0.0"))
+				.containsExactly("alpha", "bravo");
+		assertThat(this.delegate.searches).containsExactly(Collections.singletonList("1.0.0"));
+	}
+
+	@Test
+	public void onlyVersionsThatHaveNotBeenIndexedAreFoundUsingTheDelegate() throws Exception {
+		ArtifactsIndex index = new ArtifactsIndex(this.temp.getRoot());
+		new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "1.0.0");
+		Map<String, Set<String>> artifacts = new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false)
+				.find("com.example", Arrays.asList("1.0.0", "2.0.0"));
+		assertThat(artifacts).containsOnlyKeys("alpha", "bravo", "charlie");
+		assertThat(artifacts.get("alpha")).containsExactly("1.0.0", "2.0.0");
+		assertThat(artifacts.get("bravo")).containsExactly("1.0.0");
+		assertThat(artifacts.get("charlie")).containsExactly("2.0.0");
+		assertThat(this.delegate.searches).containsExactly(Collections.singletonList("1.0.0"),
+				Collections.singletonList("2.0.0"));
+	}
+
+	@Test
+	public void versionWithNoArtifactsIsNotIndexed() throws Exception {
+		ArtifactsIndex index = new ArtifactsIndex(this.temp.getRoot());
+		assertThat(new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "3.0.0"))
+				.isEmpty();
+		new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "3.0.0");
+		assertThat(this.delegate.searches).hasSize(2);
+	}
+
+	@Test
+	public void indexIsKeptSeparatelyForEachRepository() throws Exception {
+		ArtifactsIndex index = new ArtifactsIndex(this.temp.getRoot());
+		new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "1.0.0");
+		new IndexedArtifactsFinder(this.delegate, index, URI.create("https://repo.example.com/milestone/"), false)
+				.find("com.example", "1.0.0");
+		assertThat(this.delegate.searches).hasSize(2);
+	}
+
+	@Test
+	public void whenOfflineIndexedVersionsAreFound() throws Exception {
+		ArtifactsIndex index = new ArtifactsIndex(this.temp.getRoot());
+		new IndexedArtifactsFinder(this.delegate, index, REPOSITORY, false).find("com.example", "2.0.0");
+		assertThat(new IndexedArtifactsFinder(null, index, REPOSITORY, true).find("com.example", "2.0.0"))
+				.containsExactly("alpha", "charlie");
+	}
+
+	private static final class RecordingArtifactsFinder implements ArtifactsFinder {
+
+		private final List<List<String>> searches = new ArrayList<>();
+
+		@Override
+		public Set<String> find(String group, String version) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public SortedMap<String, Set<String>> find(String group, List<String> versions) {
+			this.searches.add(versions);
+			SortedMap<String, Set<String>> artifacts = new TreeMap<>();
+			for (String version : versions) {
+				if (version.equals("1.0.0") || version.equals("2.0.0")) {
+					artifacts.computeIfAbsent("alpha", (key) -> new LinkedHashSet<>()).add(version);
+				}
+				if (version.equals("1.0.0")) {
+					artifacts.computeIfAbsent("bravo", (key) -> new LinkedHashSet<>()).add(version);
+				}
+				if (version.equals("2.0.0")) {
+					artifacts.computeIfAbsent("charlie", (key) -> new LinkedHashSet<>()).add(version);
+				}
+			}
+			return artifacts;
+		}
+
+	}
+
+}
@@ -47,7 +47,8 @@ public class MavenCentralSearchArtifactsFinderTests {
 	@Test
 	public void findReturnsNamesOfArtifactsWithMatchingVersionAndJarArtifact() {
 		configureExpectations(new File("src/test/resources/artifacts/org/quartz-scheduler/"));
-		Set<String> artifacts = new MavenCentralSearchArtifactsFinder(this.rest).find("org.infinispan", "9.4.15.Final");
+		Set<String> artifacts = new MavenCentralSearchArtifactsFinder(this.rest, 20, 4).find("org.infinispan",
+				"9.4.15.Final");
 		assertThat(artifacts).hasSize(82);
 	}
 
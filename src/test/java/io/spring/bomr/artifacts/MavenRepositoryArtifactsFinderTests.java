@@ -18,6 +18,8 @@ package io.spring.bomr.artifacts;
 
 import java.io.File;
 import java.net.URI;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.Test;
@@ -31,6 +33,7 @@ import org.springframework.web.client.RestTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.endsWith;
+import static org.springframework.test.web.client.ExpectedCount.manyTimes;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
@@ -56,9 +59,28 @@ public class MavenRepositoryArtifactsFinderTests {
 		assertThat(artifacts).containsExactly("quartz", "quartz-jobs");
 	}
 
+	@Test
+	public void findWithConcurrentRequestsReturnsNamesOfArtifactsWithMatchingVersionAndJarArtifact() {
+		configureExpectations(new File("src/test/resources/artifacts/org/quartz-scheduler/"));
+		Set<String> artifacts = new MavenRepositoryArtifactsFinder(this.rest,
+				URI.create("https://repo1.maven.org/maven2/"), 4, 2).find("org.quartz-scheduler", "2.3.0");
+		assertThat(artifacts).containsExactly("quartz", "quartz-jobs");
+	}
+
+	@Test
+	public void findWithMultipleVersionsReturnsVersionsOfEachArtifactFromASingleCrawl() {
+		configureExpectations(new File("src/test/resources/artifacts/org/quartz-scheduler/"));
+		Map<String, Set<String>> artifacts = new MavenRepositoryArtifactsFinder(this.rest,
+				URI.create("https://repo1.maven.org/maven2/"), 4, 2).find("org.quartz-scheduler",
+						Arrays.asList("2.2.3", "2.3.0"));
+		assertThat(artifacts).containsOnlyKeys("quartz", "quartz-jobs");
+		assertThat(artifacts.get("quartz")).containsExactly("2.3.0");
+		assertThat(artifacts.get("quartz-jobs")).containsExactly("2.3.0");
+	}
+
 	private void configureExpectations(File root) {
 		configureExpectations(root, "https://repo1.maven.org/maven2/org/quartz-scheduler/");
-		this.server.expect(requestTo(endsWith(".jar"))).andRespond(withStatus(HttpStatus.NOT_FOUND));
+		this.server.expect(manyTimes(), requestTo(endsWith(".jar"))).andRespond(withStatus(HttpStatus.NOT_FOUND));
 	}
 
 	private void configureExpectations(File source, String base) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.artifacts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link NexusIndexArtifactsFinder}.
+ *
+ * @author Andy Wilkinson
+ */
+public class NexusIndexArtifactsFinderTests {
+
+	private static final URI REPOSITORY = URI.create("https://repo.example.com/maven2/");
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final RestTemplate rest = new RestTemplate();
+
+	private final MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+
+	@Test
+	public void findUsesDownloadedIndex() throws Exception {
+		expectProperties("20191201000000.000 +0000", "chain-1", 3);
+		expectIndex("nexus-maven-repository-index.gz", artifact("com.example", "alpha", "1.0.0", "jar"),
+				artifact("com.example", "bravo", "1.0.0", "pom"), artifact("com.example", "charlie", "1.0.0", "jar"),
+				artifact("com.example", "alpha", "1.1.0", "jar"),
+				artifact("com.example.other", "delta", "1.0.0", "jar"),
+				classified("com.example", "alpha", "1.0.0", "sources", "jar"));
+		Set<String> artifacts = createFinder().find("com.example", "1.0.0");
+		assertThat(artifacts).containsExactly("alpha", "charlie");
+		this.server.verify();
+	}
+
+	@Test
+	public void findWithMultipleVersionsUsesDownloadedIndex() throws Exception {
+		expectProperties("20191201000000.000 +0000", "chain-1", 3);
+		expectIndex("nexus-maven-repository-index.gz", artifact("com.example", "alpha", "1.0.0", "jar"),
+				artifact("com.example", "alpha", "1.1.0", "jar"), artifact("com.example", "charlie", "1.1.0", "jar"));
+		SortedMap<String, Set<String>> artifacts = createFinder().find("com.example", Arrays.asList("1.0.0", "1.1.0"));
+		assertThat(artifacts).containsOnlyKeys("alpha", "charlie");
+		assertThat(artifacts.get("alpha")).containsExactly("1.0.0", "1.1.0");
+		assertThat(artifacts.get("charlie")).containsExactly("1.1.0");
+	}
+
+	@Test
+	public void unchangedIndexIsNotDownloadedAgain() throws Exception {
+		expectProperties("20191201000000.000 +0000", "chain-1", 3);
+		expectIndex("nexus-maven-repository-index.gz", artifact("com.example", "alpha", "1.0.0", "jar"));
+		expectProperties("20191201000000.000 +0000", "chain-1", 3);
+		NexusIndexArtifactsFinder finder = createFinder();
+		finder.find("com.example", "1.0.0");
+		assertThat(finder.find("com.example", "1.0.0")).containsExactly("alpha");
+		this.server.verify();
+	}
+
+	@Test
+	public void incrementalUpdatesAreAppliedToThePreviouslyDownloadedIndex() throws Exception {
+		expectProperties("20191201000000.000 +0000", "chain-1", 3);
+		expectIndex("nexus-maven-repository-index.gz", artifact("com.example", "alpha", "1.0.0", "jar"),
+				artifact("com.example", "bravo", "1.0.0", "jar"));
+		expectProperties("20191203000000.000 +0000", "chain-1", 5, 5, 4, 3);
+		expectIndex("nexus-maven-repository-index.4.gz", artifact("com.example", "charlie", "1.0.0", "jar"));
+		expectIndex("nexus-maven-repository-index.5.gz", deleted("com.example", "bravo", "1.0.0"));
+		NexusIndexArtifactsFinder finder = createFinder();
+		assertThat(finder.find("com.example", "1.0.0")).containsExactly("alpha", "bravo");
+		assertThat(finder.find("com.example", "1.0.0")).containsExactly("alpha", "charlie");
+		this.server.verify();
+	}
+
+	@Test
+	public void indexIsDownloadedAgainWhenChainChanges() throws Exception {
+		expectProperties("20191201000000.000 +0000", "chain-1", 3);
+		expectIndex("nexus-maven-repository-index.gz", artifact("com.example", "alpha", "1.0.0", "jar"));
+		expectProperties("20191203000000.000 +0000", "chain-2", 1, 1);
+		expectIndex("nexus-maven-repository-index.gz", artifact("com.example", "bravo", "1.0.0", "jar"));
+		NexusIndexArtifactsFinder finder = createFinder();
+		assertThat(finder.find("com.example", "1.0.0")).containsExactly("alpha");
+		assertThat(finder.find("com.example", "1.0.0")).containsExactly("bravo");
+		this.server.verify();
+	}
+
+	@Test
+	public void whenRepositoryDoesNotPublishAnIndexFindUsesFallback() {
+		this.server.expect(requestTo(REPOSITORY + ".index/nexus-maven-repository-index.properties"))
+				.andExpect(method(HttpMethod.GET)).andRespond(withStatus(HttpStatus.NOT_FOUND));
+		ArtifactsFinder fallback = (group, version) -> Collections.singleton("fallback");
+		assertThat(new NexusIndexArtifactsFinder(this.rest, REPOSITORY, this.temp.getRoot(), fallback)
+				.find("com.example", "1.0.0")).containsExactly("fallback");
+		this.server.verify();
+	}
+
+	private NexusIndexArtifactsFinder createFinder() {
+		return new NexusIndexArtifactsFinder(this.rest, REPOSITORY, this.temp.getRoot(), null);
+	}
+
+	private void expectProperties(String timestamp, String chainId, int lastIncremental, int... incrementals) {
+		StringBuilder properties = new StringBuilder();
+		properties.append("nexus.index.timestamp=").append(timestamp).append("\n");
+		properties.append("nexus.index.chain-id=").append(chainId).append("\n");
+		properties.append("nexus.index.last-incremental=").append(lastIncremental).append("\n");
+		for (int i = 0; i < incrementals.length; i++) {
+			properties.append("nexus.index.incremental-").append(i).append("=").append(incrementals[i]).append("\n");
+		}
+		this.server.expect(requestTo(REPOSITORY + ".index/nexus-maven-repository-index.properties"))
+				.andExpect(method(HttpMethod.GET)).andRespond(withSuccess(properties.toString(), MediaType.TEXT_PLAIN));
+	}
+
+	@SafeVarargs
+	private final void expectIndex(String name, Map<String, String>... documents) throws IOException {
+		this.server.expect(requestTo(REPOSITORY + ".index/" + name)).andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(index(Arrays.asList(documents)), MediaType.APPLICATION_OCTET_STREAM));
+	}
+
+	private Map<String, String> artifact(String group, String artifact, String version, String extension) {
+		Map<String, String> document = new LinkedHashMap<>();
+		document.put("u", group + "|" + artifact + "|" + version + "|NA");
+		document.put("i", extension + "|1575158400000|1024|0|0|0|" + extension);
+		document.put("m", "1575158400000");
+		return document;
+	}
+
+	private Map<String, String> classified(String group, String artifact, String version, String classifier,
+			String extension) {
+		Map<String, String> document = new LinkedHashMap<>();
+		document.put("u", group + "|" + artifact + "|" + version + "|" + classifier + "|" + extension);
+		document.put("i", "jar|1575158400000|1024|0|0|0|" + extension);
+		return document;
+	}
+
+	private Map<String, String> deleted(String group, String artifact, String version) {
+		Map<String, String> document = new LinkedHashMap<>();
+		document.put("del", group + "|" + artifact + "|" + version + "|NA");
+		return document;
+	}
+
+	private byte[] index(List<Map<String, String>> documents) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(new GZIPOutputStream(bytes))) {
+			output.writeByte(1);
+			output.writeLong(System.currentTimeMillis());
+			for (Map<String, String> document : documents) {
+				output.writeInt(document.size());
+				for (Map.Entry<String, String> field : document.entrySet()) {
+					output.writeByte(0);
+					output.writeUTF(field.getKey());
+					byte[] value = field.getValue().getBytes(StandardCharsets.UTF_8);
+					output.writeInt(value.length);
+					output.write(value);
+				}
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+}
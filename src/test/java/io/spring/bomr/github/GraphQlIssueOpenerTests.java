@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.github;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link GraphQlIssueOpener}.
+ *
+ * @author Andy Wilkinson
+ */
+public class GraphQlIssueOpenerTests {
+
+	private static final String REPOSITORY_RESPONSE = "{\"data\":{\"repository\":{\"id\":\"R_1\","
+			+ "\"label0\":{\"id\":\"L_1\"}}}}";
+
+	private final RestTemplate rest = new RestTemplate();
+
+	private final MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+
+	private final GraphQlIssueOpener opener = new GraphQlIssueOpener(this.rest,
+			URI.create("http://localhost:8080/graphql"), "example", "project", 2, Duration.ZERO);
+
+	@Test
+	public void issuesAreOpenedInBatches() {
+		expectRepositoryQuery();
+		this.server.expect(requestTo("http://localhost:8080/graphql")).andExpect(method(HttpMethod.POST))
+				.andExpect(content().string(allOf(containsString("issue0: createIssue"),
+						containsString("issue1: createIssue"), containsString("\"title0\":\"Upgrade to Alpha 1.1\""),
+						containsString("\"labelIds\":[\"L_1\"]"), containsString("\"milestoneId\":\"M_1\""))))
+				.andRespond(withSuccess("{\"data\":{\"issue0\":{\"issue\":{\"number\":101}},"
+						+ "\"issue1\":{\"issue\":{\"number\":102}}}}", MediaType.APPLICATION_JSON));
+		this.server.expect(requestTo("http://localhost:8080/graphql"))
+				.andExpect(content().string(allOf(containsString("issue0: createIssue"),
+						not(containsString("issue1: createIssue")),
+						containsString("\"title0\":\"Upgrade to Charlie 3.1\""))))
+				.andRespond(withSuccess("{\"data\":{\"issue0\":{\"issue\":{\"number\":103}}}}",
+						MediaType.APPLICATION_JSON));
+		List<CompletableFuture<Integer>> issueNumbers = this.opener.openIssues(
+				Arrays.asList("Upgrade to Alpha 1.1", "Upgrade to Bravo 2.1", "Upgrade to Charlie 3.1"),
+				Collections.singletonList("type: dependency-upgrade"), new Milestone("1.0.0", 1, "M_1"));
+		assertThat(issueNumbers.stream().map(CompletableFuture::join).collect(Collectors.toList()))
+				.containsExactly(101, 102, 103);
+		this.server.verify();
+	}
+
+	@Test
+	public void requestThatIsRejectedByASecondaryRateLimitIsRetried() {
+		expectRepositoryQuery();
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Retry-After", "0");
+		this.server.expect(requestTo("http://localhost:8080/graphql"))
+				.andRespond(withStatus(HttpStatus.FORBIDDEN).headers(headers));
+		this.server.expect(requestTo("http://localhost:8080/graphql")).andRespond(
+				withSuccess("{\"data\":{\"issue0\":{\"issue\":{\"number\":101}}}}", MediaType.APPLICATION_JSON));
+		List<CompletableFuture<Integer>> issueNumbers = this.opener
+				.openIssues(Collections.singletonList("Upgrade to Alpha 1.1"), Collections.emptyList(), null);
+		assertThat(issueNumbers.get(0).join()).isEqualTo(101);
+		this.server.verify();
+	}
+
+	@Test
+	public void requestThatIsRateLimitedIsRetriedOnceTheRateLimitHasReset() {
+		expectRepositoryQuery();
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("X-RateLimit-Remaining", "0");
+		headers.set("X-RateLimit-Reset", Long.toString(System.currentTimeMillis() / 1000));
+		this.server.expect(requestTo("http://localhost:8080/graphql"))
+				.andRespond(withSuccess(
+						"{\"errors\":[{\"type\":\"RATE_LIMITED\",\"message\":\"API rate limit exceeded\"}]}",
+						MediaType.APPLICATION_JSON).headers(headers));
+		this.server.expect(requestTo("http://localhost:8080/graphql")).andRespond(
+				withSuccess("{\"data\":{\"issue0\":{\"issue\":{\"number\":101}}}}", MediaType.APPLICATION_JSON));
+		List<CompletableFuture<Integer>> issueNumbers = this.opener
+				.openIssues(Collections.singletonList("Upgrade to Alpha 1.1"), Collections.emptyList(), null);
+		assertThat(issueNumbers.get(0).join()).isEqualTo(101);
+		this.server.verify();
+	}
+
+	@Test
+	public void issueThatCouldNotBeOpenedCompletesExceptionally() {
+		expectRepositoryQuery();
+		this.server.expect(requestTo("http://localhost:8080/graphql"))
+				.andRespond(withSuccess("{\"data\":{\"issue0\":{\"issue\":{\"number\":101}},\"issue1\":null},"
+						+ "\"errors\":[{\"path\":[\"issue1\"],\"message\":\"Title is too long\"}]}",
+						MediaType.APPLICATION_JSON));
+		List<CompletableFuture<Integer>> issueNumbers = this.opener.openIssues(
+				Arrays.asList("Upgrade to Alpha 1.1", "Upgrade to Bravo 2.1"), Collections.emptyList(), null);
+		assertThat(issueNumbers.get(0).join()).isEqualTo(101);
+		assertThatThrownBy(issueNumbers.get(1)::join).isInstanceOf(CompletionException.class)
+				.hasMessageContaining("Upgrade to Bravo 2.1").hasMessageContaining("Title is too long");
+	}
+
+	private void expectRepositoryQuery() {
+		this.server.expect(requestTo("http://localhost:8080/graphql")).andExpect(method(HttpMethod.POST))
+				.andExpect(content().string(allOf(containsString("repository(owner: $owner, name: $name)"),
+						containsString("\"owner\":\"example\""), containsString("\"name\":\"project\""))))
+				.andRespond(withSuccess(REPOSITORY_RESPONSE, MediaType.APPLICATION_JSON));
+	}
+
+}
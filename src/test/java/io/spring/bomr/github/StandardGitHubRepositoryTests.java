@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.github;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Tests for {@link StandardGitHubRepository}.
+ *
+ * @author Andy Wilkinson
+ */
+public class StandardGitHubRepositoryTests {
+
+	private static final String REPOSITORY_URL = "https://api.github.com/repos/example/project/";
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final RestTemplate rest = new RestTemplate();
+
+	public StandardGitHubRepositoryTests() {
+		this.rest.setUriTemplateHandler(new DefaultUriBuilderFactory(REPOSITORY_URL));
+	}
+
+	@Test
+	public void labelsAreRetrievedFromEveryPage() {
+		MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).ignoreExpectOrder(true).build();
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.LINK, "<" + REPOSITORY_URL + "labels?per_page=100&page=2>; rel=\"next\", <"
+				+ REPOSITORY_URL + "labels?per_page=100&page=3>; rel=\"last\"");
+		expectLabelsPage(server, 1, labels(0, 100), headers);
+		expectLabelsPage(server, 2, labels(100, 200), new HttpHeaders());
+		expectLabelsPage(server, 3, labels(200, 205), new HttpHeaders());
+		List<String> labels = createRepository(null).getLabels();
+		assertThat(labels).hasSize(205).startsWith("label-0").endsWith("label-204");
+		server.verify();
+	}
+
+	@Test
+	public void whenLastPageIsFullTheNextPageIsRetrieved() {
+		MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+		expectLabelsPage(server, 1, labels(0, 100), new HttpHeaders());
+		expectLabelsPage(server, 2, labels(100, 101), new HttpHeaders());
+		assertThat(createRepository(null).getLabels()).hasSize(101);
+		server.verify();
+	}
+
+	@Test
+	public void cachedPagesAreRevalidated() {
+		GitHubCache cache = new GitHubCache(this.temp.getRoot()).forRepository(REPOSITORY_URL);
+		MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"abc\"");
+		expectLabelsPage(server, 1, labels(0, 3), headers);
+		assertThat(createRepository(cache).getLabels()).containsExactly("label-0", "label-1", "label-2");
+		server.verify();
+		server = MockRestServiceServer.bindTo(this.rest).build();
+		server.expect(requestTo(REPOSITORY_URL + "labels?per_page=100&page=1"))
+				.andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"abc\""))
+				.andRespond(withStatus(HttpStatus.NOT_MODIFIED));
+		assertThat(createRepository(cache).getLabels()).containsExactly("label-0", "label-1", "label-2");
+		server.verify();
+	}
+
+	@Test
+	public void milestonesAreRetrieved() {
+		MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+		server.expect(requestTo(REPOSITORY_URL + "milestones?per_page=100&page=1"))
+				.andRespond(withSuccess("[{\"title\":\"1.0.0\",\"number\":7,\"node_id\":\"M_7\"}]",
+						MediaType.APPLICATION_JSON));
+		List<Milestone> milestones = createRepository(null).getMilestones();
+		assertThat(milestones).hasSize(1);
+		assertThat(milestones.get(0).getName()).isEqualTo("1.0.0");
+		assertThat(milestones.get(0).getNumber()).isEqualTo(7);
+		assertThat(milestones.get(0).getNodeId()).isEqualTo("M_7");
+	}
+
+	@Test
+	public void issuesThatAreNotPullRequestsAreRetrievedByTitle() {
+		MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+		server.expect(requestTo(REPOSITORY_URL + "issues?state=all&sort=created&direction=asc&per_page=100&page=1"))
+				.andRespond(withSuccess("[{\"number\":1,\"title\":\"Upgrade to Alpha 1.0\"},"
+						+ "{\"number\":2,\"title\":\"Upgrade to Bravo 2.0\",\"pull_request\":{}}]",
+						MediaType.APPLICATION_JSON));
+		assertThat(createRepository(null).getIssues(Collections.emptyList()))
+				.containsExactly(entry("Upgrade to Alpha 1.0", 1));
+		server.verify();
+	}
+
+	@Test
+	public void indexedIssuesAreRefreshedUsingOnlyIssuesThatHaveBeenUpdated() {
+		GitHubCache cache = new GitHubCache(this.temp.getRoot()).forRepository(REPOSITORY_URL);
+		List<String> labels = Collections.singletonList("upgrade");
+		String issues = REPOSITORY_URL + "issues?state=all&sort=created&direction=asc&labels=upgrade";
+		MockRestServiceServer server = MockRestServiceServer.bindTo(this.rest).build();
+		server.expect(requestTo(issues + "&per_page=100&page=1"))
+				.andRespond(withSuccess("[{\"number\":1,\"title\":\"Upgrade to Alpha 1.0\"},"
+						+ "{\"number\":2,\"title\":\"Upgrade to Bravo 2.0\"}]", MediaType.APPLICATION_JSON));
+		assertThat(createRepository(cache).getIssues(labels)).containsOnly(entry("Upgrade to Alpha 1.0", 1),
+				entry("Upgrade to Bravo 2.0", 2));
+		server.verify();
+		server = MockRestServiceServer.bindTo(this.rest).build();
+		server.expect(requestTo(startsWith(issues + "&since=")))
+				.andRespond(withSuccess("[{\"number\":1,\"title\":\"Upgrade to Alpha 1.1\"},"
+						+ "{\"number\":3,\"title\":\"Upgrade to Charlie 3.0\"}]", MediaType.APPLICATION_JSON));
+		assertThat(createRepository(cache).getIssues(labels)).containsOnly(entry("Upgrade to Alpha 1.1", 1),
+				entry("Upgrade to Bravo 2.0", 2), entry("Upgrade to Charlie 3.0", 3));
+		server.verify();
+	}
+
+	private StandardGitHubRepository createRepository(GitHubCache cache) {
+		return new StandardGitHubRepository(this.rest, new GraphQlIssueOpener(this.rest, null, "example", "project",
+				10, Duration.ZERO), cache);
+	}
+
+	private void expectLabelsPage(MockRestServiceServer server, int page, String body, HttpHeaders headers) {
+		server.expect(requestTo(REPOSITORY_URL + "labels?per_page=100&page=" + page))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+	}
+
+	private String labels(int start, int end) {
+		return IntStream.range(start, end).mapToObj((i) -> "{\"name\":\"label-" + i + "\"}")
+				.collect(Collectors.joining(",", "[", "]"));
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.pom;
+
+import java.io.File;
+import java.io.StringReader;
+
+import io.spring.bomr.pom.PomModel.Dependency;
+import io.spring.bomr.pom.PomModel.Plugin;
+import io.spring.bomr.pom.PomModel.Repository;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PomReader}.
+ *
+ * @author Andy Wilkinson
+ */
+public class PomReaderTests {
+
+	@Test
+	public void bomIsRead() {
+		PomModel pom = PomReader.read(new File("src/test/resources/spring-boot.bom"));
+		assertThat(pom.getGroupId()).isEqualTo("org.springframework.boot");
+		assertThat(pom.getArtifactId()).isEqualTo("spring-boot-dependencies");
+		assertThat(pom.getVersion()).isEqualTo("2.0.0.BUILD-SNAPSHOT");
+		assertThat(pom.getProperties()).containsEntry("activemq.version", "5.15.0").containsEntry("spring.version",
+				"5.0.0.RELEASE");
+		Dependency dependency = pom.getManagedDependencies().get(0);
+		assertThat(dependency.getGroupId()).isEqualTo("org.springframework.boot");
+		assertThat(dependency.getArtifactId()).isEqualTo("spring-boot");
+		assertThat(dependency.getVersion()).isEqualTo("2.0.0.BUILD-SNAPSHOT");
+		assertThat(pom.getManagedPlugins()).isNotEmpty();
+		assertThat(pom.getRepositories()).isEmpty();
+	}
+
+	@Test
+	public void onlyTopLevelElementsAreRead() {
+		PomModel pom = PomReader.read(new StringReader("<project><groupId>com.example</groupId>"
+				+ "<parent><groupId>com.example.parent</groupId></parent>"
+				+ "<dependencyManagement><dependencies><dependency><groupId>com.example</groupId>"
+				+ "<artifactId>core</artifactId><version>${core.version}</version><classifier>tests</classifier>"
+				+ "<type>test-jar</type><exclusions><exclusion><groupId>com.example.excluded</groupId>"
+				+ "<artifactId>excluded</artifactId></exclusion></exclusions></dependency></dependencies>"
+				+ "</dependencyManagement><build><pluginManagement><plugins><plugin><artifactId>maven-jar-plugin"
+				+ "</artifactId><version>3.1.0</version><dependencies><dependency><groupId>com.example.plugin"
+				+ "</groupId><version>1.0.0</version></dependency></dependencies></plugin></plugins>"
+				+ "</pluginManagement></build><repositories><repository><id>example</id>"
+				+ "<url>https://repo.example.com</url><snapshots><enabled>true</enabled></snapshots></repository>"
+				+ "</repositories><profiles><profile><properties><profile.version>1.0</profile.version>"
+				+ "</properties></profile></profiles></project>"));
+		assertThat(pom.getGroupId()).isEqualTo("com.example");
+		assertThat(pom.getProperties()).isEmpty();
+		assertThat(pom.getManagedDependencies()).hasSize(1);
+		Dependency dependency = pom.getManagedDependencies().get(0);
+		assertThat(dependency.getGroupId()).isEqualTo("com.example");
+		assertThat(dependency.getArtifactId()).isEqualTo("core");
+		assertThat(dependency.getVersion()).isEqualTo("${core.version}");
+		assertThat(dependency.getClassifier()).isEqualTo("tests");
+		assertThat(dependency.getType()).isEqualTo("test-jar");
+		assertThat(pom.getManagedPlugins()).hasSize(1);
+		Plugin plugin = pom.getManagedPlugins().get(0);
+		assertThat(plugin.getGroupId()).isEqualTo("org.apache.maven.plugins");
+		assertThat(plugin.getArtifactId()).isEqualTo("maven-jar-plugin");
+		assertThat(plugin.getVersion()).isEqualTo("3.1.0");
+		assertThat(pom.getRepositories()).hasSize(1);
+		Repository repository = pom.getRepositories().get(0);
+		assertThat(repository.getId()).isEqualTo("example");
+		assertThat(repository.getUrl()).isEqualTo("https://repo.example.com");
+		assertThat(repository.isSnapshotsEnabled()).isTrue();
+	}
+
+}
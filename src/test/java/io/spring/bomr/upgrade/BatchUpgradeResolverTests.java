@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import io.spring.bomr.upgrade.BomVersions.BomVersion;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BatchUpgradeResolver}.
+ *
+ * @author Andy Wilkinson
+ */
+public class BatchUpgradeResolverTests {
+
+	private final Map<Module, SortedSet<DependencyVersion>> versions = new HashMap<>();
+
+	@Test
+	public void newestPermittedVersionIsSelected() {
+		Project jackson = project("jackson.version", "2.10.0", "jackson-core", "jackson-databind");
+		this.versions.put(jackson.getModules().get(0), versions("2.10.0", "2.10.1", "2.10.2", "2.11.0"));
+		this.versions.put(jackson.getModules().get(1), versions("2.10.0", "2.10.1", "2.11.0"));
+		List<Upgrade> upgrades = createResolver(UpgradePolicy.SAME_MINOR_VERSION, Collections.emptyList())
+				.resolveUpgrades(Collections.singletonList(jackson));
+		assertThat(upgrades).hasSize(1);
+		assertThat(upgrades.get(0).getProject()).isSameAs(jackson);
+		assertThat(upgrades.get(0).getVersion().toString()).isEqualTo("2.10.1");
+	}
+
+	@Test
+	public void prohibitedVersionsAreSkipped() throws Exception {
+		Project jackson = project("jackson.version", "2.10.0", "jackson-core");
+		this.versions.put(jackson.getModules().get(0), versions("2.10.0", "2.10.1", "2.10.2"));
+		ProhibitedVersions prohibited = new ProhibitedVersions();
+		prohibited.setProject("jackson");
+		prohibited.setVersions(Arrays.asList(VersionRange.createFromVersionSpec("[2.10.2]")));
+		List<Upgrade> upgrades = createResolver(UpgradePolicy.ANY, Collections.singletonList(prohibited))
+				.resolveUpgrades(Collections.singletonList(jackson));
+		assertThat(upgrades).hasSize(1);
+		assertThat(upgrades.get(0).getVersion().toString()).isEqualTo("2.10.1");
+	}
+
+	@Test
+	public void projectsWithNoResolvedVersionsAreDropped() {
+		Project jackson = project("jackson.version", "2.10.0", "jackson-core");
+		Project activemq = project("activemq.version", "5.15.0", "activemq-broker");
+		this.versions.put(jackson.getModules().get(0), versions("2.10.0", "2.10.1"));
+		this.versions.put(activemq.getModules().get(0), new TreeSet<>());
+		List<Upgrade> upgrades = createResolver(UpgradePolicy.ANY, Collections.emptyList())
+				.resolveUpgrades(Arrays.asList(activemq, jackson));
+		assertThat(upgrades).hasSize(1);
+		assertThat(upgrades.get(0).getProject()).isSameAs(jackson);
+	}
+
+	private BatchUpgradeResolver createResolver(UpgradePolicy policy, List<ProhibitedVersions> prohibited) {
+		return new BatchUpgradeResolver((module) -> this.versions.get(module), policy, prohibited,
+				ResolutionStrategy.ALL_MODULES);
+	}
+
+	private Project project(String property, String version, String... artifactIds) {
+		BomVersion bomVersion = new BomVersion(property, DependencyVersion.parse(version));
+		Project project = new Project(new ProjectName(bomVersion), bomVersion);
+		for (String artifactId : artifactIds) {
+			project.getModules().add(new Module("com.example", artifactId));
+		}
+		return project;
+	}
+
+	private SortedSet<DependencyVersion> versions(String... versions) {
+		SortedSet<DependencyVersion> dependencyVersions = new TreeSet<>();
+		for (String version : versions) {
+			dependencyVersions.add(DependencyVersion.parse(version));
+		}
+		return dependencyVersions;
+	}
+
+}
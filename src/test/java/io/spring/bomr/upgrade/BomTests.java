@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link Bom}.
+ *
+ * @author Andy Wilkinson
+ */
+public class BomTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void upgradesAreAppliedToTheVersionProperties() throws Exception {
+		File bomFile = this.temp.newFile("pom.xml");
+		String original = new String(Files.readAllBytes(Paths.get("src/test/resources/spring-boot.bom")),
+				StandardCharsets.UTF_8);
+		Files.write(bomFile.toPath(), original.getBytes(StandardCharsets.UTF_8));
+		Bom bom = new Bom(bomFile);
+		bom.applyUpgrades(Arrays.asList(upgrade(bom, "spring.version", "5.0.1.RELEASE"),
+				upgrade(bom, "activemq.version", "5.15.2"), upgrade(bom, "jackson.version", "2.9.2")));
+		String upgraded = new String(Files.readAllBytes(bomFile.toPath()), StandardCharsets.UTF_8);
+		assertThat(upgraded).isEqualTo(original
+				.replace("<spring.version>5.0.0.RELEASE<", "<spring.version>5.0.1.RELEASE<")
+				.replace("<activemq.version>5.15.0<", "<activemq.version>5.15.2<")
+				.replace("<jackson.version>2.9.1<", "<jackson.version>2.9.2<"));
+	}
+
+	@Test
+	public void upgradesCanBeAppliedOneAtATime() throws Exception {
+		File bomFile = this.temp.newFile("pom.xml");
+		Files.copy(Paths.get("src/test/resources/spring-boot.bom"), bomFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		Bom bom = new Bom(bomFile);
+		bom.applyUpgrade(upgrade(bom, "jackson.version", "2.9.10"));
+		bom.applyUpgrade(upgrade(bom, "activemq.version", "5.15.1"));
+		String upgraded = new String(Files.readAllBytes(bomFile.toPath()), StandardCharsets.UTF_8);
+		assertThat(upgraded).contains("<jackson.version>2.9.10</jackson.version>")
+				.contains("<activemq.version>5.15.1</activemq.version>");
+		assertThat(new Bom(bomFile).getManagedProjects().values()).anySatisfy((project) -> {
+			assertThat(project.getVersion().getProperty()).isEqualTo("jackson.version");
+			assertThat(project.getVersion().getVersion().toString()).isEqualTo("2.9.10");
+		});
+	}
+
+	private Upgrade upgrade(Bom bom, String property, String version) {
+		Project project = bom.getManagedProjects().values().stream()
+				.filter((candidate) -> candidate.getVersion().getProperty().equals(property)).findFirst().get();
+		return new Upgrade(project, DependencyVersion.parse(version));
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.spring.bomr.github.GitHub;
+import io.spring.bomr.github.GitHubRepository;
+import io.spring.bomr.github.Milestone;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link BomUpgrader}.
+ *
+ * @author Andy Wilkinson
+ */
+public class BomUpgraderTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final StubGitHubRepository repository = new StubGitHubRepository();
+
+	private final RecordingCommitter committer = new RecordingCommitter();
+
+	private File bomFile;
+
+	private File journalFile;
+
+	@Before
+	public void copyBom() throws Exception {
+		this.bomFile = this.temp.newFile("pom.xml");
+		Files.copy(Paths.get("src/test/resources/spring-boot.bom"), this.bomFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		this.journalFile = new File(this.temp.getRoot(), ".bomr/upgrade-journal.json");
+	}
+
+	@Test
+	public void eachUpgradeIsCommittedOnceItsIssueHasBeenOpened() {
+		this.repository.openedIssues.add(CompletableFuture.completedFuture(101));
+		this.repository.openedIssues.add(CompletableFuture.completedFuture(102));
+		upgrade("activemq.version", "5.15.2", "jackson.version", "2.9.2");
+		assertThat(this.repository.openedTitles).containsExactly(describe("activemq.version", "5.15.2"),
+				describe("jackson.version", "2.9.2"));
+		assertThat(this.committer.messages).containsExactly(
+				describe("activemq.version", "5.15.2") + "\n\nCloses gh-101",
+				describe("jackson.version", "2.9.2") + "\n\nCloses gh-102");
+		assertThat(this.committer.contents.get(0)).contains("<activemq.version>5.15.2<")
+				.contains("<jackson.version>2.9.1<");
+		assertThat(this.committer.contents.get(1)).contains("<activemq.version>5.15.2<")
+				.contains("<jackson.version>2.9.2<");
+		assertThat(this.committer.closed).isTrue();
+		assertThat(this.journalFile).doesNotExist();
+	}
+
+	@Test
+	public void whenAnIssueCannotBeOpenedLaterUpgradesAreNotAppliedAndTheirIssuesAreCancelled() {
+		CompletableFuture<Integer> failed = new CompletableFuture<>();
+		failed.completeExceptionally(new IllegalStateException("Rate limit exceeded"));
+		CompletableFuture<Integer> pending = new CompletableFuture<>();
+		this.repository.openedIssues.add(CompletableFuture.completedFuture(101));
+		this.repository.openedIssues.add(failed);
+		this.repository.openedIssues.add(pending);
+		upgrade("activemq.version", "5.15.2", "jackson.version", "2.9.2", "spring.version", "5.0.1.RELEASE");
+		assertThat(this.committer.messages)
+				.containsExactly(describe("activemq.version", "5.15.2") + "\n\nCloses gh-101");
+		assertThat(this.committer.closed).isTrue();
+		assertThat(pending.isCancelled()).isTrue();
+		assertThat(this.journalFile).exists();
+		UpgradeJournal journal = UpgradeJournal.resume(this.journalFile);
+		assertThat(journal.getIssue(upgrade("activemq.version", "5.15.2"))).isEqualTo(101);
+		assertThat(journal.getIssue(upgrade("jackson.version", "2.9.2"))).isNull();
+	}
+
+	@Test
+	public void whenTheJournalCannotBeWrittenNothingIsCommitted() {
+		CompletableFuture<Integer> pending = new CompletableFuture<>();
+		this.repository.openedIssues.add(CompletableFuture.completedFuture(101));
+		this.repository.openedIssues.add(pending);
+		this.repository.onOpenIssues = () -> {
+			File journalDirectory = this.journalFile.getParentFile();
+			this.journalFile.delete();
+			journalDirectory.delete();
+			try {
+				journalDirectory.createNewFile();
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		};
+		assertThatThrownBy(() -> upgrade("activemq.version", "5.15.2", "jackson.version", "2.9.2"))
+				.isInstanceOf(UncheckedIOException.class);
+		assertThat(this.committer.messages).isEmpty();
+		assertThat(this.committer.closed).isTrue();
+		assertThat(pending.isCancelled()).isTrue();
+	}
+
+	@Test
+	public void existingIssueIsReusedRatherThanOpeningADuplicate() {
+		this.repository.existingIssues.put(describe("activemq.version", "5.15.2"), 42);
+		this.repository.openedIssues.add(CompletableFuture.completedFuture(102));
+		upgrade("activemq.version", "5.15.2", "jackson.version", "2.9.2");
+		assertThat(this.repository.openedTitles).containsExactly(describe("jackson.version", "2.9.2"));
+		assertThat(this.committer.messages).containsExactly(
+				describe("activemq.version", "5.15.2") + "\n\nCloses gh-42",
+				describe("jackson.version", "2.9.2") + "\n\nCloses gh-102");
+	}
+
+	private void upgrade(String... propertiesAndVersions) {
+		UpgradeResolver upgradeResolver = (projects) -> {
+			List<Upgrade> upgrades = new ArrayList<>();
+			for (int i = 0; i < propertiesAndVersions.length; i += 2) {
+				upgrades.add(upgrade(projects, propertiesAndVersions[i], propertiesAndVersions[i + 1]));
+			}
+			return upgrades;
+		};
+		GitHub gitHub = (organization, name) -> this.repository;
+		new BomUpgrader(gitHub, upgradeResolver, this.committer).upgrade(this.bomFile, "spring-projects",
+				"spring-boot", Collections.singletonList("type: dependency-upgrade"), null,
+				UpgradeJournal.begin(this.journalFile));
+	}
+
+	private String describe(String property, String version) {
+		return "Upgrade to " + upgrade(property, version).getProject().getName() + " " + version;
+	}
+
+	private Upgrade upgrade(String property, String version) {
+		return upgrade(new Bom(this.bomFile).getManagedProjects().values(), property, version);
+	}
+
+	private Upgrade upgrade(Collection<Project> projects, String property, String version) {
+		Project project = projects.stream().filter((candidate) -> candidate.getVersion().getProperty().equals(property))
+				.findFirst().get();
+		return new Upgrade(project, DependencyVersion.parse(version));
+	}
+
+	private static final class StubGitHubRepository implements GitHubRepository {
+
+		private final List<CompletableFuture<Integer>> openedIssues = new ArrayList<>();
+
+		private final List<String> openedTitles = new ArrayList<>();
+
+		private final Map<String, Integer> existingIssues = new HashMap<>();
+
+		private Runnable onOpenIssues = () -> {
+		};
+
+		@Override
+		public int openIssue(String title, List<String> labels, Milestone milestone) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<CompletableFuture<Integer>> openIssues(List<String> titles, List<String> labels,
+				Milestone milestone) {
+			this.openedTitles.addAll(titles);
+			this.onOpenIssues.run();
+			return new ArrayList<>(this.openedIssues.subList(0, titles.size()));
+		}
+
+		@Override
+		public Map<String, Integer> getIssues(List<String> labels) {
+			return this.existingIssues;
+		}
+
+		@Override
+		public List<String> getLabels() {
+			return Arrays.asList("type: dependency-upgrade");
+		}
+
+		@Override
+		public List<Milestone> getMilestones() {
+			return Collections.emptyList();
+		}
+
+	}
+
+	private static final class RecordingCommitter implements Committer {
+
+		private final List<String> messages = new ArrayList<>();
+
+		private final List<String> contents = new ArrayList<>();
+
+		private boolean closed;
+
+		@Override
+		public Session begin(Bom bom) {
+			return new Session() {
+
+				@Override
+				public void commit(String message) {
+					RecordingCommitter.this.messages.add(message);
+					RecordingCommitter.this.contents.add(bom.getContent());
+				}
+
+				@Override
+				public void close() {
+					RecordingCommitter.this.closed = true;
+				}
+
+			};
+		}
+
+	}
+
+}
@@ -18,12 +18,10 @@ package io.spring.bomr.upgrade;
 
 import java.io.StringReader;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-
+import io.spring.bomr.pom.PomModel;
+import io.spring.bomr.pom.PomReader;
 import io.spring.bomr.upgrade.BomVersions.BomVersion;
 import org.junit.Test;
-import org.w3c.dom.Document;
-import org.xml.sax.InputSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -36,10 +34,9 @@ public class BomVersionsTests {
 
 	@Test
 	public void versionIsResolvedFromProperties() throws Exception {
-		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-				.parse(new InputSource(new StringReader("<project><properties><foo>1.2.3</foo>"
-						+ "<bar.version>2.3.4</bar.version>" + "</properties></project>")));
-		BomVersions versions = new BomVersions(document);
+		PomModel pom = PomReader.read(new StringReader("<project><properties><foo>1.2.3</foo>"
+				+ "<bar.version>2.3.4</bar.version>" + "</properties></project>"));
+		BomVersions versions = new BomVersions(pom.getProperties());
 		BomVersion fooVersion = versions.resolve("${foo}");
 		assertThat(fooVersion.getProperty()).isEqualTo("foo");
 		assertThat(fooVersion.getVersion().toString()).isEqualTo("1.2.3");
@@ -50,19 +47,17 @@ public class BomVersionsTests {
 
 	@Test
 	public void unknownVersionResolvesToNull() throws Exception {
-		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-				.parse(new InputSource(new StringReader("<project><properties><foo>1.2.3</foo>"
-						+ "<bar.version>2.3.4</bar.version>" + "</properties></project>")));
-		BomVersions versions = new BomVersions(document);
+		PomModel pom = PomReader.read(new StringReader("<project><properties><foo>1.2.3</foo>"
+				+ "<bar.version>2.3.4</bar.version>" + "</properties></project>"));
+		BomVersions versions = new BomVersions(pom.getProperties());
 		assertThat(versions.resolve("${baz.version}")).isNull();
 	}
 
 	@Test
 	public void indirectVersionsAreResolved() throws Exception {
-		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder()
-				.parse(new InputSource(new StringReader("<project><properties><foo>1.2.3</foo>"
-						+ "<bar.version>${foo}</bar.version>" + "</properties></project>")));
-		BomVersions versions = new BomVersions(document);
+		PomModel pom = PomReader.read(new StringReader("<project><properties><foo>1.2.3</foo>"
+				+ "<bar.version>${foo}</bar.version>" + "</properties></project>"));
+		BomVersions versions = new BomVersions(pom.getProperties());
 		BomVersion barVersion = versions.resolve("${bar.version}");
 		assertThat(barVersion.getProperty()).isEqualTo("foo");
 		assertThat(barVersion.getVersion().toString()).isEqualTo("1.2.3");
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JGitCommitter}.
+ *
+ * @author Andy Wilkinson
+ */
+public class JGitCommitterTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void sessionCommitsAChainOfUpgradesAndUpdatesHeadIndexAndBomWhenClosed() throws Exception {
+		try (Git git = initRepository()) {
+			Repository repository = git.getRepository();
+			ObjectId initial = repository.resolve(Constants.HEAD);
+			File bomFile = new File(repository.getWorkTree(), "bom/pom.xml");
+			Bom bom = new Bom(bomFile);
+			try (Committer.Session session = new JGitCommitter().begin(bom)) {
+				bom.update(Collections.singletonList(upgrade(bom, "jackson.version", "2.9.10")));
+				session.commit("Upgrade to Jackson 2.9.10");
+				bom.update(Collections.singletonList(upgrade(bom, "activemq.version", "5.15.1")));
+				session.commit("Upgrade to ActiveMQ 5.15.1");
+				assertThat(repository.resolve(Constants.HEAD)).isEqualTo(initial);
+			}
+			List<RevCommit> commits = new ArrayList<>();
+			git.log().call().forEach(commits::add);
+			assertThat(commits).extracting(RevCommit::getFullMessage).containsExactly("Upgrade to ActiveMQ 5.15.1",
+					"Upgrade to Jackson 2.9.10", "Initial commit");
+			assertThat(commits.get(0).getParents()).containsExactly(commits.get(1));
+			assertThat(commits.get(1).getParents()).containsExactly(commits.get(2));
+			assertThat(content(repository, commits.get(1), "bom/pom.xml"))
+					.contains("<jackson.version>2.9.10</jackson.version>")
+					.contains("<activemq.version>5.15.0</activemq.version>");
+			String upgraded = content(repository, commits.get(0), "bom/pom.xml");
+			assertThat(upgraded).contains("<jackson.version>2.9.10</jackson.version>")
+					.contains("<activemq.version>5.15.1</activemq.version>");
+			assertThat(content(repository, commits.get(0), "README.md")).isEqualTo("Example");
+			assertThat(repository.resolve(Constants.HEAD)).isEqualTo(commits.get(0));
+			assertThat(repository.readDirCache().getEntry("bom/pom.xml").getObjectId())
+					.isEqualTo(blob(repository, commits.get(0), "bom/pom.xml"));
+			assertThat(new String(Files.readAllBytes(bomFile.toPath()), StandardCharsets.UTF_8)).isEqualTo(upgraded);
+			assertThat(git.status().call().isClean()).isTrue();
+		}
+	}
+
+	@Test
+	public void sessionWithNoCommitsLeavesRepositoryUnchanged() throws Exception {
+		try (Git git = initRepository()) {
+			Repository repository = git.getRepository();
+			ObjectId initial = repository.resolve(Constants.HEAD);
+			Bom bom = new Bom(new File(repository.getWorkTree(), "bom/pom.xml"));
+			new JGitCommitter().begin(bom).close();
+			assertThat(repository.resolve(Constants.HEAD)).isEqualTo(initial);
+			assertThat(git.status().call().isClean()).isTrue();
+		}
+	}
+
+	private Git initRepository() throws Exception {
+		File directory = this.temp.newFolder("repository");
+		Git git = Git.init().setDirectory(directory).call();
+		StoredConfig config = git.getRepository().getConfig();
+		config.setString("user", null, "name", "Alice");
+		config.setString("user", null, "email", "alice@example.com");
+		config.save();
+		File bomFile = new File(directory, "bom/pom.xml");
+		bomFile.getParentFile().mkdirs();
+		Files.copy(Paths.get("src/test/resources/spring-boot.bom"), bomFile.toPath());
+		Files.write(new File(directory, "README.md").toPath(), "Example".getBytes(StandardCharsets.UTF_8));
+		git.add().addFilepattern(".").call();
+		git.commit().setMessage("Initial commit").call();
+		return git;
+	}
+
+	private Upgrade upgrade(Bom bom, String property, String version) {
+		Project project = bom.getManagedProjects().values().stream()
+				.filter((candidate) -> candidate.getVersion().getProperty().equals(property)).findFirst().get();
+		return new Upgrade(project, DependencyVersion.parse(version));
+	}
+
+	private ObjectId blob(Repository repository, RevCommit commit, String path) throws Exception {
+		try (TreeWalk walk = TreeWalk.forPath(repository, path, commit.getTree())) {
+			return walk.getObjectId(0);
+		}
+	}
+
+	private String content(Repository repository, RevCommit commit, String path) throws Exception {
+		return new String(repository.open(blob(repository, commit, path)).getBytes(), StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenMetadataReader}.
+ *
+ * @author Andy Wilkinson
+ */
+public class MavenMetadataReaderTests {
+
+	@Test
+	public void versionsAreReadInTheOrderInWhichTheyAreListed() throws Exception {
+		try (InputStream metadata = new FileInputStream("src/test/resources/spring-core-maven-metadata.xml")) {
+			assertThat(MavenMetadataReader.readVersions(metadata)).containsExactly("4.3.0.RELEASE", "4.3.1.RELEASE",
+					"4.3.2.RELEASE", "4.3.3.RELEASE", "4.3.4.RELEASE", "4.3.5.RELEASE", "4.3.6.RELEASE",
+					"4.3.7.RELEASE", "4.3.8.RELEASE", "4.3.9.RELEASE", "4.3.10.RELEASE", "4.3.11.RELEASE",
+					"5.0.0.RELEASE");
+		}
+	}
+
+	@Test
+	public void versionElementsOutsideOfTheVersionsElementAreIgnored() throws Exception {
+		String metadata = "<metadata><groupId>com.example</groupId><artifactId>core</artifactId>"
+				+ "<version>0.9.0</version><versioning><latest>1.1.0</latest><versions><version>1.0.0</version>"
+				+ "<version>1.1.0</version></versions></versioning></metadata>";
+		assertThat(MavenMetadataReader
+				.readVersions(new ByteArrayInputStream(metadata.getBytes(StandardCharsets.UTF_8))))
+						.containsExactly("1.0.0", "1.1.0");
+	}
+
+}
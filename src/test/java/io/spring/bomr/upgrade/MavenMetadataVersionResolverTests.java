@@ -17,15 +17,23 @@
 package io.spring.bomr.upgrade;
 
 import java.io.File;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.stream.Collectors;
 
 import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.client.match.MockRestRequestMatchers;
@@ -41,6 +49,9 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class MavenMetadataVersionResolverTests {
 
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
 	@Test
 	public void versionsAreResolvedFromMavenMetadata() {
 		RestTemplate rest = new RestTemplate();
@@ -83,4 +94,115 @@ public class MavenMetadataVersionResolverTests {
 				.containsExactly("1.0.0.RELEASE", "1.1.0.RELEASE");
 	}
 
+	@Test
+	public void versionsOfMultipleModulesAreResolvedConcurrentlyAndCombined() {
+		RestTemplate rest = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(rest).ignoreExpectOrder(true).build();
+		expectMetadata(server, "https://repo1.example.com/com/example/core/maven-metadata.xml",
+				"repo1-maven-metadata.xml");
+		expectMetadata(server, "https://repo2.example.com/com/example/core/maven-metadata.xml",
+				"repo2-maven-metadata.xml");
+		expectMetadata(server, "https://repo1.example.com/org/springframework/spring-core/maven-metadata.xml",
+				"spring-core-maven-metadata.xml");
+		expectMetadata(server, "https://repo2.example.com/org/springframework/spring-core/maven-metadata.xml",
+				"repo1-maven-metadata.xml");
+		Module core = new Module("com.example", "core");
+		Module springCore = new Module("org.springframework", "spring-core");
+		Map<Module, SortedSet<DependencyVersion>> versions = new MavenMetadataVersionResolver(rest,
+				Arrays.asList("https://repo1.example.com", "https://repo2.example.com"), 4, 2, null)
+						.resolveVersions(Arrays.asList(springCore, core, springCore));
+		assertThat(versions).containsOnlyKeys(springCore, core);
+		assertThat(versions.keySet()).containsExactly(springCore, core);
+		assertThat(versions.get(core).stream().map(DependencyVersion::toString).collect(Collectors.toList()))
+				.containsExactly("1.0.0.RELEASE", "1.1.0.RELEASE");
+		assertThat(versions.get(springCore)).hasSize(14);
+		server.verify();
+	}
+
+	@Test
+	public void cachedVersionsAreRevalidatedUsingAConditionalRequest() throws Exception {
+		File cacheDirectory = this.temp.newFolder();
+		Module module = new Module("org.springframework", "spring-core");
+		RestTemplate rest = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag("\"abcdef\"");
+		server.expect(MockRestRequestMatchers
+				.requestTo("https://repo.example.com/maven2/org/springframework/spring-core/maven-metadata.xml"))
+				.andExpect(MockRestRequestMatchers.method(HttpMethod.GET))
+				.andRespond(MockRestResponseCreators.withSuccess(
+						new FileSystemResource(new File("src/test/resources/spring-core-maven-metadata.xml")),
+						MediaType.TEXT_XML).headers(headers));
+		server.expect(MockRestRequestMatchers
+				.requestTo("https://repo.example.com/maven2/org/springframework/spring-core/maven-metadata.xml"))
+				.andExpect(MockRestRequestMatchers.header(HttpHeaders.IF_NONE_MATCH, "\"abcdef\""))
+				.andRespond(MockRestResponseCreators.withStatus(HttpStatus.NOT_MODIFIED));
+		MavenMetadataCache cache = new MavenMetadataCache(cacheDirectory, Duration.ZERO, false);
+		Set<DependencyVersion> downloaded = new MavenMetadataVersionResolver(rest,
+				Arrays.asList("https://repo.example.com/maven2/"), 1, 1, cache).resolveVersions(module);
+		Set<DependencyVersion> revalidated = new MavenMetadataVersionResolver(rest,
+				Arrays.asList("https://repo.example.com/maven2/"), 1, 1, cache).resolveVersions(module);
+		server.verify();
+		assertThat(downloaded).hasSize(13);
+		assertThat(revalidated).isEqualTo(downloaded);
+	}
+
+	@Test
+	public void whenOfflineCachedVersionsAreUsedWithoutMakingARequest() throws Exception {
+		File cacheDirectory = this.temp.newFolder();
+		Module module = new Module("com.example", "core");
+		new MavenMetadataCache(cacheDirectory, Duration.ZERO, false).put("https://repo.example.com", module,
+				new MavenMetadataCache.Entry(new HashSet<>(Arrays.asList("1.0.0.RELEASE", "1.1.0.RELEASE")), null,
+						null));
+		RestTemplate rest = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+		Set<DependencyVersion> versions = new MavenMetadataVersionResolver(rest,
+				Arrays.asList("https://repo.example.com"), 1, 1,
+				new MavenMetadataCache(cacheDirectory, Duration.ZERO, true)).resolveVersions(module);
+		server.verify();
+		assertThat(versions.stream().map(DependencyVersion::toString).collect(Collectors.toList()))
+				.containsExactly("1.0.0.RELEASE", "1.1.0.RELEASE");
+	}
+
+	@Test
+	public void whenOfflineVersionIsOnlyAvailableIfItHasBeenCached() throws Exception {
+		File cacheDirectory = this.temp.newFolder();
+		Module module = new Module("com.example", "core");
+		new MavenMetadataCache(cacheDirectory, Duration.ZERO, false).put("https://repo2.example.com", module,
+				new MavenMetadataCache.Entry(new HashSet<>(Arrays.asList("1.0.0.RELEASE")), null, null));
+		RestTemplate rest = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+		MavenMetadataVersionResolver resolver = new MavenMetadataVersionResolver(rest,
+				Arrays.asList("https://repo1.example.com", "https://repo2.example.com"), 1, 1,
+				new MavenMetadataCache(cacheDirectory, Duration.ZERO, true));
+		assertThat(resolver.isAvailable(module, DependencyVersion.parse("1.0.0.RELEASE"))).isTrue();
+		assertThat(resolver.isAvailable(module, DependencyVersion.parse("1.1.0.RELEASE"))).isFalse();
+		server.verify();
+	}
+
+	@Test
+	public void versionIsAvailableWhenItsPomExistsInARepository() {
+		RestTemplate rest = new RestTemplate();
+		MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+		server.expect(
+				MockRestRequestMatchers.requestTo("https://repo1.example.com/com/example/core/1.1.0/core-1.1.0.pom"))
+				.andExpect(MockRestRequestMatchers.method(HttpMethod.HEAD))
+				.andRespond(MockRestResponseCreators.withStatus(HttpStatus.NOT_FOUND));
+		server.expect(
+				MockRestRequestMatchers.requestTo("https://repo2.example.com/com/example/core/1.1.0/core-1.1.0.pom"))
+				.andExpect(MockRestRequestMatchers.method(HttpMethod.HEAD))
+				.andRespond(MockRestResponseCreators.withSuccess());
+		boolean available = new MavenMetadataVersionResolver(rest,
+				Arrays.asList("https://repo1.example.com", "https://repo2.example.com"))
+						.isAvailable(new Module("com.example", "core"), DependencyVersion.parse("1.1.0"));
+		server.verify();
+		assertThat(available).isTrue();
+	}
+
+	private void expectMetadata(MockRestServiceServer server, String url, String metadata) {
+		server.expect(MockRestRequestMatchers.requestTo(url)).andExpect(MockRestRequestMatchers.method(HttpMethod.GET))
+				.andRespond(MockRestResponseCreators.withSuccess(
+						new FileSystemResource(new File("src/test/resources/" + metadata)), MediaType.TEXT_XML));
+	}
+
 }
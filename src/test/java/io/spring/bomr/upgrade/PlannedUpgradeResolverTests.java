@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.bomr.upgrade.BomVersions.BomVersion;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PlannedUpgradeResolver}.
+ *
+ * @author Andy Wilkinson
+ */
+public class PlannedUpgradeResolverTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void upgradesAreResolvedFromAPlanThatHasBeenWrittenAndRead() throws Exception {
+		Project springFramework = project("spring-framework.version", "5.2.0.RELEASE");
+		Project jackson = project("jackson.version", "2.10.0");
+		File planFile = this.temp.newFile("plan.json");
+		UpgradePlan.of(Arrays.asList(new Upgrade(springFramework, DependencyVersion.parse("5.2.2.RELEASE")),
+				new Upgrade(jackson, DependencyVersion.parse("2.10.1")))).write(planFile);
+		List<Upgrade> upgrades = new PlannedUpgradeResolver(UpgradePlan.read(planFile), null)
+				.resolveUpgrades(Arrays.asList(springFramework, jackson));
+		assertThat(upgrades).hasSize(2);
+		assertThat(upgrades.get(0).getProject()).isSameAs(springFramework);
+		assertThat(upgrades.get(0).getVersion().toString()).isEqualTo("5.2.2.RELEASE");
+		assertThat(upgrades.get(1).getProject()).isSameAs(jackson);
+		assertThat(upgrades.get(1).getVersion().toString()).isEqualTo("2.10.1");
+	}
+
+	@Test
+	public void plannedUpgradeIsSkippedWhenProjectVersionHasChanged() {
+		UpgradePlan plan = UpgradePlan.of(Collections.singletonList(
+				new Upgrade(project("jackson.version", "2.10.0"), DependencyVersion.parse("2.10.2"))));
+		List<Upgrade> upgrades = new PlannedUpgradeResolver(plan, null)
+				.resolveUpgrades(Collections.singletonList(project("jackson.version", "2.10.1")));
+		assertThat(upgrades).isEmpty();
+	}
+
+	private Project project(String property, String version) {
+		BomVersion bomVersion = new BomVersion(property, DependencyVersion.parse(version));
+		return new Project(new ProjectName(bomVersion), bomVersion);
+	}
+
+}
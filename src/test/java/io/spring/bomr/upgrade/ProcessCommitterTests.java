@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.StoredConfig;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ProcessCommitter}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ProcessCommitterTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void eachUpgradeIsCommitted() throws Exception {
+		try (Git git = initRepository()) {
+			Bom bom = new Bom(new File(git.getRepository().getWorkTree(), "pom.xml"));
+			try (Committer.Session session = new ProcessCommitter().begin(bom)) {
+				bom.update(Collections.singletonList(upgrade(bom, "jackson.version", "2.9.10")));
+				session.commit("Upgrade to Jackson 2.9.10");
+				bom.update(Collections.singletonList(upgrade(bom, "activemq.version", "5.15.1")));
+				session.commit("Upgrade to ActiveMQ 5.15.1");
+			}
+			assertThat(messages(git)).containsExactly("Upgrade to ActiveMQ 5.15.1", "Upgrade to Jackson 2.9.10",
+					"Initial commit");
+			assertThat(git.status().call().isClean()).isTrue();
+		}
+	}
+
+	@Test
+	public void outputOfGitIsDrainedWhileItRuns() throws Exception {
+		try (Git git = initRepository()) {
+			hook(git, "pre-commit", "head -c 1048576 /dev/zero | tr '\\0' x");
+			Bom bom = new Bom(new File(git.getRepository().getWorkTree(), "pom.xml"));
+			try (Committer.Session session = new ProcessCommitter().begin(bom)) {
+				bom.update(Collections.singletonList(upgrade(bom, "jackson.version", "2.9.10")));
+				session.commit("Upgrade to Jackson 2.9.10");
+			}
+			assertThat(messages(git)).containsExactly("Upgrade to Jackson 2.9.10", "Initial commit");
+		}
+	}
+
+	@Test
+	public void whenGitExitsWithAFailureItsOutputIsIncludedInTheException() throws Exception {
+		try (Git git = initRepository()) {
+			hook(git, "pre-commit", "echo 'Rejected by hook'\nexit 1");
+			Bom bom = new Bom(new File(git.getRepository().getWorkTree(), "pom.xml"));
+			try (Committer.Session session = new ProcessCommitter().begin(bom)) {
+				bom.update(Collections.singletonList(upgrade(bom, "jackson.version", "2.9.10")));
+				assertThatIllegalStateException().isThrownBy(() -> session.commit("Upgrade to Jackson 2.9.10"))
+						.withMessageStartingWith("git commit failed:").withMessageContaining("Rejected by hook");
+			}
+			assertThat(messages(git)).containsExactly("Initial commit");
+		}
+	}
+
+	private Git initRepository() throws Exception {
+		File directory = this.temp.newFolder("repository");
+		Git git = Git.init().setDirectory(directory).call();
+		StoredConfig config = git.getRepository().getConfig();
+		config.setString("user", null, "name", "Alice");
+		config.setString("user", null, "email", "alice@example.com");
+		config.setBoolean("commit", null, "gpgsign", false);
+		config.save();
+		Files.copy(Paths.get("src/test/resources/spring-boot.bom"), new File(directory, "pom.xml").toPath());
+		git.add().addFilepattern("pom.xml").call();
+		git.commit().setMessage("Initial commit").call();
+		return git;
+	}
+
+	private void hook(Git git, String name, String script) throws Exception {
+		File hook = new File(git.getRepository().getDirectory(), "hooks/" + name);
+		hook.getParentFile().mkdirs();
+		Files.write(hook.toPath(), ("#!/bin/sh\n" + script + "\n").getBytes(StandardCharsets.UTF_8));
+		hook.setExecutable(true);
+	}
+
+	private List<String> messages(Git git) throws Exception {
+		List<String> messages = new ArrayList<>();
+		for (RevCommit commit : git.log().call()) {
+			messages.add(commit.getFullMessage().trim());
+		}
+		return messages;
+	}
+
+	private Upgrade upgrade(Bom bom, String property, String version) {
+		Project project = bom.getManagedProjects().values().stream()
+				.filter((candidate) -> candidate.getVersion().getProperty().equals(property)).findFirst().get();
+		return new Upgrade(project, DependencyVersion.parse(version));
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.upgrade;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import io.spring.bomr.upgrade.BomVersions.BomVersion;
+import io.spring.bomr.upgrade.version.DependencyVersion;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.test.system.OutputCaptureRule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link UpgradeJournal}.
+ *
+ * @author Andy Wilkinson
+ */
+public class UpgradeJournalTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Rule
+	public final OutputCaptureRule output = new OutputCaptureRule();
+
+	@Test
+	public void resumedJournalReplaysResolvedVersionsSelectionsAndIssues() throws Exception {
+		File file = new File(this.temp.getRoot(), ".bomr/upgrade-journal.json");
+		Project alpha = project("alpha.version", "1.0");
+		Module module = alpha.getModules().get(0);
+		UpgradeJournal journal = UpgradeJournal.begin(file);
+		journal.recordResolvedVersions(Collections.singletonMap(module, versions("1.0", "1.1", "1.2")));
+		Upgrade upgrade = new Upgrade(alpha, DependencyVersion.parse("1.1"));
+		journal.recordSelection(alpha, upgrade);
+		journal.recordIssue(upgrade, 5);
+		UpgradeJournal resumed = UpgradeJournal.resume(file);
+		assertThat(resumed.getResolvedVersions(Arrays.asList(module)).get(module))
+				.isEqualTo(versions("1.0", "1.1", "1.2"));
+		assertThat(resumed.hasSelection(alpha)).isTrue();
+		Upgrade selected = resumed.getSelectedUpgrade(alpha);
+		assertThat(selected.getProject()).isSameAs(alpha);
+		assertThat(selected.getVersion()).isEqualTo(DependencyVersion.parse("1.1"));
+		assertThat(resumed.getIssue(selected)).isEqualTo(5);
+	}
+
+	@Test
+	public void selectionThatHasBeenAppliedIsNotReplayed() {
+		File file = new File(this.temp.getRoot(), "upgrade-journal.json");
+		Project alpha = project("alpha.version", "1.0");
+		UpgradeJournal journal = UpgradeJournal.begin(file);
+		journal.recordSelection(alpha, new Upgrade(alpha, DependencyVersion.parse("1.1")));
+		UpgradeJournal resumed = UpgradeJournal.resume(file);
+		Project upgradedAlpha = project("alpha.version", "1.1");
+		assertThat(resumed.hasSelection(upgradedAlpha)).isTrue();
+		assertThat(resumed.getSelectedUpgrade(upgradedAlpha)).isNull();
+	}
+
+	@Test
+	public void selectionForADifferentVersionIsIgnored() {
+		File file = new File(this.temp.getRoot(), "upgrade-journal.json");
+		Project alpha = project("alpha.version", "1.0");
+		UpgradeJournal journal = UpgradeJournal.begin(file);
+		journal.recordSelection(alpha, new Upgrade(alpha, DependencyVersion.parse("1.1")));
+		assertThat(UpgradeJournal.resume(file).hasSelection(project("alpha.version", "1.2"))).isFalse();
+	}
+
+	@Test
+	public void completingTheSessionDeletesTheJournal() {
+		File file = new File(this.temp.getRoot(), "upgrade-journal.json");
+		UpgradeJournal journal = UpgradeJournal.begin(file);
+		assertThat(file).isFile();
+		journal.complete();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	public void failureToWriteTheJournalIsThrown() throws Exception {
+		File file = new File(this.temp.newFile("blocker"), "upgrade-journal.json");
+		assertThatThrownBy(() -> UpgradeJournal.begin(file)).isInstanceOf(UncheckedIOException.class)
+				.hasMessageContaining(file.getPath());
+	}
+
+	@Test
+	public void resumedResolutionDoesNotResolveOrSelectAgain() {
+		File file = new File(this.temp.getRoot(), "upgrade-journal.json");
+		List<Project> projects = Arrays.asList(project("alpha.version", "1.0"), project("bravo.version", "2.0"));
+		List<Module> resolvedModules = new ArrayList<>();
+		VersionResolver versionResolver = (module) -> {
+			resolvedModules.add(module);
+			return versions("1.0", "1.1", "2.0", "2.1");
+		};
+		List<Upgrade> upgrades = new JournaledUpgradeResolver(versionResolver, UpgradeJournal.begin(file), true)
+				.resolveUpgrades(projects);
+		assertThat(upgrades).extracting((upgrade) -> upgrade.getVersion().toString()).containsExactly("2.1", "2.1");
+		assertThat(resolvedModules).hasSize(2);
+		resolvedModules.clear();
+		upgrades = new JournaledUpgradeResolver(versionResolver, UpgradeJournal.resume(file), false)
+				.resolveUpgrades(projects);
+		assertThat(upgrades).extracting((upgrade) -> upgrade.getVersion().toString()).containsExactly("2.1", "2.1");
+		assertThat(resolvedModules).isEmpty();
+	}
+
+	@Test
+	public void resumedPlannedUpgradeSkipsUpgradesThatHaveBeenAppliedWithoutWarning() {
+		File file = new File(this.temp.getRoot(), "upgrade-journal.json");
+		Project alpha = project("alpha.version", "1.0");
+		Project bravo = project("bravo.version", "2.0");
+		UpgradePlan plan = UpgradePlan.of(Arrays.asList(new Upgrade(alpha, DependencyVersion.parse("1.1")),
+				new Upgrade(bravo, DependencyVersion.parse("2.1"))));
+		UpgradeJournal journal = UpgradeJournal.begin(file);
+		journal.recordIssue(new Upgrade(alpha, DependencyVersion.parse("1.1")), 5);
+		List<Upgrade> upgrades = new PlannedUpgradeResolver(plan, UpgradeJournal.resume(file))
+				.resolveUpgrades(Arrays.asList(project("alpha.version", "1.1"), bravo));
+		assertThat(upgrades).hasSize(1);
+		assertThat(upgrades.get(0).getProject()).isSameAs(bravo);
+		assertThat(upgrades.get(0).getVersion()).isEqualTo(DependencyVersion.parse("2.1"));
+		assertThat(this.output.getErr()).isEmpty();
+	}
+
+	private Project project(String property, String version) {
+		BomVersion bomVersion = new BomVersion(property, DependencyVersion.parse(version));
+		Project project = new Project(new ProjectName(bomVersion), bomVersion);
+		project.getModules().add(new Module("com.example", property.replace(".version", "")));
+		return project;
+	}
+
+	private SortedSet<DependencyVersion> versions(String... versions) {
+		SortedSet<DependencyVersion> dependencyVersions = new TreeSet<>();
+		for (String version : versions) {
+			dependencyVersions.add(DependencyVersion.parse(version));
+		}
+		return dependencyVersions;
+	}
+
+	private static final class JournaledUpgradeResolver extends AbstractUpgradeResolver {
+
+		private final boolean selectionPermitted;
+
+		private JournaledUpgradeResolver(VersionResolver versionResolver, UpgradeJournal journal,
+				boolean selectionPermitted) {
+			super(versionResolver, UpgradePolicy.ANY, Collections.emptyList(), ResolutionStrategy.ALL_MODULES,
+					journal);
+			this.selectionPermitted = selectionPermitted;
+		}
+
+		@Override
+		protected Upgrade selectUpgrade(ProjectVersions versions) {
+			assertThat(this.selectionPermitted).isTrue();
+			List<DependencyVersion> candidates = versions.getVersions();
+			return new Upgrade(versions.getProject(), candidates.get(candidates.size() - 1));
+		}
+
+	}
+
+}
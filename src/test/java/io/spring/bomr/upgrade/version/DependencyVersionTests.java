@@ -52,4 +52,19 @@ public class DependencyVersionTests {
 		assertThat(DependencyVersion.parse("4.0.0M4")).isInstanceOf(CombinedPatchAndQualifierDependencyVersion.class);
 	}
 
+	@Test
+	public void parseWhenUnstructuredVersionShouldReturnUnstructuredDependencyVersion() {
+		assertThat(DependencyVersion.parse("rev-a")).isInstanceOf(UnstructuredDependencyVersion.class);
+	}
+
+	@Test
+	public void parseWhenNonNumericVersionHasFourComponentsShouldReturnArtifactVersionDependencyVersion() {
+		assertThat(DependencyVersion.parse("a.b.c.d")).isInstanceOf(ArtifactVersionDependencyVersion.class);
+	}
+
+	@Test
+	public void parseOfSameVersionShouldReturnSameInstance() {
+		assertThat(DependencyVersion.parse("2.1.0.RELEASE")).isSameAs(DependencyVersion.parse("2.1.0.RELEASE"));
+	}
+
 }
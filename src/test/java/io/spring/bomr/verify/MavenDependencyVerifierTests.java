@@ -0,0 +1,223 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.samskivert.mustache.Mustache;
+import io.spring.bomr.verify.MavenDependencyVerifier.FailureExtractor;
+import org.apache.maven.model.Model;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenDependencyVerifier}.
+ *
+ * @author Andy Wilkinson
+ */
+public class MavenDependencyVerifierTests {
+
+	private static final Pattern ARTIFACT_ID_PATTERN = Pattern.compile("<artifactId>(.*)</artifactId>");
+
+	private final ManagedDependency dependency = new ManagedDependency("com.example", "core", "1.0.0", null, null);
+
+	private final List<List<String>> invocations = Collections.synchronizedList(new ArrayList<>());
+
+	@Test
+	public void lineWithCoordinatesOfDependencyMentionsIt() {
+		assertThat(MavenDependencyVerifier.mentions("[ERROR] Failed to execute goal on project bom-verification: "
+				+ "Could not resolve dependencies: Failure to find com.example:core:jar:1.0.0 in "
+				+ "https://repo.example.com", this.dependency)).isTrue();
+	}
+
+	@Test
+	public void lineThatStartsWithCoordinatesOfDependencyMentionsIt() {
+		assertThat(MavenDependencyVerifier.mentions("com.example:core:jar:1.0.0 was not found", this.dependency))
+				.isTrue();
+	}
+
+	@Test
+	public void lineWithCoordinatesOfDependencyWithLongerGroupIdDoesNotMentionIt() {
+		assertThat(
+				MavenDependencyVerifier.mentions("Failure to find org.com.example:core:jar:1.0.0", this.dependency))
+						.isFalse();
+	}
+
+	@Test
+	public void lineWithCoordinatesOfDependencyWithLongerArtifactIdDoesNotMentionIt() {
+		assertThat(
+				MavenDependencyVerifier.mentions("Failure to find com.example:core-extra:jar:1.0.0", this.dependency))
+						.isFalse();
+	}
+
+	@Test
+	public void errorLinesAreAttributedToTheDependenciesThatTheyMention() {
+		ManagedDependency other = new ManagedDependency("com.example", "other", "1.0.0", null, null);
+		FailureExtractor extractor = new FailureExtractor(Arrays.asList(this.dependency, other), (dependency) -> {
+		});
+		extractor.accept("[INFO] Downloading com.example:core:jar:1.0.0");
+		extractor.accept("[ERROR] Failed to execute goal on project bom-verification: "
+				+ "Could not resolve dependencies: Failure to find com.example:core:jar:1.0.0");
+		extractor.accept("[ERROR] Re-run Maven using the -X switch to enable full debug logging.");
+		assertThat(extractor.getFailures()).containsOnlyKeys(this.dependency);
+		assertThat(extractor.getFailures().get(this.dependency)).hasSize(1);
+	}
+
+	@Test
+	public void failureListenerIsCalledWhenADependencyFirstFails() {
+		List<ManagedDependency> failed = new ArrayList<>();
+		FailureExtractor extractor = new FailureExtractor(Arrays.asList(this.dependency), failed::add);
+		extractor.accept("[ERROR] Failure to find com.example:core:jar:1.0.0");
+		assertThat(failed).containsExactly(this.dependency);
+		extractor.accept("[ERROR] Could not find artifact com.example:core:jar:1.0.0");
+		assertThat(failed).containsExactly(this.dependency);
+		assertThat(extractor.getFailures().get(this.dependency)).hasSize(2);
+	}
+
+	@Test
+	public void linesThatAreNotErrorsAreIgnored() {
+		FailureExtractor extractor = new FailureExtractor(Arrays.asList(this.dependency), (dependency) -> {
+		});
+		extractor.accept("[INFO]    com.example:core:jar:1.0.0:compile");
+		extractor.accept("[WARNING] The POM for com.example:core:jar:1.0.0 is missing");
+		assertThat(extractor.getFailures()).isEmpty();
+	}
+
+	@Test
+	public void whenADependencyFailsItIsRemovedAndTheShardIsVerifiedAgain() {
+		List<ManagedDependency> dependencies = dependencies("alpha", "bravo", "charlie");
+		VerificationReport report = verify(1, dependencies,
+				(artifactIds) -> artifactIds.contains("bravo")
+						? Arrays.asList("[ERROR] Failed to execute goal on project bom-verification: "
+								+ "Could not find artifact com.example:bravo:jar:1.0.0")
+						: null);
+		assertThat(this.invocations).containsExactly(Arrays.asList("alpha", "bravo", "charlie"),
+				Arrays.asList("alpha", "charlie"));
+		assertThat(report.getFailures()).containsOnlyKeys(dependencies.get(1));
+		assertThat(report.getFailures().get(dependencies.get(1))).containsExactly(
+				"[ERROR] Failed to execute goal on project bom-verification: "
+						+ "Could not find artifact com.example:bravo:jar:1.0.0");
+	}
+
+	@Test
+	public void whenAFailureMentionsNoDependencyTheWholeShardFails() {
+		List<ManagedDependency> dependencies = dependencies("alpha", "bravo");
+		VerificationReport report = verify(1, dependencies,
+				(artifactIds) -> Arrays.asList("[INFO] Scanning for projects...", "[ERROR] Non-resolvable parent POM"));
+		assertThat(this.invocations).hasSize(1);
+		assertThat(report.getFailures()).containsOnlyKeys(dependencies.get(0), dependencies.get(1));
+		assertThat(report.getFailures().get(dependencies.get(0))).containsExactly("[ERROR] Non-resolvable parent POM");
+		assertThat(report.getFailures().get(dependencies.get(1))).containsExactly("[ERROR] Non-resolvable parent POM");
+	}
+
+	@Test
+	public void resultsOfEachShardAreMergedIntoOneReport() {
+		List<ManagedDependency> dependencies = dependencies("alpha", "bravo", "charlie", "delta");
+		VerificationReport report = verify(2, dependencies, (artifactIds) -> {
+			for (String artifactId : Arrays.asList("charlie", "delta")) {
+				if (artifactIds.contains(artifactId)) {
+					return Arrays.asList("[ERROR] Could not find artifact com.example:" + artifactId + ":jar:1.0.0");
+				}
+			}
+			return null;
+		});
+		assertThat(this.invocations).containsExactlyInAnyOrder(Arrays.asList("alpha", "charlie"),
+				Arrays.asList("alpha"), Arrays.asList("bravo", "delta"), Arrays.asList("bravo"));
+		assertThat(report.getDependencies()).isEqualTo(dependencies);
+		assertThat(report.getFailures().keySet()).containsExactly(dependencies.get(2), dependencies.get(3));
+	}
+
+	private VerificationReport verify(int shards, List<ManagedDependency> dependencies,
+			Function<List<String>, List<String>> failureOutput) {
+		Model model = new Model();
+		model.setGroupId("com.example");
+		model.setArtifactId("bom");
+		model.setVersion("1.0.0");
+		VerificationReport report = new VerificationReport(dependencies);
+		new MavenDependencyVerifier(new StubMavenInvoker(failureOutput), Mustache.compiler(),
+				(name) -> new FileReader("src/main/resources/templates/" + name + ".mustache"), shards)
+						.verify(new File("pom.xml"), new VerifiableBom(model), dependencies,
+								Collections.emptyList(), report);
+		return report;
+	}
+
+	private List<ManagedDependency> dependencies(String... artifactIds) {
+		List<ManagedDependency> dependencies = new ArrayList<>();
+		for (String artifactId : artifactIds) {
+			dependencies.add(new ManagedDependency("com.example", artifactId, "1.0.0", "", "jar"));
+		}
+		return dependencies;
+	}
+
+	/**
+	 * A {@link MavenInvoker} that records the dependencies in each pom that it is asked
+	 * to build and fails with the output that is produced for them, if any.
+	 */
+	private final class StubMavenInvoker extends MavenInvoker {
+
+		private final Function<List<String>, List<String>> failureOutput;
+
+		private StubMavenInvoker(Function<List<String>, List<String>> failureOutput) {
+			super(null);
+			this.failureOutput = failureOutput;
+		}
+
+		@Override
+		void invoke(File pom, Properties properties, Consumer<String> outputListener, String... goals)
+				throws MavenInvocationFailedException {
+			List<String> artifactIds = dependencyArtifactIds(pom);
+			MavenDependencyVerifierTests.this.invocations.add(artifactIds);
+			List<String> output = this.failureOutput.apply(artifactIds);
+			if (output != null) {
+				output.forEach(outputListener);
+				throw new MavenInvocationFailedException(output);
+			}
+		}
+
+		private List<String> dependencyArtifactIds(File pom) {
+			try {
+				String content = new String(Files.readAllBytes(pom.toPath()), StandardCharsets.UTF_8);
+				String dependencies = content.substring(content.indexOf("<dependencies>"),
+						content.indexOf("</dependencies>"));
+				List<String> artifactIds = new ArrayList<>();
+				Matcher matcher = ARTIFACT_ID_PATTERN.matcher(dependencies);
+				while (matcher.find()) {
+					artifactIds.add(matcher.group(1));
+				}
+				return artifactIds;
+			}
+			catch (Exception ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.repository.AuthenticationContext;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MavenSettings}.
+ *
+ * @author Andy Wilkinson
+ */
+public class MavenSettingsTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private final MavenProperties properties = new MavenProperties();
+
+	private File userHome;
+
+	@Before
+	public void setUp() throws IOException {
+		this.userHome = this.temp.newFolder("user");
+		this.properties.setHome(this.temp.newFolder("maven"));
+	}
+
+	@Test
+	public void localRepositoryDefaultsToM2Repository() {
+		assertThat(MavenSettings.load(this.properties, this.userHome).getLocalRepository())
+				.isEqualTo(new File(this.userHome, ".m2/repository"));
+	}
+
+	@Test
+	public void localRepositoryIsReadFromUserSettings() throws IOException {
+		writeSettings(new File(this.userHome, ".m2/settings.xml"), "<localRepository>/tmp/example</localRepository>");
+		assertThat(MavenSettings.load(this.properties, this.userHome).getLocalRepository())
+				.isEqualTo(new File("/tmp/example"));
+	}
+
+	@Test
+	public void localRepositoryIsReadFromGlobalSettings() throws IOException {
+		writeSettings(new File(this.properties.getHome(), "conf/settings.xml"),
+				"<localRepository>/tmp/global</localRepository>");
+		assertThat(MavenSettings.load(this.properties, this.userHome).getLocalRepository())
+				.isEqualTo(new File("/tmp/global"));
+	}
+
+	@Test
+	public void configuredLocalRepositoryTakesPrecedenceOverSettings() throws IOException {
+		writeSettings(new File(this.userHome, ".m2/settings.xml"), "<localRepository>/tmp/example</localRepository>");
+		this.properties.setLocalRepository(new File("/tmp/configured"));
+		assertThat(MavenSettings.load(this.properties, this.userHome).getLocalRepository())
+				.isEqualTo(new File("/tmp/configured"));
+	}
+
+	@Test
+	public void repositoriesOfExplicitlyActiveProfilesAreUsedInsteadOfThoseActiveByDefault() throws IOException {
+		writeSettings(new File(this.userHome, ".m2/settings.xml"),
+				"<profiles>" + profile("default", "<activation><activeByDefault>true</activeByDefault></activation>")
+						+ profile("explicit", "") + profile("inactive", "")
+						+ "</profiles><activeProfiles><activeProfile>explicit</activeProfile></activeProfiles>");
+		assertThat(MavenSettings.load(this.properties, this.userHome).getRepositories())
+				.extracting(Repository::getId).containsExactly("explicit-repo");
+	}
+
+	@Test
+	public void repositoriesOfProfilesActiveByDefaultAreUsedWhenNoProfileIsActiveExplicitly() throws IOException {
+		writeSettings(new File(this.userHome, ".m2/settings.xml"), "<profiles>"
+				+ profile("default", "<activation><activeByDefault>true</activeByDefault></activation>")
+				+ profile("inactive", "") + "</profiles>");
+		assertThat(MavenSettings.load(this.properties, this.userHome).getRepositories())
+				.extracting(Repository::getId).containsExactly("default-repo");
+	}
+
+	@Test
+	public void mirrorsAndServerCredentialsAreAppliedToSession() throws IOException {
+		writeSettings(new File(this.userHome, ".m2/settings.xml"),
+				"<mirrors><mirror><id>corporate</id><url>https://repo.example.com/maven</url>"
+						+ "<mirrorOf>central</mirrorOf></mirror></mirrors><servers><server><id>corporate</id>"
+						+ "<username>alice</username><password>secret</password></server></servers>");
+		DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+		MavenSettings.load(this.properties, this.userHome).applyTo(session);
+		RemoteRepository mirror = session.getMirrorSelector().getMirror(
+				new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build());
+		assertThat(mirror.getId()).isEqualTo("corporate");
+		assertThat(mirror.getUrl()).isEqualTo("https://repo.example.com/maven");
+		RemoteRepository authenticated = new RemoteRepository.Builder(mirror)
+				.setAuthentication(session.getAuthenticationSelector().getAuthentication(mirror)).build();
+		try (AuthenticationContext context = AuthenticationContext.forRepository(session, authenticated)) {
+			assertThat(context.get(AuthenticationContext.USERNAME)).isEqualTo("alice");
+			assertThat(context.get(AuthenticationContext.PASSWORD)).isEqualTo("secret");
+		}
+	}
+
+	@Test
+	public void activeProxyIsAppliedToSession() throws IOException {
+		writeSettings(new File(this.userHome, ".m2/settings.xml"),
+				"<proxies><proxy><id>corporate</id><active>true</active><protocol>https</protocol>"
+						+ "<host>proxy.example.com</host><port>3128</port></proxy></proxies>");
+		DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+		MavenSettings.load(this.properties, this.userHome).applyTo(session);
+		assertThat(session.getProxySelector().getProxy(
+				new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build()))
+						.satisfies((proxy) -> {
+							assertThat(proxy.getHost()).isEqualTo("proxy.example.com");
+							assertThat(proxy.getPort()).isEqualTo(3128);
+						});
+	}
+
+	private String profile(String id, String activation) {
+		return "<profile><id>" + id + "</id>" + activation + "<repositories><repository><id>" + id
+				+ "-repo</id><url>https://repo.example.com/" + id + "</url></repository>"
+				+ "</repositories></profile>";
+	}
+
+	private void writeSettings(File file, String content) throws IOException {
+		file.getParentFile().mkdirs();
+		String settings = "<settings>" + content + "</settings>";
+		Files.write(file.toPath(), settings.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.bomr.http.HttpProperties;
+import org.apache.maven.settings.Settings;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResolverDependencyVerifier}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ResolverDependencyVerifierTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	private File repository;
+
+	@Before
+	public void createRepository() throws IOException {
+		this.repository = this.temp.newFolder("repository");
+		publish("alpha", "", true);
+		publish("bravo", "<dependencies><dependency><groupId>com.example</groupId><artifactId>charlie</artifactId>"
+				+ "<version>1.0.0</version></dependency></dependencies>", true);
+		publish("charlie", "", false);
+	}
+
+	@Test
+	public void dependenciesThatCanBeResolvedPass() throws IOException {
+		VerificationReport report = verify(
+				"<dependency><groupId>com.example</groupId><artifactId>alpha</artifactId><version>1.0.0</version>"
+						+ "</dependency><dependency><groupId>com.example</groupId><artifactId>charlie</artifactId>"
+						+ "<version>1.0.0</version><type>pom</type></dependency>");
+		assertThat(report.getFailures()).isEmpty();
+	}
+
+	@Test
+	public void dependencyThatCannotBeResolvedFails() throws IOException {
+		VerificationReport report = verify(
+				"<dependency><groupId>com.example</groupId><artifactId>alpha</artifactId><version>1.0.0</version>"
+						+ "</dependency><dependency><groupId>com.example</groupId><artifactId>delta</artifactId>"
+						+ "<version>1.0.0</version></dependency>");
+		assertThat(report.getFailures()).hasSize(1);
+		report.getFailures().forEach((dependency, messages) -> {
+			assertThat(dependency.getArtifactId()).isEqualTo("delta");
+			assertThat(messages).anySatisfy((message) -> assertThat(message).contains("com.example:delta:jar:1.0.0"));
+		});
+	}
+
+	@Test
+	public void dependencyWithTransitiveDependencyThatCannotBeResolvedFails() throws IOException {
+		VerificationReport report = verify(
+				"<dependency><groupId>com.example</groupId><artifactId>alpha</artifactId><version>1.0.0</version>"
+						+ "</dependency><dependency><groupId>com.example</groupId><artifactId>bravo</artifactId>"
+						+ "<version>1.0.0</version></dependency>");
+		assertThat(report.getFailures()).hasSize(1);
+		report.getFailures().forEach((dependency, messages) -> {
+			assertThat(dependency.getArtifactId()).isEqualTo("bravo");
+			assertThat(messages)
+					.anySatisfy((message) -> assertThat(message).contains("com.example:charlie:jar:1.0.0"));
+		});
+	}
+
+	private VerificationReport verify(String managedDependencies) throws IOException {
+		File bomFile = this.temp.newFile("bom.xml");
+		String bom = "<project><modelVersion>4.0.0</modelVersion><groupId>com.example</groupId>"
+				+ "<artifactId>bom</artifactId><version>1.0.0</version><packaging>pom</packaging>"
+				+ "<dependencyManagement><dependencies>" + managedDependencies
+				+ "</dependencies></dependencyManagement></project>";
+		Files.write(bomFile.toPath(), bom.getBytes(StandardCharsets.UTF_8));
+		MavenSettings settings = new MavenSettings(new Settings(), this.temp.newFolder("local"));
+		List<Repository> repositories = Collections
+				.singletonList(new Repository("central", this.repository.toURI(), false));
+		VerifiableBom verifiableBom = new VerifiableBom(
+				new ResolverEffectiveBomBuilder(settings, new HttpProperties()).build(bomFile, repositories));
+		VerificationReport report = new VerificationReport(verifiableBom.getManagedDependencies());
+		new ResolverDependencyVerifier(settings, new HttpProperties(), 2).verify(bomFile, verifiableBom,
+				verifiableBom.getManagedDependencies(), repositories, report);
+		return report;
+	}
+
+	private void publish(String artifactId, String dependencies, boolean jar) throws IOException {
+		File directory = new File(this.repository, "com/example/" + artifactId + "/1.0.0");
+		directory.mkdirs();
+		String pom = "<project><modelVersion>4.0.0</modelVersion><groupId>com.example</groupId><artifactId>"
+				+ artifactId + "</artifactId><version>1.0.0</version>" + dependencies + "</project>";
+		Files.write(new File(directory, artifactId + "-1.0.0.pom").toPath(), pom.getBytes(StandardCharsets.UTF_8));
+		if (jar) {
+			Files.write(new File(directory, artifactId + "-1.0.0.jar").toPath(), new byte[0]);
+		}
+	}
+
+}
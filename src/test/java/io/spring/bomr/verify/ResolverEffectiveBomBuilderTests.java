@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import io.spring.bomr.http.HttpProperties;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.settings.Activation;
+import org.apache.maven.settings.Mirror;
+import org.apache.maven.settings.Profile;
+import org.apache.maven.settings.Settings;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ResolverEffectiveBomBuilder}.
+ *
+ * @author Andy Wilkinson
+ */
+public class ResolverEffectiveBomBuilderTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void effectiveBomIncludesInheritedAndImportedDependencyManagement() throws IOException {
+		File repository = this.temp.newFolder("repository");
+		publish(repository, "parent", "<properties><alpha.version>1.2.3</alpha.version></properties>"
+				+ "<dependencyManagement><dependencies>" + dependency("charlie", "3.0.0", "")
+				+ "</dependencies></dependencyManagement>");
+		publish(repository, "imported",
+				"<dependencyManagement><dependencies>" + dependency("bravo", "2.0.0", "")
+						+ "</dependencies></dependencyManagement>");
+		File bomFile = this.temp.newFile("bom.xml");
+		String bom = "<project><modelVersion>4.0.0</modelVersion><parent><groupId>com.example</groupId>"
+				+ "<artifactId>parent</artifactId><version>1.0.0</version><relativePath/></parent>"
+				+ "<artifactId>bom</artifactId><packaging>pom</packaging><dependencyManagement><dependencies>"
+				+ dependency("alpha", "${alpha.version}", "")
+				+ dependency("imported", "1.0.0", "<type>pom</type><scope>import</scope>")
+				+ "</dependencies></dependencyManagement></project>";
+		Files.write(bomFile.toPath(), bom.getBytes(StandardCharsets.UTF_8));
+		Model model = build(new Settings(), bomFile,
+				Collections.singletonList(new Repository("central", repository.toURI(), false)));
+		assertThat(model.getGroupId()).isEqualTo("com.example");
+		assertThat(model.getVersion()).isEqualTo("1.0.0");
+		assertThat(model.getDependencyManagement().getDependencies())
+				.extracting((dependency) -> dependency.getArtifactId() + ":" + dependency.getVersion())
+				.containsExactlyInAnyOrder("alpha:1.2.3", "bravo:2.0.0", "charlie:3.0.0");
+		assertThat(model.getDependencyManagement().getDependencies()).extracting(Dependency::getScope)
+				.doesNotContain("import");
+	}
+
+	@Test
+	public void parentIsResolvedFromMirrorConfiguredInSettings() throws IOException {
+		File repository = this.temp.newFolder("repository");
+		publish(repository, "parent", "<properties><alpha.version>1.2.3</alpha.version></properties>");
+		File bomFile = createBomWithParent();
+		Settings settings = new Settings();
+		Mirror mirror = new Mirror();
+		mirror.setId("mirror");
+		mirror.setUrl(repository.toURI().toString());
+		mirror.setMirrorOf("*");
+		settings.addMirror(mirror);
+		Model model = build(settings, bomFile, Collections.singletonList(
+				new Repository("central", this.temp.newFolder("unavailable").toURI(), false)));
+		assertThat(model.getDependencyManagement().getDependencies())
+				.extracting((dependency) -> dependency.getArtifactId() + ":" + dependency.getVersion())
+				.containsExactly("alpha:1.2.3");
+	}
+
+	@Test
+	public void parentIsResolvedFromRepositoryOfProfileActiveByDefaultInSettings() throws IOException {
+		File repository = this.temp.newFolder("repository");
+		publish(repository, "parent", "<properties><alpha.version>1.2.3</alpha.version></properties>");
+		File bomFile = createBomWithParent();
+		Settings settings = new Settings();
+		Profile profile = new Profile();
+		profile.setId("example");
+		Activation activation = new Activation();
+		activation.setActiveByDefault(true);
+		profile.setActivation(activation);
+		org.apache.maven.settings.Repository profileRepository = new org.apache.maven.settings.Repository();
+		profileRepository.setId("example");
+		profileRepository.setUrl(repository.toURI().toString());
+		profile.addRepository(profileRepository);
+		settings.addProfile(profile);
+		Model model = build(settings, bomFile, Collections.singletonList(
+				new Repository("central", this.temp.newFolder("unavailable").toURI(), false)));
+		assertThat(model.getDependencyManagement().getDependencies())
+				.extracting((dependency) -> dependency.getArtifactId() + ":" + dependency.getVersion())
+				.containsExactly("alpha:1.2.3");
+	}
+
+	private Model build(Settings settings, File bomFile, List<Repository> repositories) throws IOException {
+		return new ResolverEffectiveBomBuilder(new MavenSettings(settings, this.temp.newFolder("local")),
+				new HttpProperties()).build(bomFile, repositories);
+	}
+
+	private File createBomWithParent() throws IOException {
+		File bomFile = this.temp.newFile("bom.xml");
+		String bom = "<project><modelVersion>4.0.0</modelVersion><parent><groupId>com.example</groupId>"
+				+ "<artifactId>parent</artifactId><version>1.0.0</version><relativePath/></parent>"
+				+ "<artifactId>bom</artifactId><packaging>pom</packaging><dependencyManagement><dependencies>"
+				+ dependency("alpha", "${alpha.version}", "") + "</dependencies></dependencyManagement></project>";
+		Files.write(bomFile.toPath(), bom.getBytes(StandardCharsets.UTF_8));
+		return bomFile;
+	}
+
+	private String dependency(String artifactId, String version, String extra) {
+		return "<dependency><groupId>com.example</groupId><artifactId>" + artifactId + "</artifactId><version>"
+				+ version + "</version>" + extra + "</dependency>";
+	}
+
+	private void publish(File repository, String artifactId, String content) throws IOException {
+		File directory = new File(repository, "com/example/" + artifactId + "/1.0.0");
+		directory.mkdirs();
+		String pom = "<project><modelVersion>4.0.0</modelVersion><groupId>com.example</groupId><artifactId>"
+				+ artifactId + "</artifactId><version>1.0.0</version><packaging>pom</packaging>" + content
+				+ "</project>";
+		Files.write(new File(directory, artifactId + "-1.0.0.pom").toPath(), pom.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
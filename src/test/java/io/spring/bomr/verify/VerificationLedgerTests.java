@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.spring.bomr.verify;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link VerificationLedger}.
+ *
+ * @author Andy Wilkinson
+ */
+public class VerificationLedgerTests {
+
+	@Rule
+	public final TemporaryFolder temp = new TemporaryFolder();
+
+	@Test
+	public void whenLedgerDoesNotExistThenNoDependenciesHavePassed() {
+		List<ManagedDependency> dependencies = Arrays.asList(dependency("alpha", "1.0.0"),
+				dependency("bravo", "1.0.0"));
+		assertThat(ledger().notPassed(dependencies)).isEqualTo(dependencies);
+	}
+
+	@Test
+	public void dependenciesThatPassedAreNotReturned() {
+		ManagedDependency alpha = dependency("alpha", "1.0.0");
+		ManagedDependency bravo = dependency("bravo", "1.0.0");
+		VerificationReport report = new VerificationReport(Arrays.asList(alpha, bravo));
+		report.failed(bravo, Collections.singletonList("Could not resolve bravo"));
+		ledger().record(report);
+		assertThat(ledger().notPassed(Arrays.asList(dependency("alpha", "1.0.0"), dependency("bravo", "1.0.0"))))
+				.extracting(ManagedDependency::getArtifactId).containsExactly("bravo");
+	}
+
+	@Test
+	public void dependencyWhoseVersionHasChangedIsReturned() {
+		ledger().record(new VerificationReport(Collections.singletonList(dependency("alpha", "1.0.0"))));
+		assertThat(ledger().notPassed(Collections.singletonList(dependency("alpha", "1.1.0"))))
+				.extracting(ManagedDependency::getVersion).containsExactly("1.1.0");
+	}
+
+	@Test
+	public void dependencyWithDifferentClassifierOrTypeIsReturned() {
+		ledger().record(new VerificationReport(Collections.singletonList(dependency("alpha", "1.0.0"))));
+		List<ManagedDependency> dependencies = Arrays.asList(
+				new ManagedDependency("com.example", "alpha", "1.0.0", "tests", null),
+				new ManagedDependency("com.example", "alpha", "1.0.0", null, "pom"));
+		assertThat(ledger().notPassed(dependencies)).isEqualTo(dependencies);
+	}
+
+	@Test
+	public void recordingANewVersionReplacesThePreviousVersion() {
+		ledger().record(new VerificationReport(Collections.singletonList(dependency("alpha", "1.0.0"))));
+		ledger().record(new VerificationReport(Collections.singletonList(dependency("alpha", "1.1.0"))));
+		assertThat(ledger().notPassed(Collections.singletonList(dependency("alpha", "1.0.0")))).hasSize(1);
+		assertThat(ledger().notPassed(Collections.singletonList(dependency("alpha", "1.1.0")))).isEmpty();
+	}
+
+	private VerificationLedger ledger() {
+		return new VerificationLedger(new File(this.temp.getRoot(), ".bomr/verification-ledger.properties"));
+	}
+
+	private ManagedDependency dependency(String artifactId, String version) {
+		return new ManagedDependency("com.example", artifactId, version, null, null);
+	}
+
+}